@@ -0,0 +1,51 @@
+package com.github.throwable.beanref.benchmarks;
+
+import com.github.throwable.beanref.BeanPath;
+import com.github.throwable.beanref.BeanSchema;
+import com.github.throwable.beanref.beans.Address;
+import com.github.throwable.beanref.beans.Contact;
+import com.github.throwable.beanref.beans.Person;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.throwable.beanref.BeanRef.$;
+
+/**
+ * Listing of all bean's properties, direct and nested.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AllPropertiesBenchmark {
+    private BeanPath<Person, Address> addressPath;
+
+    @Setup
+    public void setup() {
+        addressPath = $(Person::getContact).$(Contact::getAddress);
+    }
+
+    @Benchmark
+    public Set<BeanPath<Person, ?>> allRoot() {
+        return $(Person.class).all();
+    }
+
+    @Benchmark
+    public Set<BeanPath<Person, ?>> allNested() {
+        return addressPath.all();
+    }
+
+    @Benchmark
+    public BeanSchema<Person> deepAllRoot() {
+        return $(Person.class).deepAll(3);
+    }
+
+    @Benchmark
+    public BeanSchema<Person> deepAllNested() {
+        return $(Person::getContact).deepAll(2);
+    }
+}
@@ -0,0 +1,67 @@
+package com.github.throwable.beanref.benchmarks;
+
+import com.github.throwable.beanref.BeanPath;
+import com.github.throwable.beanref.beans.Address;
+import com.github.throwable.beanref.beans.Contact;
+import com.github.throwable.beanref.beans.Person;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.github.throwable.beanref.BeanRef.$;
+
+/**
+ * Evaluating one path over many root beans: per-bean get vs batch evaluation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchBenchmark {
+    @Param({"10000"})
+    public int size;
+
+    private Person[] persons;
+    private String[] cities;
+    private int[] zipCodes;
+
+    private BeanPath<Person, String> cityPath;
+    private BeanPath<Person, Integer> zipCodePath;
+
+    @Setup
+    public void setup() {
+        persons = new Person[size];
+        for (int i = 0; i < size; i++)
+            persons[i] = i % 10 == 0 ? new Person() : SampleBeans.samplePerson();
+        cities = new String[size];
+        zipCodes = new int[size];
+        cityPath = $(Person::getContact).$(Contact::getAddress).$(Address::getCity);
+        zipCodePath = $(Person::getContact).$(Contact::getAddress).$(Address::getZipCode);
+    }
+
+    @Benchmark
+    public String[] pathGetLoop() {
+        for (int i = 0; i < persons.length; i++)
+            cities[i] = cityPath.get(persons[i]);
+        return cities;
+    }
+
+    @Benchmark
+    public String[] pathGetAll() {
+        return cityPath.getAll(persons, cities);
+    }
+
+    @Benchmark
+    public int[] pathGetIntLoop() {
+        for (int i = 0; i < persons.length; i++)
+            zipCodes[i] = zipCodePath.getInt(persons[i], -1);
+        return zipCodes;
+    }
+
+    @Benchmark
+    public int[] pathGetAllInt() {
+        return zipCodePath.getAllInt(persons, zipCodes, -1);
+    }
+}
@@ -0,0 +1,73 @@
+package com.github.throwable.beanref.benchmarks;
+
+import com.github.throwable.beanref.BeanPath;
+import com.github.throwable.beanref.beans.Address;
+import com.github.throwable.beanref.beans.Contact;
+import com.github.throwable.beanref.beans.Person;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.github.throwable.beanref.BeanRef.$;
+
+/**
+ * Deep path evaluation: interpreted vs compiled paths vs hand-written null-safe code.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompiledPathBenchmark {
+    private Person person;
+    private String city;
+
+    private BeanPath<Person, String> cityPath;
+    private BeanPath<Person, String> compiledCityPath;
+
+    @Setup
+    public void setup() {
+        person = SampleBeans.samplePerson();
+        city = "Smallville";
+        cityPath = $(Person::getContact).$(Contact::getAddress).$(Address::getCity);
+        compiledCityPath = cityPath.compile();
+        // pollute the type profile as a real application would do
+        final BeanPath<Person, Integer> zipCodePath = $(Person::getContact).$(Contact::getAddress).$(Address::getZipCode);
+        final BeanPath<Person, String> emailPath = $(Person::getContact).$(Contact::getEmail);
+        for (int i = 0; i < 20_000; i++) {
+            zipCodePath.get(person);
+            zipCodePath.compile().get(person);
+            emailPath.get(person);
+        }
+    }
+
+    @Benchmark
+    public String handWrittenGet() {
+        final Contact contact = person.getContact();
+        if (contact == null)
+            return null;
+        final Address address = contact.getAddress();
+        return address == null ? null : address.getCity();
+    }
+
+    @Benchmark
+    public String pathGet() {
+        return cityPath.get(person);
+    }
+
+    @Benchmark
+    public String compiledPathGet() {
+        return compiledCityPath.get(person);
+    }
+
+    @Benchmark
+    public void pathSet() {
+        cityPath.set(person, city);
+    }
+
+    @Benchmark
+    public void compiledPathSet() {
+        compiledCityPath.set(person, city);
+    }
+}
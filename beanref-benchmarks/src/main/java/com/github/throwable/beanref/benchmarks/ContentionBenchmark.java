@@ -0,0 +1,52 @@
+package com.github.throwable.beanref.benchmarks;
+
+import com.github.throwable.beanref.BeanPath;
+import com.github.throwable.beanref.BeanProperty;
+import com.github.throwable.beanref.beans.Address;
+import com.github.throwable.beanref.beans.Contact;
+import com.github.throwable.beanref.beans.Person;
+import com.github.throwable.beanref.beans.Phone;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.github.throwable.beanref.BeanRef.$;
+import static com.github.throwable.beanref.BeanRef.$$;
+
+/**
+ * Resolver caches hit concurrently from many threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class ContentionBenchmark {
+
+    @Benchmark
+    public BeanProperty<Person, String> methodReference() {
+        return $(Person::getName);
+    }
+
+    @Benchmark
+    public BeanPath<Person, String> methodReferencePath() {
+        return $(Person::getContact).$(Contact::getAddress).$(Address::getCity);
+    }
+
+    @Benchmark
+    public BeanPath<Person, String> collectionPath() {
+        return $(Person::getContact).$$(Contact::getPhoneList).$(Phone::getPhone);
+    }
+
+    @Benchmark
+    public BeanProperty<Person, String> collectionProperty() {
+        return $$(Person::getPermissions);
+    }
+
+    @Benchmark
+    public BeanPath<Person, ?> stringPath() {
+        return $(Person.class, "contact.address.city");
+    }
+}
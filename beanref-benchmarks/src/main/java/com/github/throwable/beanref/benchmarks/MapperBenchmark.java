@@ -0,0 +1,67 @@
+package com.github.throwable.beanref.benchmarks;
+
+import com.github.throwable.beanref.BeanMapper;
+import com.github.throwable.beanref.BeanPath;
+import com.github.throwable.beanref.beans.Address;
+import com.github.throwable.beanref.beans.Contact;
+import com.github.throwable.beanref.beans.Person;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.throwable.beanref.BeanRef.$;
+
+/**
+ * Bean to bean copy: per-field get/set over a list of path pairs vs compiled BeanMapper.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    private Person source;
+    private Person target;
+
+    private List<BeanPath<Person, Object>> paths;
+    private BeanMapper<Person, Person> mapper;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        source = SampleBeans.samplePerson();
+        target = new Person();
+        final BeanPath<Person, Address> addressPath = $(Person::getContact).$(Contact::getAddress);
+        paths = Arrays.asList(
+                (BeanPath<Person, Object>) (BeanPath<Person, ?>) $(Person::getAge),
+                (BeanPath<Person, Object>) (BeanPath<Person, ?>) $(Person::getContact).$(Contact::getEmail),
+                (BeanPath<Person, Object>) (BeanPath<Person, ?>) addressPath.$(Address::getAddress),
+                (BeanPath<Person, Object>) (BeanPath<Person, ?>) addressPath.$(Address::getCity),
+                (BeanPath<Person, Object>) (BeanPath<Person, ?>) addressPath.$(Address::getState),
+                (BeanPath<Person, Object>) (BeanPath<Person, ?>) addressPath.$(Address::getZipCode));
+        final BeanMapper.Builder<Person, Person> builder = BeanMapper.builder(Person.class, Person.class);
+        for (BeanPath<Person, Object> path : paths)
+            builder.map(path, path);
+        mapper = builder.build();
+    }
+
+    @Benchmark
+    public Person pathGetSet() {
+        for (BeanPath<Person, Object> path : paths)
+            path.set(target, path.get(source));
+        return target;
+    }
+
+    @Benchmark
+    public Person mapper() {
+        return mapper.map(source, target);
+    }
+
+    @Benchmark
+    public Person mapperNewTarget() {
+        return mapper.map(source, new Person());
+    }
+}
@@ -0,0 +1,63 @@
+package com.github.throwable.beanref.benchmarks;
+
+import com.github.throwable.beanref.BeanMultiPath;
+import com.github.throwable.beanref.beans.Contact;
+import com.github.throwable.beanref.beans.Person;
+import com.github.throwable.beanref.beans.Phone;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.github.throwable.beanref.BeanRef.$;
+
+/**
+ * Visiting every element of a nested collection: hand-written loop vs BeanMultiPath forEach and stream.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MultiPathBenchmark {
+    private Person person;
+    private BeanMultiPath<Person, String> phones;
+
+    @Setup
+    public void setup() {
+        person = SampleBeans.samplePerson();
+        for (int i = 0; i < 30; i++) {
+            final Phone phone = new Phone();
+            phone.setPhone("555-000-" + i);
+            person.getContact().getPhoneList().add(phone);
+        }
+        phones = $(Person::getContact).$$(Contact::getPhoneList).$(Phone::getPhone).each();
+    }
+
+    @Benchmark
+    public void direct(Blackhole bh) {
+        final Contact contact = person.getContact();
+        if (contact != null && contact.getPhoneList() != null) {
+            for (Phone phone : contact.getPhoneList()) {
+                if (phone != null && phone.getPhone() != null)
+                    bh.consume(phone.getPhone());
+            }
+        }
+    }
+
+    @Benchmark
+    public void multiPathForEach(Blackhole bh) {
+        phones.forEach(person, bh::consume);
+    }
+
+    @Benchmark
+    public void multiPathStream(Blackhole bh) {
+        phones.stream(person).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public long multiPathStreamFilter() {
+        return phones.stream(person).filter(it -> it.endsWith("1")).count();
+    }
+}
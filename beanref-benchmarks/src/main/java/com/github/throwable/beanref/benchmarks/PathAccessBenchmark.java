@@ -0,0 +1,77 @@
+package com.github.throwable.beanref.benchmarks;
+
+import com.github.throwable.beanref.BeanPath;
+import com.github.throwable.beanref.beans.Address;
+import com.github.throwable.beanref.beans.Contact;
+import com.github.throwable.beanref.beans.Person;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.github.throwable.beanref.BeanRef.$;
+
+/**
+ * Incomplete deep paths: null intermediates on get and auto-instantiation on set, interpreted and compiled.
+ * Complete paths are measured by {@link CompiledPathBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathAccessBenchmark {
+    private Person person;
+    private String city;
+
+    private BeanPath<Person, String> cityPath;
+    private BeanPath<Person, String> compiledCityPath;
+
+    @Setup
+    public void setup() {
+        person = SampleBeans.samplePerson();
+        city = "Smallville";
+        cityPath = $(Person::getContact).$(Contact::getAddress).$(Address::getCity);
+        compiledCityPath = cityPath.compile();
+        // pollute the type profile as a real application would do
+        final BeanPath<Person, Integer> zipCodePath = $(Person::getContact).$(Contact::getAddress).$(Address::getZipCode);
+        final BeanPath<Person, String> emailPath = $(Person::getContact).$(Contact::getEmail);
+        for (int i = 0; i < 20_000; i++) {
+            zipCodePath.get(person);
+            zipCodePath.compile().get(person);
+            emailPath.get(person);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Incomplete {
+        final Person person = new Person();
+
+        @Setup(Level.Invocation)
+        public void reset() {
+            person.setContact(null);
+        }
+    }
+
+    @Benchmark
+    public String pathGetNullIntermediate(Incomplete incomplete) {
+        return cityPath.get(incomplete.person);
+    }
+
+    @Benchmark
+    public String compiledPathGetNullIntermediate(Incomplete incomplete) {
+        return compiledCityPath.get(incomplete.person);
+    }
+
+    @Benchmark
+    public Person pathSetInstantiate(Incomplete incomplete) {
+        cityPath.set(incomplete.person, city);
+        return incomplete.person;
+    }
+
+    @Benchmark
+    public Person compiledPathSetInstantiate(Incomplete incomplete) {
+        compiledCityPath.set(incomplete.person, city);
+        return incomplete.person;
+    }
+}
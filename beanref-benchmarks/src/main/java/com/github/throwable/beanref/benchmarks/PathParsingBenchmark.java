@@ -0,0 +1,48 @@
+package com.github.throwable.beanref.benchmarks;
+
+import com.github.throwable.beanref.BeanPath;
+import com.github.throwable.beanref.beans.Person;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.github.throwable.beanref.BeanRef.$;
+
+/**
+ * Construction of paths from strings.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathParsingBenchmark {
+    @Param({"name", "contact.email", "contact.address.city"})
+    public String path;
+
+    @Benchmark
+    public BeanPath<Person, ?> parse() {
+        return $(Person.class, path);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dbeanref.pathCacheSize=0")
+    public BeanPath<Person, ?> parseUncached() {
+        return $(Person.class, path);
+    }
+
+    @Benchmark
+    public BeanPath<Person, ?> parseBySegment() {
+        BeanPath<Person, ?> beanPath = null;
+        for (String name : path.split("\\.")) {
+            beanPath = beanPath == null ? $(Person.class).$(name) : beanPath.$(name);
+        }
+        return beanPath;
+    }
+
+    @Benchmark
+    public String getPath() {
+        return $(Person.class, path).getPath();
+    }
+}
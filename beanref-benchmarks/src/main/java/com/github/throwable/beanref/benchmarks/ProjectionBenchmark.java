@@ -0,0 +1,60 @@
+package com.github.throwable.beanref.benchmarks;
+
+import com.github.throwable.beanref.BeanPath;
+import com.github.throwable.beanref.BeanProjection;
+import com.github.throwable.beanref.beans.Address;
+import com.github.throwable.beanref.beans.Contact;
+import com.github.throwable.beanref.beans.Person;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.throwable.beanref.BeanRef.$;
+
+/**
+ * Reading a row of paths sharing prefixes: per-path get vs BeanProjection.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectionBenchmark {
+    private Person person;
+    private Object[] row;
+
+    private List<BeanPath<Person, ?>> paths;
+    private BeanProjection<Person> projection;
+
+    @Setup
+    public void setup() {
+        person = SampleBeans.samplePerson();
+        final BeanPath<Person, Address> addressPath = $(Person::getContact).$(Contact::getAddress);
+        paths = Arrays.asList(
+                $(Person::getId),
+                $(Person::getName),
+                $(Person::getAge),
+                $(Person::getContact).$(Contact::getEmail),
+                addressPath.$(Address::getAddress),
+                addressPath.$(Address::getCity),
+                addressPath.$(Address::getState),
+                addressPath.$(Address::getZipCode));
+        projection = BeanProjection.of(paths);
+        row = projection.newRow();
+    }
+
+    @Benchmark
+    public Object[] pathGetLoop() {
+        for (int i = 0; i < paths.size(); i++)
+            row[i] = paths.get(i).get(person);
+        return row;
+    }
+
+    @Benchmark
+    public Object[] projection() {
+        return projection.get(person, row);
+    }
+}
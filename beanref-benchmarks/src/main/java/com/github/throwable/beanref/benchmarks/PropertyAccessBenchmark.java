@@ -0,0 +1,70 @@
+package com.github.throwable.beanref.benchmarks;
+
+import com.github.throwable.beanref.BeanPath;
+import com.github.throwable.beanref.BeanProperty;
+import com.github.throwable.beanref.IntBeanProperty;
+import com.github.throwable.beanref.beans.Person;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.throwable.beanref.BeanRef.$;
+
+/**
+ * Single property read: direct call vs reflection vs BeanProperty resolved by method reference and by name,
+ * boxed and primitive-specialized. Setters are measured by {@link WriteAccessorBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertyAccessBenchmark {
+    private Person person;
+
+    private Method getAgeMethod;
+    private BeanProperty<Person, Integer> ageProperty;
+    private BeanPath<Person, Integer> dynamicAgeProperty;
+    private IntBeanProperty<Person> intAgeProperty;
+
+    @Setup
+    public void setup() throws Exception {
+        person = SampleBeans.samplePerson();
+        getAgeMethod = Person.class.getMethod("getAge");
+        ageProperty = $(Person::getAge);
+        dynamicAgeProperty = $(Person.class, "age", Integer.TYPE);
+        intAgeProperty = (IntBeanProperty<Person>) ageProperty;
+    }
+
+    @Benchmark
+    public int directGet() {
+        return person.getAge();
+    }
+
+    @Benchmark
+    public Object reflectiveGet() throws Exception {
+        return getAgeMethod.invoke(person);
+    }
+
+    @Benchmark
+    public Integer propertyGet() {
+        return ageProperty.get(person);
+    }
+
+    @Benchmark
+    public Integer dynamicPropertyGet() {
+        return dynamicAgeProperty.get(person);
+    }
+
+    @Benchmark
+    public int intPropertyGet() {
+        return intAgeProperty.getInt(person);
+    }
+
+    @Benchmark
+    public int intPathGet() {
+        return dynamicAgeProperty.getInt(person, 0);
+    }
+}
@@ -0,0 +1,64 @@
+package com.github.throwable.beanref.benchmarks;
+
+import com.github.throwable.beanref.BeanPath;
+import com.github.throwable.beanref.BeanProperty;
+import com.github.throwable.beanref.BeanRef;
+import com.github.throwable.beanref.beans.Address;
+import com.github.throwable.beanref.beans.Contact;
+import com.github.throwable.beanref.beans.Person;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.github.throwable.beanref.BeanRef.$;
+
+/**
+ * Property resolution by method reference and by name.
+ * Cold benchmarks evict all cached metadata before every invocation, so they measure the full reflective resolution.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResolutionBenchmark {
+
+    @State(Scope.Thread)
+    public static class Cold {
+        @Setup(Level.Invocation)
+        public void evict() {
+            BeanRef.evict(Person.class.getClassLoader());
+        }
+    }
+
+    @Benchmark
+    public BeanProperty<Person, String> warmMethodReference() {
+        return $(Person::getName);
+    }
+
+    @Benchmark
+    public BeanPath<Person, String> warmMethodReferencePath() {
+        return $(Person::getContact).$(Contact::getAddress).$(Address::getCity);
+    }
+
+    @Benchmark
+    public BeanPath<Person, ?> warmPropertyName() {
+        return $(Person.class, "name");
+    }
+
+    @Benchmark
+    public BeanProperty<Person, String> coldMethodReference(Cold cold) {
+        return $(Person::getName);
+    }
+
+    @Benchmark
+    public BeanPath<Person, String> coldMethodReferencePath(Cold cold) {
+        return $(Person::getContact).$(Contact::getAddress).$(Address::getCity);
+    }
+
+    @Benchmark
+    public BeanPath<Person, ?> coldPropertyName(Cold cold) {
+        return $(Person.class, "name");
+    }
+}
@@ -0,0 +1,42 @@
+package com.github.throwable.beanref.benchmarks;
+
+import com.github.throwable.beanref.beans.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class SampleBeans {
+    private SampleBeans() {}
+
+    static Person samplePerson() {
+        final Person person = new Person("123456", "Antón");
+        person.setAge(22);
+
+        final Contact contact = new Contact();
+        contact.setEmail("abc@mycompany.com");
+
+        final Address address = new Address();
+        address.setAddress("Flower street, 1-A");
+        address.setCity("Noville");
+        address.setState("Goodland");
+        address.setZipCode(12345);
+        contact.setAddress(address);
+        final List<Phone> phoneList = new ArrayList<>();
+        final Phone phone1 = new Phone();
+        phone1.setPhone("555-123-567");
+        phone1.setType(Phone.Type.home);
+        phoneList.add(phone1);
+        final Phone phone2 = new Phone();
+        phone2.setPhone("555-000-001");
+        phone2.setType(Phone.Type.mobile);
+        phoneList.add(phone2);
+        contact.setPhoneList(phoneList);
+        person.setContact(contact);
+
+        final Status status = new Status();
+        status.setName("married");
+        status.setDescription("with children");
+        person.getStatus().set(status);
+        return person;
+    }
+}
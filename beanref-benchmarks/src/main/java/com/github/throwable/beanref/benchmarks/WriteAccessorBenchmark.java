@@ -0,0 +1,90 @@
+package com.github.throwable.beanref.benchmarks;
+
+import com.github.throwable.beanref.BeanPath;
+import com.github.throwable.beanref.BeanProperty;
+import com.github.throwable.beanref.IntBeanProperty;
+import com.github.throwable.beanref.beans.Address;
+import com.github.throwable.beanref.beans.Contact;
+import com.github.throwable.beanref.beans.Person;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.throwable.beanref.BeanRef.$;
+
+/**
+ * Setter invocation: generated write accessors vs direct call vs reflection,
+ * on a single property and at the end of a path.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WriteAccessorBenchmark {
+    private Person person;
+    private String city;
+    private int age;
+
+    private Method setAgeMethod;
+    private Method setCityMethod;
+    private BeanProperty<Person, Integer> ageProperty;
+    private BeanPath<Person, Integer> dynamicAgeProperty;
+    private IntBeanProperty<Person> intAgeProperty;
+    private BeanPath<Person, String> cityPath;
+
+    @Setup
+    public void setup() throws Exception {
+        person = SampleBeans.samplePerson();
+        city = "Smallville";
+        age = 42;
+        setAgeMethod = Person.class.getMethod("setAge", int.class);
+        setCityMethod = Address.class.getMethod("setCity", String.class);
+        ageProperty = $(Person::getAge);
+        dynamicAgeProperty = $(Person.class, "age", Integer.TYPE);
+        intAgeProperty = (IntBeanProperty<Person>) ageProperty;
+        cityPath = $(Person::getContact).$(Contact::getAddress).$(Address::getCity);
+    }
+
+    @Benchmark
+    public void directSet() {
+        person.setAge(age);
+    }
+
+    @Benchmark
+    public void reflectiveSet() throws Exception {
+        setAgeMethod.invoke(person, age);
+    }
+
+    @Benchmark
+    public void propertySet() {
+        ageProperty.set(person, age);
+    }
+
+    @Benchmark
+    public void dynamicPropertySet() {
+        dynamicAgeProperty.set(person, age);
+    }
+
+    @Benchmark
+    public void intPropertySet() {
+        intAgeProperty.setInt(person, age);
+    }
+
+    @Benchmark
+    public void directPathSet() {
+        person.getContact().getAddress().setCity(city);
+    }
+
+    @Benchmark
+    public void reflectivePathSet() throws Exception {
+        setCityMethod.invoke(person.getContact().getAddress(), city);
+    }
+
+    @Benchmark
+    public void pathSet() {
+        cityPath.set(person, city);
+    }
+}
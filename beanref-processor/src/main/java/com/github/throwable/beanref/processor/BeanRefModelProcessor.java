@@ -0,0 +1,282 @@
+package com.github.throwable.beanref.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a {@code BeanModel} accessor table for every class annotated with {@code @BeanRefModel}.
+ * Properties are discovered the same way beanref resolves them reflectively: every public instance method
+ * without arguments is a getter, {@code getXxx()} and {@code isXxx()} are paired with {@code setXxx(value)},
+ * other getters {@code xxx()} with {@code xxx(value)}.
+ * Generic classes are skipped and resolved reflectively at runtime.
+ */
+@SupportedAnnotationTypes(BeanRefModelProcessor.BEAN_REF_MODEL)
+public class BeanRefModelProcessor extends AbstractProcessor {
+    static final String BEAN_REF_MODEL = "com.github.throwable.beanref.BeanRefModel";
+    private static final String BEAN_MODEL = "com.github.throwable.beanref.BeanModel";
+    private static final String MODEL_CLASS_SUFFIX = "_BeanRef";
+    private static final String REFLECT_CONFIG = "META-INF/native-image/beanref-models/reflect-config.json";
+
+    /* Generated models, registered for reflective instantiation in native images */
+    private final List<String> modelClassNames = new ArrayList<>();
+
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                // records are classes too
+                if (element.getKind() != ElementKind.CLASS && !"RECORD".equals(element.getKind().name())) {
+                    error(element, "@BeanRefModel must annotate a class");
+                    continue;
+                }
+                final TypeElement beanElement = (TypeElement) element;
+                if (!beanElement.getTypeParameters().isEmpty()) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                            "Generic bean " + beanElement.getQualifiedName() + " is resolved reflectively", element);
+                    continue;
+                }
+                if (!isAccessible(beanElement)) {
+                    error(element, "@BeanRefModel class must not be private");
+                    continue;
+                }
+                try {
+                    generateModel(beanElement);
+                } catch (IOException e) {
+                    error(element, "Can not generate bean model: " + e.getMessage());
+                }
+            }
+        }
+        if (roundEnv.processingOver() && !modelClassNames.isEmpty()) {
+            try {
+                generateReflectConfig();
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                        "Can not generate " + REFLECT_CONFIG + ": " + e.getMessage());
+            }
+        }
+        return true;
+    }
+
+
+    private void generateModel(TypeElement beanElement) throws IOException {
+        final String packageName = processingEnv.getElementUtils().getPackageOf(beanElement).getQualifiedName().toString();
+        final String binaryName = processingEnv.getElementUtils().getBinaryName(beanElement).toString();
+        final String modelSimpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+                .replace('$', '_') + MODEL_CLASS_SUFFIX;
+        final String modelClassName = packageName.isEmpty() ? modelSimpleName : packageName + "." + modelSimpleName;
+        final String beanClassName = beanElement.getQualifiedName().toString();
+
+        final StringBuilder sb = new StringBuilder();
+        if (!packageName.isEmpty())
+            sb.append("package ").append(packageName).append(";\n\n");
+        sb.append("/**\n * Accessors of {@link ").append(beanClassName).append("} generated by beanref-processor\n */\n");
+        sb.append("public final class ").append(modelSimpleName).append(" extends ")
+                .append(BEAN_MODEL).append('<').append(beanClassName).append("> {\n");
+        sb.append("    @SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+        sb.append("    public ").append(modelSimpleName).append("() {\n");
+        sb.append("        super(").append(beanClassName).append(".class);\n");
+        for (Map.Entry<String, ExecutableElement> entry : findGetters(beanElement).entrySet()) {
+            final String propertyName = entry.getKey();
+            final ExecutableElement getter = entry.getValue();
+            final ExecutableElement setter = findSetter(beanElement, propertyName, getter);
+            final TypeMirror type = getter.getReturnType();
+            final String getterName = getter.getSimpleName().toString();
+            final String readAccessor = beanClassName + "::" + getterName;
+            final String writeAccessor = setter != null ? beanClassName + "::" + setter.getSimpleName() : "null";
+            sb.append("        ");
+            switch (type.getKind()) {
+                case INT:
+                case LONG:
+                case DOUBLE:
+                case BOOLEAN:
+                    sb.append(type.getKind().name().toLowerCase()).append("Property(\"").append(propertyName)
+                            .append("\", \"").append(getterName).append("\", ")
+                            .append(readAccessor).append(", ").append(writeAccessor).append(");\n");
+                    break;
+                default:
+                    sb.append("property(\"").append(propertyName).append("\", \"").append(getterName).append("\", ")
+                            .append(classLiteral(type)).append(", ").append(genericType(type)).append(", ")
+                            .append(readAccessor).append(", ").append(writeAccessor).append(");\n");
+            }
+        }
+        sb.append("    }\n}\n");
+
+        final JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(modelClassName, beanElement);
+        try (Writer writer = sourceFile.openWriter()) {
+            writer.write(sb.toString());
+        }
+        modelClassNames.add(modelClassName);
+    }
+
+    private void generateReflectConfig() throws IOException {
+        final StringBuilder sb = new StringBuilder("[\n");
+        for (int i = 0; i < modelClassNames.size(); i++) {
+            sb.append("  {\"name\": \"").append(modelClassNames.get(i)).append("\", \"methods\": [{\"name\": \"<init>\", \"parameterTypes\": []}]}");
+            sb.append(i < modelClassNames.size() - 1 ? ",\n" : "\n");
+        }
+        sb.append("]\n");
+        final FileObject resource = processingEnv.getFiler()
+                .createResource(StandardLocation.CLASS_OUTPUT, "", REFLECT_CONFIG);
+        try (Writer writer = resource.openWriter()) {
+            writer.write(sb.toString());
+        }
+    }
+
+
+    /**
+     * @return public getters by property name ordered by name
+     */
+    private Map<String, ExecutableElement> findGetters(TypeElement beanElement) {
+        final Map<String, ExecutableElement> getters = new LinkedHashMap<>();
+        for (ExecutableElement method : publicMethods(beanElement)) {
+            if (!method.getParameters().isEmpty() || method.getReturnType().getKind() == TypeKind.VOID)
+                continue;
+            switch (method.getSimpleName().toString()) {
+                case "hashCode":
+                case "getClass":
+                case "clone":
+                case "toString":
+                case "notify":
+                case "notifyAll":
+                    continue;
+            }
+            final String propertyName = propertyName(method.getSimpleName().toString());
+            final ExecutableElement existing = getters.get(propertyName);
+            if (existing == null || isPreferredGetter(method, existing))
+                getters.put(propertyName, method);
+        }
+        final Map<String, ExecutableElement> sorted = new LinkedHashMap<>();
+        getters.keySet().stream().sorted().forEach(name -> sorted.put(name, getters.get(name)));
+        return sorted;
+    }
+
+    /**
+     * The same rule as beanref's reflective resolver: {@code getXxx()} wins over {@code isXxx()} that wins over
+     * {@code xxx()}, then the narrower return type wins
+     */
+    private boolean isPreferredGetter(ExecutableElement candidate, ExecutableElement current) {
+        final int candidateRank = getterRank(candidate.getSimpleName().toString());
+        final int currentRank = getterRank(current.getSimpleName().toString());
+        if (candidateRank != currentRank)
+            return candidateRank < currentRank;
+        final TypeMirror candidateType = processingEnv.getTypeUtils().erasure(candidate.getReturnType());
+        final TypeMirror currentType = processingEnv.getTypeUtils().erasure(current.getReturnType());
+        return !processingEnv.getTypeUtils().isSameType(candidateType, currentType) &&
+                processingEnv.getTypeUtils().isAssignable(candidateType, currentType);
+    }
+
+    private static int getterRank(String getterName) {
+        if (getterName.startsWith("get") && getterName.length() > 3 && Character.isUpperCase(getterName.charAt(3)))
+            return 0;
+        else if (getterName.startsWith("is") && getterName.length() > 2 && Character.isUpperCase(getterName.charAt(2)))
+            return 1;
+        return 2;
+    }
+
+    /* Nullable */
+    private ExecutableElement findSetter(TypeElement beanElement, String propertyName, ExecutableElement getter) {
+        final String getterName = getter.getSimpleName().toString();
+        final String setterName = getterName.equals(propertyName) ? propertyName :
+                "set" + Character.toUpperCase(propertyName.charAt(0)) + propertyName.substring(1);
+        for (ExecutableElement method : publicMethods(beanElement)) {
+            if (method.getSimpleName().contentEquals(setterName) && method.getParameters().size() == 1 &&
+                    processingEnv.getTypeUtils().isSameType(method.getParameters().get(0).asType(), getter.getReturnType()))
+            {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private List<ExecutableElement> publicMethods(TypeElement beanElement) {
+        final List<ExecutableElement> methods = new ArrayList<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(beanElement))) {
+            if (method.getModifiers().contains(Modifier.PUBLIC) && !method.getModifiers().contains(Modifier.STATIC))
+                methods.add(method);
+        }
+        return methods;
+    }
+
+    private static String propertyName(String getterName) {
+        if (getterName.startsWith("get") && getterName.length() > 3 && Character.isUpperCase(getterName.charAt(3)))
+            return Character.toLowerCase(getterName.charAt(3)) + getterName.substring(4);
+        else if (getterName.startsWith("is") && getterName.length() > 2 && Character.isUpperCase(getterName.charAt(2)))
+            return Character.toLowerCase(getterName.charAt(2)) + getterName.substring(3);
+        // non-canonical name: use method name as-is
+        return getterName;
+    }
+
+
+    private String classLiteral(TypeMirror type) {
+        return className(processingEnv.getTypeUtils().erasure(type)) + ".class";
+    }
+
+    private String className(TypeMirror type) {
+        if (type.getKind().isPrimitive())
+            return type.getKind().name().toLowerCase();
+        else if (type.getKind() == TypeKind.ARRAY)
+            return className(((ArrayType) type).getComponentType()) + "[]";
+        else if (type.getKind() == TypeKind.DECLARED)
+            return ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+        return className(processingEnv.getTypeUtils().erasure(type));
+    }
+
+    /**
+     * @return expression creating the type the same way beanref resolves generic return types:
+     * wildcards are replaced with their upper bounds, type variables with their erasure
+     */
+    private String genericType(TypeMirror type) {
+        if (type.getKind() == TypeKind.DECLARED && !((DeclaredType) type).getTypeArguments().isEmpty()) {
+            final StringBuilder sb = new StringBuilder("parameterized(").append(classLiteral(type));
+            for (TypeMirror typeArgument : ((DeclaredType) type).getTypeArguments())
+                sb.append(", ").append(genericType(typeArgument));
+            return sb.append(')').toString();
+        } else if (type.getKind() == TypeKind.WILDCARD) {
+            final TypeMirror extendsBound = ((WildcardType) type).getExtendsBound();
+            return extendsBound != null ? genericType(extendsBound) : "java.lang.Object.class";
+        }
+        return classLiteral(type);
+    }
+
+    private static boolean isAccessible(Element element) {
+        for (Element e = element; e != null && e.getKind() != ElementKind.PACKAGE; e = e.getEnclosingElement()) {
+            if (e.getModifiers().contains(Modifier.PRIVATE))
+                return false;
+        }
+        return true;
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,721 @@
+package com.github.throwable.beanref;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Generates accessors for resolved getter/setter methods, fields and withers of immutable beans,
+ * and instantiators for no-args constructors.
+ * Whenever the target class is visible from beanref's class loader the accessor is spun with
+ * {@link LambdaMetafactory}, so it performs the same as a hand-written lambda. Otherwise it falls back
+ * to a {@link MethodHandle} and, as a last resort, to reflection.
+ */
+final class AccessorFactory {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final MethodType READ_ACCESSOR_INVOKED_TYPE = MethodType.methodType(Function.class);
+    private static final MethodType READ_ACCESSOR_SAM_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType WRITE_ACCESSOR_INVOKED_TYPE = MethodType.methodType(BiConsumer.class);
+    private static final MethodType WRITE_ACCESSOR_SAM_TYPE =
+            MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType INT_READ_ACCESSOR_SAM_TYPE = MethodType.methodType(int.class, Object.class);
+    private static final MethodType INT_WRITE_ACCESSOR_SAM_TYPE =
+            MethodType.methodType(void.class, Object.class, int.class);
+    private static final MethodType LONG_READ_ACCESSOR_SAM_TYPE = MethodType.methodType(long.class, Object.class);
+    private static final MethodType LONG_WRITE_ACCESSOR_SAM_TYPE =
+            MethodType.methodType(void.class, Object.class, long.class);
+    private static final MethodType DOUBLE_READ_ACCESSOR_SAM_TYPE = MethodType.methodType(double.class, Object.class);
+    private static final MethodType DOUBLE_WRITE_ACCESSOR_SAM_TYPE =
+            MethodType.methodType(void.class, Object.class, double.class);
+    private static final MethodType BOOLEAN_READ_ACCESSOR_SAM_TYPE = MethodType.methodType(boolean.class, Object.class);
+    private static final MethodType BOOLEAN_WRITE_ACCESSOR_SAM_TYPE =
+            MethodType.methodType(void.class, Object.class, boolean.class);
+    private static final MethodType WITHER_INVOKED_TYPE = MethodType.methodType(BiFunction.class);
+    private static final MethodType WITHER_SAM_TYPE = MethodType.methodType(Object.class, Object.class, Object.class);
+    private static final MethodType INSTANTIATOR_INVOKED_TYPE = MethodType.methodType(Supplier.class);
+    private static final MethodType INSTANTIATOR_SAM_TYPE = MethodType.methodType(Object.class);
+    private static final MethodHandle FUNCTION_APPLY;
+
+    static {
+        try {
+            FUNCTION_APPLY = LOOKUP.findVirtual(Function.class, "apply",
+                    MethodType.methodType(Object.class, Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+
+    private AccessorFactory() {}
+
+
+    @SuppressWarnings("unchecked")
+    static <BEAN, TYPE> Function<BEAN, TYPE> createReadAccessor(Method getterMethod) {
+        final MethodHandle handle = unreflect(getterMethod);
+        if (handle == null)
+            return new DynamicBeanPropertyResolver.GetterReadAccessor<>(getterMethod);
+        if (isLinkable(getterMethod)) {
+            try {
+                return (Function<BEAN, TYPE>) LambdaMetafactory.metafactory(LOOKUP, "apply",
+                        READ_ACCESSOR_INVOKED_TYPE, READ_ACCESSOR_SAM_TYPE, handle,
+                        MethodType.methodType(wrap(getterMethod.getReturnType()), getterMethod.getDeclaringClass()))
+                        .getTarget().invokeExact();
+            } catch (Throwable e) {
+                // can not spin a lambda: use method handle instead
+            }
+        }
+        return new MethodHandleReadAccessor<>(handle.asType(READ_ACCESSOR_SAM_TYPE));
+    }
+
+
+    @SuppressWarnings("unchecked")
+    static <BEAN, TYPE> BiConsumer<BEAN, TYPE> createWriteAccessor(Method setterMethod) {
+        final MethodHandle handle = unreflect(setterMethod);
+        if (handle == null)
+            return new BeanPropertyResolver.SetterWriteAccessor<>(setterMethod);
+        if (isLinkable(setterMethod)) {
+            try {
+                return (BiConsumer<BEAN, TYPE>) LambdaMetafactory.metafactory(LOOKUP, "accept",
+                        WRITE_ACCESSOR_INVOKED_TYPE, WRITE_ACCESSOR_SAM_TYPE, handle,
+                        MethodType.methodType(void.class, setterMethod.getDeclaringClass(),
+                                wrap(setterMethod.getParameterTypes()[0])))
+                        .getTarget().invokeExact();
+            } catch (Throwable e) {
+                // can not spin a lambda: use method handle instead
+            }
+        }
+        return new MethodHandleWriteAccessor<>(handle.asType(WRITE_ACCESSOR_SAM_TYPE));
+    }
+
+
+    /*
+     * Primitive-specialized accessors. If the method can not be unreflected they adapt the boxed accessor instead.
+     */
+
+    static <BEAN> ToIntFunction<BEAN> createIntReadAccessor(Method getterMethod, Function<BEAN, Integer> readAccessor) {
+        final MethodHandle handle = unreflect(getterMethod);
+        if (handle == null)
+            return readAccessor::apply;
+        final ToIntFunction<BEAN> accessor = createPrimitiveAccessor(getterMethod, handle,
+                ToIntFunction.class, "applyAsInt", INT_READ_ACCESSOR_SAM_TYPE);
+        return accessor != null ? accessor : new MethodHandleIntReadAccessor<>(handle.asType(INT_READ_ACCESSOR_SAM_TYPE));
+    }
+
+    static <BEAN> ObjIntConsumer<BEAN> createIntWriteAccessor(Method setterMethod, BiConsumer<BEAN, Integer> writeAccessor) {
+        final MethodHandle handle = unreflect(setterMethod);
+        if (handle == null)
+            return writeAccessor::accept;
+        final ObjIntConsumer<BEAN> accessor = createPrimitiveAccessor(setterMethod, handle,
+                ObjIntConsumer.class, "accept", INT_WRITE_ACCESSOR_SAM_TYPE);
+        return accessor != null ? accessor : new MethodHandleIntWriteAccessor<>(handle.asType(INT_WRITE_ACCESSOR_SAM_TYPE));
+    }
+
+    static <BEAN> ToLongFunction<BEAN> createLongReadAccessor(Method getterMethod, Function<BEAN, Long> readAccessor) {
+        final MethodHandle handle = unreflect(getterMethod);
+        if (handle == null)
+            return readAccessor::apply;
+        final ToLongFunction<BEAN> accessor = createPrimitiveAccessor(getterMethod, handle,
+                ToLongFunction.class, "applyAsLong", LONG_READ_ACCESSOR_SAM_TYPE);
+        return accessor != null ? accessor : new MethodHandleLongReadAccessor<>(handle.asType(LONG_READ_ACCESSOR_SAM_TYPE));
+    }
+
+    static <BEAN> ObjLongConsumer<BEAN> createLongWriteAccessor(Method setterMethod, BiConsumer<BEAN, Long> writeAccessor) {
+        final MethodHandle handle = unreflect(setterMethod);
+        if (handle == null)
+            return writeAccessor::accept;
+        final ObjLongConsumer<BEAN> accessor = createPrimitiveAccessor(setterMethod, handle,
+                ObjLongConsumer.class, "accept", LONG_WRITE_ACCESSOR_SAM_TYPE);
+        return accessor != null ? accessor : new MethodHandleLongWriteAccessor<>(handle.asType(LONG_WRITE_ACCESSOR_SAM_TYPE));
+    }
+
+    static <BEAN> ToDoubleFunction<BEAN> createDoubleReadAccessor(Method getterMethod, Function<BEAN, Double> readAccessor) {
+        final MethodHandle handle = unreflect(getterMethod);
+        if (handle == null)
+            return readAccessor::apply;
+        final ToDoubleFunction<BEAN> accessor = createPrimitiveAccessor(getterMethod, handle,
+                ToDoubleFunction.class, "applyAsDouble", DOUBLE_READ_ACCESSOR_SAM_TYPE);
+        return accessor != null ? accessor :
+                new MethodHandleDoubleReadAccessor<>(handle.asType(DOUBLE_READ_ACCESSOR_SAM_TYPE));
+    }
+
+    static <BEAN> ObjDoubleConsumer<BEAN> createDoubleWriteAccessor(Method setterMethod, BiConsumer<BEAN, Double> writeAccessor) {
+        final MethodHandle handle = unreflect(setterMethod);
+        if (handle == null)
+            return writeAccessor::accept;
+        final ObjDoubleConsumer<BEAN> accessor = createPrimitiveAccessor(setterMethod, handle,
+                ObjDoubleConsumer.class, "accept", DOUBLE_WRITE_ACCESSOR_SAM_TYPE);
+        return accessor != null ? accessor :
+                new MethodHandleDoubleWriteAccessor<>(handle.asType(DOUBLE_WRITE_ACCESSOR_SAM_TYPE));
+    }
+
+    static <BEAN> Predicate<BEAN> createBooleanReadAccessor(Method getterMethod, Function<BEAN, Boolean> readAccessor) {
+        final MethodHandle handle = unreflect(getterMethod);
+        if (handle == null)
+            return readAccessor::apply;
+        final Predicate<BEAN> accessor = createPrimitiveAccessor(getterMethod, handle,
+                Predicate.class, "test", BOOLEAN_READ_ACCESSOR_SAM_TYPE);
+        return accessor != null ? accessor :
+                new MethodHandleBooleanReadAccessor<>(handle.asType(BOOLEAN_READ_ACCESSOR_SAM_TYPE));
+    }
+
+    static <BEAN> BooleanBeanProperty.ObjBooleanConsumer<BEAN> createBooleanWriteAccessor(Method setterMethod,
+                                                                                       BiConsumer<BEAN, Boolean> writeAccessor)
+    {
+        final MethodHandle handle = unreflect(setterMethod);
+        if (handle == null)
+            return writeAccessor::accept;
+        final BooleanBeanProperty.ObjBooleanConsumer<BEAN> accessor = createPrimitiveAccessor(setterMethod, handle,
+                BooleanBeanProperty.ObjBooleanConsumer.class, "accept", BOOLEAN_WRITE_ACCESSOR_SAM_TYPE);
+        return accessor != null ? accessor :
+                new MethodHandleBooleanWriteAccessor<>(handle.asType(BOOLEAN_WRITE_ACCESSOR_SAM_TYPE));
+    }
+
+    /**
+     * @return lambda spun for the method or null if it is not linkable from beanref's class loader
+     */
+    /* Nullable */
+    @SuppressWarnings("unchecked")
+    private static <T> T createPrimitiveAccessor(Method method, MethodHandle handle, Class<?> functionalInterface,
+                                                 String samMethodName, MethodType samMethodType)
+    {
+        if (!isLinkable(method))
+            return null;
+        try {
+            return (T) LambdaMetafactory.metafactory(LOOKUP, samMethodName,
+                    MethodType.methodType(functionalInterface), samMethodType, handle,
+                    samMethodType.changeParameterType(0, method.getDeclaringClass()))
+                    .getTarget().invoke();
+        } catch (Throwable e) {
+            // can not spin a lambda: use method handle instead
+            return null;
+        }
+    }
+
+
+    /**
+     * A lambda can not be spun for a field, so field accessors invoke method handles.
+     * Access to a volatile field has volatile semantics.
+     * @throws IllegalBeanPathException if the field is not accessible
+     */
+    static <BEAN, TYPE> Function<BEAN, TYPE> createFieldReadAccessor(Field field) {
+        return new MethodHandleReadAccessor<>(unreflect(field, false).asType(READ_ACCESSOR_SAM_TYPE));
+    }
+
+    /**
+     * @throws IllegalBeanPathException if the field is not accessible
+     */
+    static <BEAN, TYPE> BiConsumer<BEAN, TYPE> createFieldWriteAccessor(Field field) {
+        return new MethodHandleWriteAccessor<>(unreflect(field, true).asType(WRITE_ACCESSOR_SAM_TYPE));
+    }
+
+    /*
+     * Primitive-specialized field accessors
+     * @throws IllegalBeanPathException if the field is not accessible
+     */
+
+    static <BEAN> ToIntFunction<BEAN> createIntFieldReadAccessor(Field field) {
+        return new MethodHandleIntReadAccessor<>(unreflect(field, false).asType(INT_READ_ACCESSOR_SAM_TYPE));
+    }
+
+    static <BEAN> ObjIntConsumer<BEAN> createIntFieldWriteAccessor(Field field) {
+        return new MethodHandleIntWriteAccessor<>(unreflect(field, true).asType(INT_WRITE_ACCESSOR_SAM_TYPE));
+    }
+
+    static <BEAN> ToLongFunction<BEAN> createLongFieldReadAccessor(Field field) {
+        return new MethodHandleLongReadAccessor<>(unreflect(field, false).asType(LONG_READ_ACCESSOR_SAM_TYPE));
+    }
+
+    static <BEAN> ObjLongConsumer<BEAN> createLongFieldWriteAccessor(Field field) {
+        return new MethodHandleLongWriteAccessor<>(unreflect(field, true).asType(LONG_WRITE_ACCESSOR_SAM_TYPE));
+    }
+
+    static <BEAN> ToDoubleFunction<BEAN> createDoubleFieldReadAccessor(Field field) {
+        return new MethodHandleDoubleReadAccessor<>(unreflect(field, false).asType(DOUBLE_READ_ACCESSOR_SAM_TYPE));
+    }
+
+    static <BEAN> ObjDoubleConsumer<BEAN> createDoubleFieldWriteAccessor(Field field) {
+        return new MethodHandleDoubleWriteAccessor<>(unreflect(field, true).asType(DOUBLE_WRITE_ACCESSOR_SAM_TYPE));
+    }
+
+    static <BEAN> Predicate<BEAN> createBooleanFieldReadAccessor(Field field) {
+        return new MethodHandleBooleanReadAccessor<>(unreflect(field, false).asType(BOOLEAN_READ_ACCESSOR_SAM_TYPE));
+    }
+
+    static <BEAN> BooleanBeanProperty.ObjBooleanConsumer<BEAN> createBooleanFieldWriteAccessor(Field field) {
+        return new MethodHandleBooleanWriteAccessor<>(unreflect(field, true).asType(BOOLEAN_WRITE_ACCESSOR_SAM_TYPE));
+    }
+
+    private static MethodHandle unreflect(Field field, boolean setter) {
+        try {
+            return setter ? LOOKUP.unreflectSetter(field) : LOOKUP.unreflectGetter(field);
+        } catch (IllegalAccessException e) {
+            // non-public field or class
+            try {
+                field.setAccessible(true);
+                return setter ? LOOKUP.unreflectSetter(field) : LOOKUP.unreflectGetter(field);
+            } catch (IllegalAccessException | RuntimeException ex) {
+                throw new IllegalBeanPathException("Field " + field.getDeclaringClass().getName() + "."
+                        + field.getName() + " is not accessible", ex);
+            }
+        }
+    }
+
+
+    /**
+     * Wither is an instance method {@code withXxx(value)} that returns a copy of the bean with one property replaced
+     * @return wither accessor or null if the method is not accessible
+     */
+    @SuppressWarnings("unchecked")
+    static /* Nullable */ <BEAN, TYPE> BiFunction<BEAN, TYPE, BEAN> createWitherAccessor(Method witherMethod) {
+        final MethodHandle handle = unreflect(witherMethod);
+        if (handle == null)
+            return null;
+        if (isLinkable(witherMethod)) {
+            try {
+                return (BiFunction<BEAN, TYPE, BEAN>) LambdaMetafactory.metafactory(LOOKUP, "apply",
+                        WITHER_INVOKED_TYPE, WITHER_SAM_TYPE, handle,
+                        MethodType.methodType(witherMethod.getReturnType(), witherMethod.getDeclaringClass(),
+                                wrap(witherMethod.getParameterTypes()[0])))
+                        .getTarget().invokeExact();
+            } catch (Throwable e) {
+                // fall through to the method handle
+            }
+        }
+        return new MethodHandleWitherAccessor<>(handle.asType(WITHER_SAM_TYPE));
+    }
+
+    /**
+     * Create a wither that invokes the canonical constructor of an immutable bean passing the new value
+     * as the replaced argument and current values of bean's properties as the rest
+     * @param constructor constructor that takes all bean's properties
+     * @param index index of the replaced argument
+     * @param readAccessors read accessors of properties in the order of constructor's arguments
+     * @return wither accessor or null if the constructor is not accessible
+     */
+    static /* Nullable */ <BEAN, TYPE> BiFunction<BEAN, TYPE, BEAN> createConstructorWitherAccessor(
+            Constructor<BEAN> constructor, int index, Function<?, ?>[] readAccessors)
+    {
+        MethodHandle handle = unreflect(constructor);
+        if (handle == null)
+            return null;
+        final Class<BEAN> beanClass = constructor.getDeclaringClass();
+        final Class<?>[] parameterTypes = constructor.getParameterTypes();
+        // (T0, ..., Tn)BEAN -> (BEAN, ..., Tindex, ..., BEAN)BEAN -> (BEAN, Tindex)BEAN
+        final MethodHandle[] filters = new MethodHandle[parameterTypes.length];
+        final int[] reorder = new int[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (i == index) {
+                reorder[i] = 1;
+                continue;
+            }
+            filters[i] = FUNCTION_APPLY.bindTo(readAccessors[i])
+                    .asType(MethodType.methodType(parameterTypes[i], beanClass));
+        }
+        handle = MethodHandles.filterArguments(handle, 0, filters);
+        handle = MethodHandles.permuteArguments(handle,
+                MethodType.methodType(beanClass, beanClass, parameterTypes[index]), reorder);
+        return new MethodHandleWitherAccessor<>(handle.asType(WITHER_SAM_TYPE));
+    }
+
+    /**
+     * @return instantiator invoking public no-args constructor or null if the type is abstract or has no such constructor
+     */
+    @SuppressWarnings("unchecked")
+    static /* Nullable */ <TYPE> Supplier<TYPE> createConstructorInstantiator(Class<TYPE> type) {
+        if ((type.getModifiers() & Modifier.ABSTRACT) != 0)
+            return null;
+        final Constructor<TYPE> constructor;
+        try {
+            constructor = type.getConstructor();
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+        final MethodHandle handle = unreflect(constructor);
+        if (handle == null)
+            return new ConstructorInstantiator<>(constructor);
+        if (isLinkable(type)) {
+            try {
+                return (Supplier<TYPE>) LambdaMetafactory.metafactory(LOOKUP, "get",
+                        INSTANTIATOR_INVOKED_TYPE, INSTANTIATOR_SAM_TYPE, handle, MethodType.methodType(type))
+                        .getTarget().invokeExact();
+            } catch (Throwable e) {
+                // fall through to the method handle
+            }
+        }
+        return new MethodHandleInstantiator<>(handle.asType(INSTANTIATOR_SAM_TYPE));
+    }
+
+    /* Nullable */
+    private static MethodHandle unreflect(Constructor<?> constructor) {
+        try {
+            return LOOKUP.unreflectConstructor(constructor);
+        } catch (IllegalAccessException e) {
+            try {
+                constructor.setAccessible(true);
+                return LOOKUP.unreflectConstructor(constructor);
+            } catch (IllegalAccessException | RuntimeException ex) {
+                return null;
+            }
+        }
+    }
+
+
+    /* Nullable */
+    private static MethodHandle unreflect(Method method) {
+        try {
+            return LOOKUP.unreflect(method);
+        } catch (IllegalAccessException e) {
+            // public method declared in a non-public class
+            try {
+                method.setAccessible(true);
+                return LOOKUP.unreflect(method);
+            } catch (IllegalAccessException | RuntimeException ex) {
+                return null;
+            }
+        }
+    }
+
+
+    /**
+     * A lambda class is defined in beanref's class loader and links to the target method by name,
+     * so all the classes in its signature must be public and resolve to the same classes from there.
+     */
+    private static boolean isLinkable(Method method) {
+        if (!Modifier.isPublic(method.getModifiers()) || !isLinkable(method.getDeclaringClass()))
+            return false;
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            if (!isLinkable(parameterType))
+                return false;
+        }
+        return isLinkable(method.getReturnType());
+    }
+
+    private static boolean isLinkable(Class<?> type) {
+        while (type.isArray())
+            type = type.getComponentType();
+        if (type.isPrimitive())
+            return true;
+        if (!Modifier.isPublic(type.getModifiers()))
+            return false;
+        final ClassLoader classLoader = type.getClassLoader();
+        if (classLoader == null || classLoader == AccessorFactory.class.getClassLoader())
+            return true;
+        try {
+            return Class.forName(type.getName(), false, AccessorFactory.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+    }
+
+
+    static class MethodHandleReadAccessor<BEAN, TYPE> implements Function<BEAN, TYPE> {
+        /* (Object)Object */
+        private final MethodHandle getterHandle;
+
+        MethodHandleReadAccessor(MethodHandle getterHandle) {
+            this.getterHandle = getterHandle;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public TYPE apply(BEAN bean) {
+            try {
+                return (TYPE) (Object) getterHandle.invokeExact((Object) bean);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                // checked: wrap into runtime
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+
+    static class MethodHandleInstantiator<TYPE> implements Supplier<TYPE> {
+        /* ()Object */
+        private final MethodHandle constructorHandle;
+
+        MethodHandleInstantiator(MethodHandle constructorHandle) {
+            this.constructorHandle = constructorHandle;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public TYPE get() {
+            try {
+                return (TYPE) (Object) constructorHandle.invokeExact();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                // checked: wrap into runtime
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+
+    static class ConstructorInstantiator<TYPE> implements Supplier<TYPE> {
+        private final Constructor<TYPE> constructor;
+
+        ConstructorInstantiator(Constructor<TYPE> constructor) {
+            this.constructor = constructor;
+        }
+
+        @Override
+        public TYPE get() {
+            try {
+                return constructor.newInstance();
+            } catch (InstantiationException | IllegalAccessException e) {
+                throw new RuntimeException(e);
+            } catch (InvocationTargetException e) {
+                if (e.getTargetException() instanceof RuntimeException)
+                    throw (RuntimeException) e.getTargetException();
+                else
+                    throw new RuntimeException(e.getTargetException());
+            }
+        }
+    }
+
+
+    static class MethodHandleWitherAccessor<BEAN, TYPE> implements BiFunction<BEAN, TYPE, BEAN> {
+        /* (Object, Object)Object */
+        private final MethodHandle witherHandle;
+
+        MethodHandleWitherAccessor(MethodHandle witherHandle) {
+            this.witherHandle = witherHandle;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public BEAN apply(BEAN bean, TYPE value) {
+            try {
+                return (BEAN) (Object) witherHandle.invokeExact((Object) bean, (Object) value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                // checked: wrap into runtime
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+
+    static class MethodHandleWriteAccessor<BEAN, TYPE> implements BiConsumer<BEAN, TYPE> {
+        /* (Object, Object)void */
+        private final MethodHandle setterHandle;
+
+        MethodHandleWriteAccessor(MethodHandle setterHandle) {
+            this.setterHandle = setterHandle;
+        }
+
+        @Override
+        public void accept(BEAN bean, TYPE value) {
+            try {
+                setterHandle.invokeExact((Object) bean, (Object) value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                // checked: wrap into runtime
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+
+    static class MethodHandleIntReadAccessor<BEAN> implements ToIntFunction<BEAN> {
+        /* (Object)int */
+        private final MethodHandle getterHandle;
+
+        MethodHandleIntReadAccessor(MethodHandle getterHandle) {
+            this.getterHandle = getterHandle;
+        }
+
+        @Override
+        public int applyAsInt(BEAN bean) {
+            try {
+                return (int) getterHandle.invokeExact((Object) bean);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                // checked: wrap into runtime
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+
+    static class MethodHandleIntWriteAccessor<BEAN> implements ObjIntConsumer<BEAN> {
+        /* (Object, int)void */
+        private final MethodHandle setterHandle;
+
+        MethodHandleIntWriteAccessor(MethodHandle setterHandle) {
+            this.setterHandle = setterHandle;
+        }
+
+        @Override
+        public void accept(BEAN bean, int value) {
+            try {
+                setterHandle.invokeExact((Object) bean, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                // checked: wrap into runtime
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+
+    static class MethodHandleLongReadAccessor<BEAN> implements ToLongFunction<BEAN> {
+        /* (Object)long */
+        private final MethodHandle getterHandle;
+
+        MethodHandleLongReadAccessor(MethodHandle getterHandle) {
+            this.getterHandle = getterHandle;
+        }
+
+        @Override
+        public long applyAsLong(BEAN bean) {
+            try {
+                return (long) getterHandle.invokeExact((Object) bean);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                // checked: wrap into runtime
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+
+    static class MethodHandleLongWriteAccessor<BEAN> implements ObjLongConsumer<BEAN> {
+        /* (Object, long)void */
+        private final MethodHandle setterHandle;
+
+        MethodHandleLongWriteAccessor(MethodHandle setterHandle) {
+            this.setterHandle = setterHandle;
+        }
+
+        @Override
+        public void accept(BEAN bean, long value) {
+            try {
+                setterHandle.invokeExact((Object) bean, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                // checked: wrap into runtime
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+
+    static class MethodHandleDoubleReadAccessor<BEAN> implements ToDoubleFunction<BEAN> {
+        /* (Object)double */
+        private final MethodHandle getterHandle;
+
+        MethodHandleDoubleReadAccessor(MethodHandle getterHandle) {
+            this.getterHandle = getterHandle;
+        }
+
+        @Override
+        public double applyAsDouble(BEAN bean) {
+            try {
+                return (double) getterHandle.invokeExact((Object) bean);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                // checked: wrap into runtime
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+
+    static class MethodHandleDoubleWriteAccessor<BEAN> implements ObjDoubleConsumer<BEAN> {
+        /* (Object, double)void */
+        private final MethodHandle setterHandle;
+
+        MethodHandleDoubleWriteAccessor(MethodHandle setterHandle) {
+            this.setterHandle = setterHandle;
+        }
+
+        @Override
+        public void accept(BEAN bean, double value) {
+            try {
+                setterHandle.invokeExact((Object) bean, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                // checked: wrap into runtime
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+
+    static class MethodHandleBooleanReadAccessor<BEAN> implements Predicate<BEAN> {
+        /* (Object)boolean */
+        private final MethodHandle getterHandle;
+
+        MethodHandleBooleanReadAccessor(MethodHandle getterHandle) {
+            this.getterHandle = getterHandle;
+        }
+
+        @Override
+        public boolean test(BEAN bean) {
+            try {
+                return (boolean) getterHandle.invokeExact((Object) bean);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                // checked: wrap into runtime
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+
+    static class MethodHandleBooleanWriteAccessor<BEAN> implements BooleanBeanProperty.ObjBooleanConsumer<BEAN> {
+        /* (Object, boolean)void */
+        private final MethodHandle setterHandle;
+
+        MethodHandleBooleanWriteAccessor(MethodHandle setterHandle) {
+            this.setterHandle = setterHandle;
+        }
+
+        @Override
+        public void accept(BEAN bean, boolean value) {
+            try {
+                setterHandle.invokeExact((Object) bean, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                // checked: wrap into runtime
+                throw new RuntimeException(e);
+            }
+        }
+    }
+}
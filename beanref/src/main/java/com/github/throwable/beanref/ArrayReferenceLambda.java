@@ -0,0 +1,27 @@
+package com.github.throwable.beanref;
+
+/**
+ * Method reference to an array getter. Exists only to tell array element references from list element references
+ * as their generic signatures have the same erasure. Overloads of {@code $$} are resolved by the getter's return type,
+ * so only exact method references are supported: an implicit lambda is ambiguous between them.
+ */
+public interface ArrayReferenceLambda<BEAN, TYPE> extends MethodReferenceLambda<BEAN, TYPE[]> {
+
+    /**
+     * Method reference to an int array getter
+     */
+    interface OfInt<BEAN> extends MethodReferenceLambda<BEAN, int[]> {
+    }
+
+    /**
+     * Method reference to a long array getter
+     */
+    interface OfLong<BEAN> extends MethodReferenceLambda<BEAN, long[]> {
+    }
+
+    /**
+     * Method reference to a double array getter
+     */
+    interface OfDouble<BEAN> extends MethodReferenceLambda<BEAN, double[]> {
+    }
+}
@@ -0,0 +1,139 @@
+package com.github.throwable.beanref;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Pool of intermediate beans and containers that are implicitly created setting values by path.
+ * While the context is bound to a thread, instances of registered types are taken from the pool instead of
+ * being allocated, and {@link #reset()} recycles all instances handed out since the last reset.
+ * Types that are not registered are instantiated as usual.
+ * <pre>{@code
+ * try (BeanAllocationContext context = new BeanAllocationContext()
+ *         .recycle(Address.class, address -> address.setCity(null))
+ *         .recycle(ArrayList.class, ArrayList::clear)
+ *         .bind())
+ * {
+ *     for (Record record : records) {
+ *         cityPath.set(person, record.getCity());
+ *         consume(person);
+ *         person.setContact(null);
+ *         context.reset();
+ *     }
+ * }
+ * }</pre>
+ * A context is not thread-safe: it is bound to one thread at a time, instances must not be used after reset.
+ */
+public class BeanAllocationContext implements AutoCloseable {
+    private static final ThreadLocal<BeanAllocationContext> current = new ThreadLocal<>();
+
+    private final HashMap<Class<?>, Pool<?>> pools = new HashMap<>();
+    /* Context this one replaced when bound */
+    /* Nullable */
+    private BeanAllocationContext previous;
+    private boolean bound;
+
+
+    /**
+     * Pool instances of the type
+     * @param type bean or container class, exactly as it is instantiated
+     * @param resetHook clears an instance's state when it is recycled
+     * @return this context
+     */
+    public <T> BeanAllocationContext recycle(Class<T> type, Consumer<? super T> resetHook) {
+        pools.put(Objects.requireNonNull(type), new Pool<>(Objects.requireNonNull(resetHook)));
+        return this;
+    }
+
+    /**
+     * Bind the context to the current thread until it is closed. Contexts may be nested.
+     * @return this context
+     * @throws IllegalStateException if the context is already bound
+     */
+    public BeanAllocationContext bind() {
+        if (bound)
+            throw new IllegalStateException("Allocation context is already bound");
+        previous = current.get();
+        current.set(this);
+        bound = true;
+        return this;
+    }
+
+    /**
+     * Unbind the context from the current thread restoring the previously bound one.
+     * Pooled instances are kept, so the context may be bound again.
+     * @throws IllegalStateException if the context is not the one currently bound to this thread:
+     * nested contexts must be closed in reverse order
+     */
+    @Override
+    public void close() {
+        if (!bound)
+            return;
+        if (current.get() != this)
+            throw new IllegalStateException("Allocation context is not bound to the current thread or is not the innermost one");
+        if (previous != null)
+            current.set(previous);
+        else
+            current.remove();
+        previous = null;
+        bound = false;
+    }
+
+    /**
+     * Recycle all pooled instances handed out since the last reset: apply their reset hooks and return them
+     * to the pool
+     */
+    public void reset() {
+        for (Pool<?> pool : pools.values())
+            pool.reset();
+    }
+
+    /**
+     * @return context bound to the current thread or null
+     */
+    public static /* Nullable */ BeanAllocationContext current() {
+        return current.get();
+    }
+
+
+    /**
+     * @return pooled instance or a new one if the type is not pooled or the pool is empty
+     */
+    @SuppressWarnings("unchecked")
+    <T> T allocate(Class<T> type, Supplier<T> instantiator) {
+        final Pool<T> pool = (Pool<T>) pools.get(type);
+        return pool != null ? pool.allocate(instantiator) : instantiator.get();
+    }
+
+
+    private static final class Pool<T> {
+        private final Consumer<? super T> resetHook;
+        private final ArrayDeque<T> free = new ArrayDeque<>();
+        private final ArrayList<T> used = new ArrayList<>();
+
+        private Pool(Consumer<? super T> resetHook) {
+            this.resetHook = resetHook;
+        }
+
+        private T allocate(Supplier<T> instantiator) {
+            T instance = free.pollLast();
+            if (instance == null)
+                instance = instantiator.get();
+            used.add(instance);
+            return instance;
+        }
+
+        private void reset() {
+            for (int i = 0; i < used.size(); i++) {
+                final T instance = used.get(i);
+                resetHook.accept(instance);
+                free.addLast(instance);
+            }
+            used.clear();
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.github.throwable.beanref;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * BeanMapper copies values from a source bean to a target bean following a set of path mappings.
+ * Mappings are compiled into prefix trees of source and target paths, so a shared prefix like
+ * {@code contact.address} is dereferenced once per bean and not once per mapped property,
+ * and missing intermediate target beans are instantiated once. The trees are then fused
+ * into a single method handle that performs the whole copy.
+ * <pre>
+ * BeanMapper&lt;PersonDto, Person&gt; mapper = BeanMapper.builder(PersonDto.class, Person.class)
+ *     .map($(PersonDto::getCity), $(Person::getContact).$(Contact::getAddress).$(Address::getCity))
+ *     .map($(PersonDto::getZipCode), $(Person::getContact).$(Contact::getAddress).$(Address::getZipCode))
+ *     .build();
+ * mapper.map(personDto, person);
+ * </pre>
+ * Copying a value behaves like {@code targetPath.set(target, sourcePath.get(source))}: an incomplete source path
+ * gives null value. BeanMapper is immutable and thread-safe.
+ * @param <SRC> source bean type
+ * @param <DST> target bean type
+ */
+public final class BeanMapper<SRC, DST> {
+    private static final MethodHandle READ;
+    private static final MethodHandle READ_OR_CREATE;
+    private static final MethodHandle WRITE;
+    private static final MethodHandle READ_ONLY;
+    private static final MethodHandle NOOP;
+
+    static {
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            READ = lookup.findStatic(BeanMapper.class, "read", MethodType.methodType(void.class,
+                    Function.class, int.class, int.class, Object[].class));
+            READ_OR_CREATE = lookup.findStatic(BeanMapper.class, "readOrCreate", MethodType.methodType(void.class,
+                    Function.class, BeanProperty.class, BeanPath.class, int.class, int.class, Object[].class));
+            WRITE = lookup.findStatic(BeanMapper.class, "write", MethodType.methodType(void.class,
+                    BiConsumer.class, int.class, int.class, Object[].class));
+            READ_ONLY = lookup.findStatic(BeanMapper.class, "readOnly", MethodType.methodType(void.class,
+                    BeanProperty.class, Object[].class));
+            NOOP = lookup.findStatic(BeanMapper.class, "noop", MethodType.methodType(void.class, Object[].class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /* frame: source root, source trie nodes, target root, target trie nodes */
+    private final PathTrie.Frames frames;
+    private final int targetRootSlot;
+    /* (Object[])void */
+    private final MethodHandle program;
+
+
+    private BeanMapper(PathTrie sourceTrie, PathTrie targetTrie, int[] targetValueSlots) {
+        this.targetRootSlot = sourceTrie.size() + 1;
+        this.frames = new PathTrie.Frames(targetRootSlot + targetTrie.size() + 1);
+
+        // every step is a method handle with its accessor bound as a constant, so the JIT is able to inline
+        // the whole program instead of dispatching through a megamorphic call per property
+        final ArrayList<MethodHandle> steps = new ArrayList<>();
+        final BeanProperty<Object, Object>[] sourceProperties = sourceTrie.getProperties();
+        final int[] sourceParents = sourceTrie.getParents();
+        for (int i = 0; i < sourceProperties.length; i++) {
+            steps.add(MethodHandles.insertArguments(READ, 0,
+                    sourceProperties[i].getReadAccessor(), sourceParents[i], i + 1));
+        }
+        final BeanProperty<Object, Object>[] targetProperties = targetTrie.getProperties();
+        final BeanPath<?, ?>[] targetPaths = targetTrie.getPaths();
+        final int[] targetParents = targetTrie.getParents();
+        for (int i = 0; i < targetProperties.length; i++) {
+            final BeanProperty<Object, Object> beanProperty = targetProperties[i];
+            final int beanSlot = targetRootSlot + targetParents[i];
+            if (targetValueSlots[i] >= 0) {
+                steps.add(beanProperty.isReadOnly() ?
+                        MethodHandles.insertArguments(READ_ONLY, 0, beanProperty) :
+                        MethodHandles.insertArguments(WRITE, 0,
+                                beanProperty.getWriteAccessor(), beanSlot, targetValueSlots[i]));
+            }
+            if (targetTrie.isIntermediate(i + 1)) {
+                steps.add(MethodHandles.insertArguments(READ_OR_CREATE, 0, beanProperty.getReadAccessor(),
+                        beanProperty, targetPaths[i], beanSlot, targetRootSlot + i + 1));
+            }
+        }
+        this.program = steps.isEmpty() ? NOOP : PathTrie.sequence(steps);
+    }
+
+    /**
+     * @param <SRC> source bean type
+     * @param <DST> target bean type
+     * @return new mapper builder
+     */
+    public static <SRC, DST> Builder<SRC, DST> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * @param sourceClass source bean class
+     * @param targetClass target bean class
+     * @param <SRC> source bean type
+     * @param <DST> target bean type
+     * @return new mapper builder
+     */
+    public static <SRC, DST> Builder<SRC, DST> builder(Class<SRC> sourceClass, Class<DST> targetClass) {
+        return new Builder<>();
+    }
+
+    /**
+     * Copy all mapped values from source to target bean.
+     * Intermediate beans are kept in a frame reused by the calling thread, so mapping does not allocate
+     * apart from the missing target beans it creates.
+     * @param source source bean
+     * @param target target bean
+     * @return target bean
+     * @throws IncompletePathException if a missing intermediate target bean can not be instantiated
+     * @throws ReadOnlyPropertyException if a mapped target property is read-only
+     */
+    public DST map(SRC source, DST target) {
+        final Object[][] holder = frames.holder();
+        final Object[] frame = frames.take(holder);
+        frame[0] = Objects.requireNonNull(source);
+        frame[targetRootSlot] = Objects.requireNonNull(target);
+        try {
+            program.invokeExact(frame);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        } finally {
+            frames.release(holder, frame);
+        }
+        return target;
+    }
+
+
+    private static void read(Function<Object, Object> readAccessor, int beanSlot, int slot, Object[] frame) {
+        final Object bean = frame[beanSlot];
+        if (bean != null)
+            frame[slot] = readAccessor.apply(bean);
+    }
+
+    private static void readOrCreate(Function<Object, Object> readAccessor, BeanProperty<Object, Object> beanProperty,
+                                     BeanPath<?, ?> path, int beanSlot, int slot, Object[] frame)
+    {
+        final Object bean = frame[beanSlot];
+        final Object value = readAccessor.apply(bean);
+        frame[slot] = value != null ? value : path.instantiateIntermediate(beanProperty, bean);
+    }
+
+    private static void write(BiConsumer<Object, Object> writeAccessor, int beanSlot, int valueSlot, Object[] frame) {
+        writeAccessor.accept(frame[beanSlot], frame[valueSlot]);
+    }
+
+    private static void readOnly(BeanProperty<?, ?> beanProperty, Object[] frame) {
+        throw new ReadOnlyPropertyException("Property '" + beanProperty + "' is read-only");
+    }
+
+    private static void noop(Object[] frame) {
+    }
+
+
+    /**
+     * Collects path mappings for a {@link BeanMapper}
+     * @param <SRC> source bean type
+     * @param <DST> target bean type
+     */
+    public static final class Builder<SRC, DST> {
+        private final ArrayList<BeanPath<SRC, ?>> sourcePaths = new ArrayList<>();
+        private final ArrayList<BeanPath<DST, ?>> targetPaths = new ArrayList<>();
+        private final HashSet<BeanPath<DST, ?>> mappedTargetPaths = new HashSet<>();
+
+        private Builder() {}
+
+        /**
+         * Add a mapping from source path to target path
+         * @param sourcePath path to read from source bean
+         * @param targetPath path to write into target bean
+         * @param <TYPE> mapped value type
+         * @return this builder
+         * @throws IllegalArgumentException if the target path is already mapped
+         */
+        public <TYPE> Builder<SRC, DST> map(BeanPath<SRC, TYPE> sourcePath, BeanPath<DST, ? super TYPE> targetPath) {
+            Objects.requireNonNull(sourcePath);
+            if (!mappedTargetPaths.add(Objects.requireNonNull(targetPath)))
+                throw new IllegalArgumentException("Target path '" + targetPath + "' is already mapped");
+            sourcePaths.add(sourcePath);
+            targetPaths.add(targetPath);
+            return this;
+        }
+
+        /**
+         * @return compiled mapper
+         */
+        public BeanMapper<SRC, DST> build() {
+            final PathTrie sourceTrie = new PathTrie();
+            final PathTrie targetTrie = new PathTrie();
+            final int[] valueSlots = new int[sourcePaths.size()];
+            final int[] targetSlots = new int[targetPaths.size()];
+            for (int i = 0; i < sourcePaths.size(); i++) {
+                valueSlots[i] = sourceTrie.add(sourcePaths.get(i));
+                targetSlots[i] = targetTrie.add(targetPaths.get(i));
+            }
+            final int[] targetValueSlots = new int[targetTrie.size()];
+            Arrays.fill(targetValueSlots, -1);
+            for (int i = 0; i < targetSlots.length; i++)
+                targetValueSlots[targetSlots[i] - 1] = valueSlots[i];
+            return new BeanMapper<>(sourceTrie, targetTrie, targetValueSlots);
+        }
+    }
+}
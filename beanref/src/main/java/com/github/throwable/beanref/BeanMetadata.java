@@ -0,0 +1,135 @@
+package com.github.throwable.beanref;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Immutable index of all properties of a bean class.
+ * Properties are ordered by name and have a dense ordinal, so they can be addressed by index as well as by name.
+ * @param <BEAN> bean class
+ */
+public final class BeanMetadata<BEAN>
+{
+    /* Largest hash table we grow to looking for a collision-free layout */
+    private static final int MAX_PERFECT_TABLE_SIZE = 1 << 12;
+
+    private final Class<BEAN> beanClass;
+    /* Sorted by name, index is an ordinal */
+    private final String[] names;
+    private final BeanProperty<BEAN, ?>[] properties;
+    /* Open-addressing hash table of ordinal+1, 0 is an empty slot */
+    private final int[] table;
+    private final List<BeanProperty<BEAN, ?>> propertyList;
+
+
+    BeanMetadata(Class<BEAN> beanClass, BeanProperty<BEAN, ?>[] properties) {
+        this.beanClass = beanClass;
+        this.properties = properties;
+        this.names = new String[properties.length];
+        for (int i = 0; i < properties.length; i++)
+            names[i] = properties[i].getName();
+        this.table = buildTable(names);
+        this.propertyList = new PropertyList();
+    }
+
+    private static int[] buildTable(String[] names) {
+        int size = Integer.highestOneBit(Math.max(names.length, 1) * 2 - 1) << 1;
+        while (true) {
+            final int[] table = new int[size];
+            boolean perfect = true;
+            for (int ordinal = 0; ordinal < names.length; ordinal++) {
+                int slot = hash(names[ordinal]) & (size - 1);
+                if (table[slot] != 0) {
+                    perfect = false;
+                    do {
+                        slot = (slot + 1) & (size - 1);
+                    } while (table[slot] != 0);
+                }
+                table[slot] = ordinal + 1;
+            }
+            if (perfect || size >= MAX_PERFECT_TABLE_SIZE)
+                return table;
+            size <<= 1;
+        }
+    }
+
+    private static int hash(String name) {
+        final int h = name.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+
+    /**
+     * @return bean class
+     */
+    public Class<BEAN> getBeanClass() {
+        return beanClass;
+    }
+
+    /**
+     * @return number of bean's properties
+     */
+    public int size() {
+        return properties.length;
+    }
+
+    /**
+     * @param name property name
+     * @return ordinal of a property or -1 if the bean has no such property
+     */
+    public int indexOf(String name) {
+        final int mask = table.length - 1;
+        int slot = hash(name) & mask;
+        int entry;
+        while ((entry = table[slot]) != 0) {
+            if (names[entry - 1].equals(name))
+                return entry - 1;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * @param ordinal property ordinal
+     * @return property with the given ordinal
+     * @throws IndexOutOfBoundsException if ordinal is out of range
+     */
+    public BeanProperty<BEAN, ?> getProperty(int ordinal) {
+        return properties[ordinal];
+    }
+
+    /**
+     * @param name property name
+     * @return property or null if the bean has no such property
+     */
+    public /* Nullable */ BeanProperty<BEAN, ?> getProperty(String name) {
+        final int ordinal = indexOf(name);
+        return ordinal >= 0 ? properties[ordinal] : null;
+    }
+
+    /**
+     * @return all properties ordered by ordinal
+     */
+    public List<BeanProperty<BEAN, ?>> getProperties() {
+        return propertyList;
+    }
+
+    @Override
+    public String toString() {
+        return beanClass.getName() + propertyList;
+    }
+
+
+    private final class PropertyList extends AbstractList<BeanProperty<BEAN, ?>> implements RandomAccess {
+        @Override
+        public BeanProperty<BEAN, ?> get(int index) {
+            return properties[index];
+        }
+
+        @Override
+        public int size() {
+            return properties.length;
+        }
+    }
+}
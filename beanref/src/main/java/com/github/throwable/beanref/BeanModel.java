@@ -0,0 +1,110 @@
+package com.github.throwable.beanref;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Table of bean's properties with plain Java accessors generated by beanref-processor for a class annotated with
+ * {@link BeanRefModel}. A generated table is named after the bean's binary name with '$' replaced by '_' and
+ * suffixed with {@value #MODEL_CLASS_SUFFIX}, e.g. {@code Order_Line_BeanRef} for {@code Order.Line}, and declares
+ * all properties in its public no-args constructor.
+ * @param <BEAN> bean class
+ */
+public abstract class BeanModel<BEAN> {
+    public static final String MODEL_CLASS_SUFFIX = "_BeanRef";
+
+    private final Class<BEAN> beanClass;
+    private final ArrayList<BeanProperty<BEAN, ?>> properties = new ArrayList<>();
+    /* Indexed by getter method name */
+    private final HashMap<String, BeanProperty<BEAN, ?>> propertiesByGetter = new HashMap<>();
+
+
+    protected BeanModel(Class<BEAN> beanClass) {
+        this.beanClass = beanClass;
+    }
+
+    /**
+     * @param name property name
+     * @param getterName name of the getter method
+     * @param type property's class
+     * @param genericType property's type, use {@link #parameterized(Class, Type...)} for parameterized types
+     * @param readAccessor getter
+     * @param writeAccessor setter or null if the property is read-only
+     */
+    protected final <TYPE> void property(String name, String getterName, Class<TYPE> type, Type genericType,
+                                         Function<BEAN, TYPE> readAccessor,
+                                         /* Nullable */ BiConsumer<BEAN, TYPE> writeAccessor)
+    {
+        add(getterName, new BeanProperty<>(beanClass, type, genericType, name, readAccessor, writeAccessor,
+                new BeanPropertyResolver.InstantiatorResolver<>(type)));
+    }
+
+    protected final void intProperty(String name, String getterName, ToIntFunction<BEAN> readAccessor,
+                                     /* Nullable */ ObjIntConsumer<BEAN> writeAccessor)
+    {
+        add(getterName, new IntBeanProperty<>(beanClass, int.class, name,
+                readAccessor::applyAsInt, writeAccessor != null ? writeAccessor::accept : null,
+                new BeanPropertyResolver.InstantiatorResolver<>(int.class), readAccessor, writeAccessor));
+    }
+
+    protected final void longProperty(String name, String getterName, ToLongFunction<BEAN> readAccessor,
+                                      /* Nullable */ ObjLongConsumer<BEAN> writeAccessor)
+    {
+        add(getterName, new LongBeanProperty<>(beanClass, long.class, name,
+                readAccessor::applyAsLong, writeAccessor != null ? writeAccessor::accept : null,
+                new BeanPropertyResolver.InstantiatorResolver<>(long.class), readAccessor, writeAccessor));
+    }
+
+    protected final void doubleProperty(String name, String getterName, ToDoubleFunction<BEAN> readAccessor,
+                                        /* Nullable */ ObjDoubleConsumer<BEAN> writeAccessor)
+    {
+        add(getterName, new DoubleBeanProperty<>(beanClass, double.class, name,
+                readAccessor::applyAsDouble, writeAccessor != null ? writeAccessor::accept : null,
+                new BeanPropertyResolver.InstantiatorResolver<>(double.class), readAccessor, writeAccessor));
+    }
+
+    protected final void booleanProperty(String name, String getterName, Predicate<BEAN> readAccessor,
+                                         /* Nullable */ BooleanBeanProperty.ObjBooleanConsumer<BEAN> writeAccessor)
+    {
+        add(getterName, new BooleanBeanProperty<>(beanClass, boolean.class, name,
+                readAccessor::test, writeAccessor != null ? writeAccessor::accept : null,
+                new BeanPropertyResolver.InstantiatorResolver<>(boolean.class), readAccessor, writeAccessor));
+    }
+
+    /**
+     * @return parameterized type equal to the one the JDK returns for a generic signature
+     */
+    protected static Type parameterized(Class<?> rawClass, Type... typeArguments) {
+        return GenericTypes.parameterize(rawClass, typeArguments);
+    }
+
+    private void add(String getterName, BeanProperty<BEAN, ?> beanProperty) {
+        properties.add(beanProperty);
+        propertiesByGetter.put(getterName, beanProperty);
+    }
+
+
+    public final Class<BEAN> getBeanClass() {
+        return beanClass;
+    }
+
+    List<BeanProperty<BEAN, ?>> getProperties() {
+        return properties;
+    }
+
+    /* Nullable */
+    BeanProperty<BEAN, ?> getPropertyByGetter(String getterName) {
+        return propertiesByGetter.get(getterName);
+    }
+}
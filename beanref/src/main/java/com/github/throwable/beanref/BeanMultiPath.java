@@ -0,0 +1,289 @@
+package com.github.throwable.beanref;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * BeanMultiPath is a multi-valued view of a {@link BeanPath}: every collection, array or map property of the path
+ * (referenced with {@code $$(getter)}) fans out to all its elements or values instead of the last one.
+ * <pre>
+ * BeanMultiPath&lt;Person, String&gt; phones = $(Person::getContact).$$(Contact::getPhoneList).$(Phone::getPhone).each();
+ * phones.forEach(person, phone -&gt; ...);
+ * </pre>
+ * Elements are visited depth-first in the iteration order of collections. Collections are walked in place
+ * without copying, {@link RandomAccess} lists and arrays by index. Nulls (beans, collections or values) are skipped.
+ * BeanMultiPath is immutable and thread-safe.
+ * @param <ROOT> root class
+ * @param <TYPE> value class
+ */
+public final class BeanMultiPath<ROOT, TYPE> {
+    private final BeanPath<ROOT, TYPE> beanPath;
+    /* read accessors of hops: collection getters for fan-out hops, property getters for others */
+    private final Function<Object, Object>[] readAccessors;
+    private final boolean[] fanOut;
+    private final int fanOutCount;
+
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    BeanMultiPath(BeanPath<ROOT, TYPE> beanPath) {
+        this.beanPath = beanPath;
+        int size = 0;
+        for (BeanProperty<?, ?> ignored : beanPath)
+            size++;
+        this.readAccessors = new Function[size];
+        this.fanOut = new boolean[size];
+        int i = 0, fanOutCount = 0;
+        for (BeanProperty<?, ?> beanProperty : beanPath) {
+            final Function<Object, Object> readAccessor = (Function<Object, Object>) beanProperty.getReadAccessor();
+            if (readAccessor instanceof BeanPropertyResolver.CollectionElementReadAccessor)
+                readAccessors[i] = (Function) ((BeanPropertyResolver.CollectionElementReadAccessor<?, ?>) readAccessor)
+                        .getCollectionReadAccessor();
+            else if (readAccessor instanceof BeanPropertyResolver.ArrayElementReadAccessor)
+                readAccessors[i] = (Function) ((BeanPropertyResolver.ArrayElementReadAccessor<?, ?>) readAccessor)
+                        .getArrayReadAccessor();
+            else if (readAccessor instanceof BeanPropertyResolver.MapValuesReadAccessor)
+                readAccessors[i] = (Function) ((BeanPropertyResolver.MapValuesReadAccessor<?, ?>) readAccessor)
+                        .getMapReadAccessor();
+            else
+                readAccessors[i] = readAccessor;
+            if (readAccessors[i] != readAccessor) {
+                fanOut[i] = true;
+                fanOutCount++;
+            }
+            i++;
+        }
+        this.fanOutCount = fanOutCount;
+    }
+
+    /**
+     * Obtain multi-path for nested property
+     * @param methodReferenceLambda getter method reference
+     */
+    public <T> BeanMultiPath<ROOT, T> $(MethodReferenceLambda<TYPE, T> methodReferenceLambda) {
+        return new BeanMultiPath<>(beanPath.$(methodReferenceLambda));
+    }
+
+    /**
+     * Obtain multi-path for all elements of nested collection property
+     * @param methodReferenceLambda collection getter method reference
+     */
+    public <T> BeanMultiPath<ROOT, T> $$(MethodReferenceLambda<TYPE, Collection<T>> methodReferenceLambda) {
+        return new BeanMultiPath<>(beanPath.$$(methodReferenceLambda));
+    }
+
+    /**
+     * @return underlying single-valued path
+     */
+    public BeanPath<ROOT, TYPE> getBeanPath() {
+        return beanPath;
+    }
+
+    /**
+     * @return path as string formed by property names separated by '.'
+     */
+    public String getPath() {
+        return beanPath.getPath();
+    }
+
+    /**
+     * @return the type of values
+     */
+    public Class<TYPE> getType() {
+        return beanPath.getType();
+    }
+
+    /**
+     * Pass every value reachable by the path to the consumer
+     * @param bean a root bean
+     * @param consumer consumer of values
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(ROOT bean, Consumer<? super TYPE> consumer) {
+        Objects.requireNonNull(consumer);
+        walk(bean, 0, (Consumer<Object>) consumer);
+    }
+
+    /**
+     * Lazily stream every value reachable by the path
+     * @param bean a root bean
+     * @return sequential ordered stream of non-null values
+     */
+    public Stream<TYPE> stream(ROOT bean) {
+        return StreamSupport.stream(new MultiPathSpliterator<>(bean), false);
+    }
+
+
+    private void walk(Object bean, int hop, Consumer<Object> consumer) {
+        for (; bean != null; hop++) {
+            if (hop == readAccessors.length) {
+                consumer.accept(bean);
+                return;
+            }
+            if (fanOut[hop]) {
+                final Collection<?> collection = elements(readAccessors[hop].apply(bean));
+                if (collection == null)
+                    return;
+                if (collection instanceof RandomAccess && collection instanceof List) {
+                    final List<?> list = (List<?>) collection;
+                    for (int i = 0; i < list.size(); i++)
+                        walk(list.get(i), hop + 1, consumer);
+                } else {
+                    for (Object element : collection)
+                        walk(element, hop + 1, consumer);
+                }
+                return;
+            }
+            bean = readAccessors[hop].apply(bean);
+        }
+    }
+
+
+    /**
+     * @return the collection itself, a list view of the array or values of the map
+     */
+    private static /* Nullable */ Collection<?> elements(/* Nullable */ Object container) {
+        if (container instanceof Object[])
+            return Arrays.asList((Object[]) container);
+        else if (container instanceof Map)
+            return ((Map<?, ?>) container).values();
+        return (Collection<?>) container;
+    }
+
+
+    /**
+     * Iterates values keeping a cursor per fan-out hop. forEachRemaining() on a fresh spliterator
+     * walks recursively like forEach().
+     */
+    private final class MultiPathSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+        /* Nullable */
+        private Object root;
+        private boolean started;
+        /* stack of cursors: hop index, random access list with position or iterator */
+        private int top = -1;
+        private final int[] hops = new int[fanOutCount];
+        private final List<?>[] lists = new List<?>[fanOutCount];
+        private final int[] positions = new int[fanOutCount];
+        private final Iterator<?>[] iterators = new Iterator<?>[fanOutCount];
+        private Object value;
+
+        MultiPathSpliterator(Object root) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.root = root;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (!started) {
+                started = true;
+                final Object bean = root;
+                root = null;
+                if (descend(bean, 0)) {
+                    action.accept((T) value);
+                    value = null;
+                    return true;
+                }
+            }
+            while (top >= 0) {
+                final Object element;
+                if (lists[top] != null) {
+                    if (positions[top] >= lists[top].size()) {
+                        pop();
+                        continue;
+                    }
+                    element = lists[top].get(positions[top]++);
+                } else {
+                    if (!iterators[top].hasNext()) {
+                        pop();
+                        continue;
+                    }
+                    element = iterators[top].next();
+                }
+                if (descend(element, hops[top] + 1)) {
+                    action.accept((T) value);
+                    value = null;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(Consumer<? super T> action) {
+            if (!started) {
+                started = true;
+                final Object bean = root;
+                root = null;
+                walk(bean, 0, (Consumer<Object>) action);
+            } else
+                super.forEachRemaining(action);
+        }
+
+        /**
+         * Follow single-valued hops from the bean
+         * @return true if a value was reached, false on null or when a new cursor was pushed
+         */
+        private boolean descend(Object bean, int hop) {
+            for (; bean != null; hop++) {
+                if (hop == readAccessors.length) {
+                    value = bean;
+                    return true;
+                }
+                if (fanOut[hop]) {
+                    final Collection<?> collection = elements(readAccessors[hop].apply(bean));
+                    if (collection != null && !collection.isEmpty())
+                        push(hop, collection);
+                    return false;
+                }
+                bean = readAccessors[hop].apply(bean);
+            }
+            return false;
+        }
+
+        private void push(int hop, Collection<?> collection) {
+            top++;
+            hops[top] = hop;
+            if (collection instanceof RandomAccess && collection instanceof List) {
+                lists[top] = (List<?>) collection;
+                positions[top] = 0;
+            } else
+                iterators[top] = collection.iterator();
+        }
+
+        private void pop() {
+            lists[top] = null;
+            iterators[top] = null;
+            top--;
+        }
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return beanPath.equals(((BeanMultiPath<?, ?>) o).beanPath);
+    }
+
+    @Override
+    public int hashCode() {
+        return beanPath.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return beanPath.getPath();
+    }
+}
@@ -0,0 +1,937 @@
+package com.github.throwable.beanref;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * BeanPath represents a direct or transitive reference to a nested property.
+ * As a {@link Function} it evaluates the path null-safely, so it may be used in {@code stream.map(path)}.
+ * @param <ROOT> root class
+ * @param <TYPE> property's type
+ */
+public class BeanPath<ROOT, TYPE> implements Iterable<BeanProperty<?, ?>>, Function<ROOT, TYPE>
+{
+    private static final BeanProperty<?, ?>[] NO_PROPERTIES = new BeanProperty<?, ?>[0];
+    /* Number of beans walked together in batch operations that need a scratch buffer */
+    private static final int BATCH_SIZE = 256;
+
+    private final BeanProperty<?,?>[] accessorPath;
+    /* Precomputed for composite paths, BeanProperty keeps its own */
+    private final int hash;
+    private final String path;
+    /* Resolved lazily */
+    private volatile byte[] pathBytes;
+    /* Nullable */
+    private final CompiledPathAccessor compiledAccessor;
+
+    protected BeanPath() {
+        accessorPath = new BeanProperty<?, ?>[] {(BeanProperty<?,TYPE>) this};
+        hash = 0;
+        path = null;
+        compiledAccessor = null;
+    }
+
+    BeanPath(/* Nullable */ BeanPath<ROOT, ?> parent, BeanProperty<?, TYPE> beanProperty) {
+        this(parent, new BeanProperty<?, ?>[] {
+                parent != null ? BeanPropertyResolver.specialize(beanProperty, parent.getGenericType()) : beanProperty});
+    }
+
+    BeanPath(/* Nullable */ BeanPath<ROOT, ?> parent, List<BeanProperty<?, ?>> beanProperties) {
+        this(parent, beanProperties.toArray(NO_PROPERTIES));
+    }
+
+    BeanPath(BeanPath<ROOT, ?> parent, BeanPath<?, TYPE> path) {
+        this(parent, path.accessorPath);
+    }
+
+    private BeanPath(/* Nullable */ BeanPath<ROOT, ?> parent, BeanProperty<?, ?>[] beanProperties) {
+        if (parent != null) {
+            accessorPath = Arrays.copyOf(parent.accessorPath, parent.accessorPath.length + beanProperties.length);
+            System.arraycopy(beanProperties, 0, accessorPath, parent.accessorPath.length, beanProperties.length);
+        } else
+            accessorPath = beanProperties.clone();
+        hash = Arrays.hashCode(accessorPath);
+        final StringBuilder sb = new StringBuilder(accessorPath.length * 8);
+        for (BeanProperty<?, ?> beanProperty : accessorPath) {
+            if (sb.length() > 0)
+                sb.append('.');
+            sb.append(beanProperty.getPath());
+        }
+        path = sb.toString();
+        compiledAccessor = null;
+    }
+
+    private BeanPath(BeanPath<ROOT, TYPE> beanPath, CompiledPathAccessor compiledAccessor) {
+        accessorPath = beanPath.accessorPath;
+        hash = beanPath.hash;
+        path = beanPath.path;
+        this.compiledAccessor = compiledAccessor;
+    }
+
+    /**
+     * Obtain path for nested property
+     * @param methodReferenceLambda getter method reference
+     */
+    public <T> BeanPath<ROOT, T> $(MethodReferenceLambda<TYPE, T> methodReferenceLambda) {
+        final BeanProperty<TYPE, T> beanProperty = BeanPropertyResolver.resolveBeanProperty(methodReferenceLambda);
+        return new BeanPath<>(this, beanProperty);
+    }
+
+    /**
+     * Obtain path for nested property or path
+     * @param path name of property or a path of properties separated by .
+     */
+    public BeanPath<ROOT, ?> $(String path) {
+        return new BeanPath<>(this, DynamicBeanPropertyResolver.resolveBeanPath(getGenericType(), path));
+    }
+
+    /**
+     * Obtain path for nested property or path
+     * @param path name of property or a path of properties separated by .
+     * @param type resulting property's type
+     */
+    public <T> BeanPath<ROOT, T> $(String path, Class<T> type) {
+        return new BeanPath<>(this,
+                DynamicBeanPropertyResolver.resolveBeanPath(getGenericType(), path, type));
+    }
+
+    /**
+     * Obtain path for nested property that reads and writes a field directly. The field may have any visibility,
+     * final fields are read-only.
+     * @param fieldName name of instance field declared in the nested bean's class or its superclasses
+     */
+    public BeanPath<ROOT, ?> field(String fieldName) {
+        return new BeanPath<>(this, DynamicBeanPropertyResolver.resolveFieldProperty(getGenericType(), fieldName));
+    }
+
+    /**
+     * Obtain path for nested property that reads and writes a field directly. The field may have any visibility,
+     * final fields are read-only.
+     * @param fieldName name of instance field declared in the nested bean's class or its superclasses
+     * @param type field's type
+     */
+    public <T> BeanPath<ROOT, T> field(String fieldName, Class<T> type) {
+        return new BeanPath<>(this, DynamicBeanPropertyResolver.resolveFieldProperty(getGenericType(), fieldName, type));
+    }
+
+    /**
+     * Obtain path for nested collection property
+     * @param methodReferenceLambda collection getter method reference
+     */
+    @SuppressWarnings("overloads")
+    public <T> BeanPath<ROOT, T> $$(MethodReferenceLambda<TYPE, Collection<T>> methodReferenceLambda) {
+        return $$(methodReferenceLambda, null);
+    }
+
+    /**
+     * Obtain path for nested collection property
+     * @param methodReferenceLambda collection getter method reference
+     * @param collectionSupplier supplier to automatically create a new collection setting a contained element
+     *                          and the collection is null
+     */
+    public <T> BeanPath<ROOT, T> $$(
+            MethodReferenceLambda<TYPE, Collection<T>> methodReferenceLambda,
+                                          Supplier<Collection<T>> collectionSupplier)
+    {
+        final BeanProperty<TYPE, T> collectionBeanProperty =
+                BeanPropertyResolver.resolveCollectionBeanProperty(methodReferenceLambda, collectionSupplier);
+        return new BeanPath<>(this, collectionBeanProperty);
+    }
+
+    /**
+     * Obtain reference to the last element of an array property. Setting a value appends it to a copy of the array,
+     * setting null replaces the array with an empty one.
+     * @param methodReferenceLambda array getter method reference
+     */
+    @SuppressWarnings("overloads")
+    public <T> BeanPath<ROOT, T> $$(
+            ArrayReferenceLambda<TYPE, T> methodReferenceLambda)
+    {
+        final BeanProperty<TYPE, T> elementBeanProperty =
+                BeanPropertyResolver.resolveCollectionBeanProperty(methodReferenceLambda, null);
+        return new BeanPath<>(this, elementBeanProperty);
+    }
+
+    /**
+     * Obtain read-only reference to the last value of a map property.
+     * Use {@code $$(getter, key)} to reference a value by key.
+     * @param methodReferenceLambda map getter method reference
+     */
+    @SuppressWarnings("overloads")
+    public <K, T> BeanPath<ROOT, T> $$(
+            MapReferenceLambda<TYPE, K, T> methodReferenceLambda)
+    {
+        final BeanProperty<TYPE, T> elementBeanProperty =
+                BeanPropertyResolver.resolveCollectionBeanProperty(methodReferenceLambda, null);
+        return new BeanPath<>(this, elementBeanProperty);
+    }
+
+    /**
+     * Obtain reference to an element of a list property by index.
+     * Reading an index out of range returns null, writing it throws {@link IncompletePathException}.
+     * @param methodReferenceLambda list getter method reference
+     * @param index element's index
+     */
+    @SuppressWarnings("overloads")
+    public <T> BeanPath<ROOT, T> $$(
+            MethodReferenceLambda<TYPE, List<T>> methodReferenceLambda,
+            int index)
+    {
+        final BeanProperty<TYPE, T> elementBeanProperty =
+                BeanPropertyResolver.resolveElementBeanProperty(methodReferenceLambda, index, false);
+        return new BeanPath<>(this, elementBeanProperty);
+    }
+
+    /**
+     * Obtain reference to an element of a list property by index
+     * @param methodReferenceLambda list getter method reference
+     * @param index element's index
+     * @param autoGrow when writing an index out of range create the list if it is null and pad it with nulls
+     */
+    @SuppressWarnings("overloads")
+    public <T> BeanPath<ROOT, T> $$(
+            MethodReferenceLambda<TYPE, List<T>> methodReferenceLambda,
+            int index, boolean autoGrow)
+    {
+        final BeanProperty<TYPE, T> elementBeanProperty =
+                BeanPropertyResolver.resolveElementBeanProperty(methodReferenceLambda, index, autoGrow);
+        return new BeanPath<>(this, elementBeanProperty);
+    }
+
+    /**
+     * Obtain reference to an element of an array property by index.
+     * Reading an index out of range returns null, writing it throws {@link IncompletePathException}.
+     * @param methodReferenceLambda array getter method reference
+     * @param index element's index
+     */
+    @SuppressWarnings("overloads")
+    public <T> BeanPath<ROOT, T> $$(
+            ArrayReferenceLambda<TYPE, T> methodReferenceLambda,
+            int index)
+    {
+        final BeanProperty<TYPE, T> elementBeanProperty =
+                BeanPropertyResolver.resolveElementBeanProperty(methodReferenceLambda, index, false);
+        return new BeanPath<>(this, elementBeanProperty);
+    }
+
+    /**
+     * Obtain reference to an element of an array property by index
+     * @param methodReferenceLambda array getter method reference
+     * @param index element's index
+     * @param autoGrow when writing an index out of range replace the array with a longer copy using the setter
+     */
+    @SuppressWarnings("overloads")
+    public <T> BeanPath<ROOT, T> $$(
+            ArrayReferenceLambda<TYPE, T> methodReferenceLambda,
+            int index, boolean autoGrow)
+    {
+        final BeanProperty<TYPE, T> elementBeanProperty =
+                BeanPropertyResolver.resolveElementBeanProperty(methodReferenceLambda, index, autoGrow);
+        return new BeanPath<>(this, elementBeanProperty);
+    }
+
+    /**
+     * Obtain reference to a value of a map property by key.
+     * Reading a missing key returns null, writing null removes the key, the map is created if it is null.
+     * @param methodReferenceLambda map getter method reference
+     * @param key map key
+     */
+    public <K, T> BeanPath<ROOT, T> $$(
+            MapReferenceLambda<TYPE, K, T> methodReferenceLambda,
+            K key)
+    {
+        final BeanProperty<TYPE, T> elementBeanProperty =
+                BeanPropertyResolver.resolveElementBeanProperty(methodReferenceLambda, key, false);
+        return new BeanPath<>(this, elementBeanProperty);
+    }
+
+    /**
+     * Obtain reference to an element of an int array property by index that is read and written without boxing.
+     * Reading an index out of range returns null or 0 when read as int, writing it throws {@link IncompletePathException}.
+     * @param methodReferenceLambda array getter method reference
+     * @param index element's index
+     */
+    @SuppressWarnings("overloads")
+    public BeanPath<ROOT, Integer> $$(
+            ArrayReferenceLambda.OfInt<TYPE> methodReferenceLambda,
+            int index)
+    {
+        final BeanProperty<TYPE, Integer> elementBeanProperty =
+                BeanPropertyResolver.resolveElementBeanProperty(methodReferenceLambda, index, false);
+        return new BeanPath<>(this, elementBeanProperty);
+    }
+
+    /**
+     * Obtain reference to an element of a long array property by index that is read and written without boxing.
+     * Reading an index out of range returns null or 0 when read as long, writing it throws {@link IncompletePathException}.
+     * @param methodReferenceLambda array getter method reference
+     * @param index element's index
+     */
+    @SuppressWarnings("overloads")
+    public BeanPath<ROOT, Long> $$(
+            ArrayReferenceLambda.OfLong<TYPE> methodReferenceLambda,
+            int index)
+    {
+        final BeanProperty<TYPE, Long> elementBeanProperty =
+                BeanPropertyResolver.resolveElementBeanProperty(methodReferenceLambda, index, false);
+        return new BeanPath<>(this, elementBeanProperty);
+    }
+
+    /**
+     * Obtain reference to an element of a double array property by index that is read and written without boxing.
+     * Reading an index out of range returns null or 0 when read as double, writing it throws {@link IncompletePathException}.
+     * @param methodReferenceLambda array getter method reference
+     * @param index element's index
+     */
+    @SuppressWarnings("overloads")
+    public BeanPath<ROOT, Double> $$(
+            ArrayReferenceLambda.OfDouble<TYPE> methodReferenceLambda,
+            int index)
+    {
+        final BeanProperty<TYPE, Double> elementBeanProperty =
+                BeanPropertyResolver.resolveElementBeanProperty(methodReferenceLambda, index, false);
+        return new BeanPath<>(this, elementBeanProperty);
+    }
+
+
+    /**
+     * List all properties of the nested bean
+     * @return list of BeanPaths to access every property of nested bean
+     */
+    public Set<BeanPath<ROOT, ?>> all() {
+        final BeanMetadata<TYPE> beanMetadata = DynamicBeanPropertyResolver
+                .resolveBeanMetadata(getLastBeanProperty().getType());
+        return beanMetadata.getProperties().stream()
+                .map(it -> new BeanPath<>(this, it))
+                .collect(Collectors.toSet());
+    }
+
+
+    /**
+     * List leaf properties of the nested bean walking its nested beans recursively.
+     * The prefixed schema is resolved once per path and depth, so equal paths share the same schema.
+     * @param maxDepth max number of properties to append to this path
+     * @return schema of all leaf paths ordered depth-first by property name
+     * @see BeanRoot#deepAll(int)
+     */
+    public BeanSchema<ROOT> deepAll(int maxDepth) {
+        return DynamicBeanPropertyResolver.resolveBeanSchema(this, maxDepth);
+    }
+
+    /**
+     * Obtain multi-valued view of this path where every collection, array or map property fans out
+     * to all its elements or values instead of the last one
+     * @return multi-path to stream or iterate all values
+     */
+    public BeanMultiPath<ROOT, TYPE> each() {
+        return new BeanMultiPath<>(this);
+    }
+
+    /**
+     * Fuse the chain of properties into a single specialized accessor with inlined null checks.
+     * The compiled path is equal to this one and behaves the same way, but it is faster to evaluate when used
+     * intensively, so it is worth to compile paths that are stored and accessed on hot code paths.
+     * @return compiled path
+     */
+    public BeanPath<ROOT, TYPE> compile() {
+        if (compiledAccessor != null || accessorPath.length == 1)
+            return this;
+        return new BeanPath<>(this, new CompiledPathAccessor(this, accessorPath));
+    }
+
+
+    /**
+     * @return true if a referenced property is read-only
+     */
+    public boolean isReadOnly() {
+        return getLastBeanProperty().isReadOnly();
+    }
+
+
+    /**
+     * Set nested property's value.
+     * If the path is incomplete this method tries to implicitly instantiate missing beans in the path
+     * and then sets the value. If an intermediate bean can not be instantiated (has no public no-args constructor
+     * or corresponds to a read-only property) an exception is thrown.
+     * @param bean a root bean
+     * @param value value to set
+     * @throws IncompletePathException if path is incomplete and correspondent beans can not be instantiated
+     * @throws ReadOnlyPropertyException if a referenced property is read-only
+     */
+    @SuppressWarnings("unchecked")
+    public void set(ROOT bean, TYPE value) {
+        Object currentBean = Objects.requireNonNull(bean);
+        if (compiledAccessor != null) {
+            compiledAccessor.set(currentBean, value);
+            return;
+        }
+        ((BeanProperty<Object, TYPE>) getLastBeanProperty()).set(getOrCreateParentBean(currentBean), value);
+    }
+
+    /**
+     * Copy-on-write update of nested property's value.
+     * Immutable beans along the path are copied with the property replaced using a {@code withXxx(value)} method
+     * or the canonical constructor of a record or of a class annotated with {@link java.beans.ConstructorProperties},
+     * untouched properties of copies share their values with the originals. The first bean walking from the
+     * property to the root that has a setter for it is updated in place and its ancestors are kept as is.
+     * @param bean a root bean
+     * @param value value to set
+     * @return updated root: a copy if the root is immutable, the same bean otherwise
+     * @throws IncompletePathException if an intermediate bean in the path is null
+     * @throws ReadOnlyPropertyException if a bean in the path has neither a setter nor a wither for the property
+     */
+    @SuppressWarnings("unchecked")
+    public ROOT with(ROOT bean, TYPE value) {
+        final Object[] beans = new Object[accessorPath.length];
+        Object currentBean = Objects.requireNonNull(bean);
+        for (int i = 0; i < accessorPath.length; i++) {
+            beans[i] = currentBean;
+            if (i < accessorPath.length - 1) {
+                currentBean = ((BeanProperty<Object, Object>) accessorPath[i]).get(currentBean);
+                if (currentBean == null)
+                    throw new IncompletePathException("Property can not be accessed via path " + this.getPath()
+                            + " because " + accessorPath[i].getPath() + " is null");
+            }
+        }
+        Object currentValue = value;
+        for (int i = accessorPath.length - 1; i >= 0; i--) {
+            final BeanProperty<Object, Object> beanProperty = (BeanProperty<Object, Object>) accessorPath[i];
+            if (!beanProperty.isReadOnly()) {
+                beanProperty.set(beans[i], currentValue);
+                return bean;
+            }
+            final BiFunction<Object, Object, Object> wither = WitherResolver.resolveWither(beanProperty);
+            if (wither == null)
+                throw new ReadOnlyPropertyException("Property '" + beanProperty + "' is read-only and "
+                        + beanProperty.getBeanClass().getSimpleName() + " has no wither for it");
+            currentValue = wither.apply(beans[i], currentValue);
+        }
+        return (ROOT) currentValue;
+    }
+
+    /**
+     * Walk all the path except the last property instantiating missing intermediate beans
+     * @return the bean that holds the last property
+     */
+    @SuppressWarnings("unchecked")
+    private Object getOrCreateParentBean(Object bean) {
+        Object currentBean = bean;
+        for (int i = 0; i < accessorPath.length-1; i++) {
+            final BeanProperty<Object, Object> beanProperty  = (BeanProperty<Object, Object>) accessorPath[i];
+            Object propValue = beanProperty.get(currentBean);
+            if (propValue == null)
+                propValue = instantiateIntermediate(beanProperty, currentBean);
+            currentBean = propValue;
+        }
+        return currentBean;
+    }
+
+    /**
+     * Walk all the path except the last property
+     * @return the bean that holds the last property or null if path is incomplete
+     */
+    @SuppressWarnings("unchecked")
+    /* Nullable */
+    private Object getParentBean(Object bean) {
+        Object current = bean;
+        for (int i = 0; i < accessorPath.length-1 && current != null; i++)
+            current = ((BeanProperty<Object, Object>) accessorPath[i]).get(current);
+        return current;
+    }
+
+    /**
+     * Instantiate a missing intermediate bean and set it into its parent
+     * @return new intermediate bean
+     */
+    Object instantiateIntermediate(BeanProperty<Object, Object> beanProperty, Object bean) {
+        final Supplier<Object> instantiator = beanProperty.getInstantiator();
+        if (instantiator == null)
+            throw new IncompletePathException("Property can not be accessed via path " + this.getPath()
+                    + "because " + beanProperty.getPath() + " is null");
+        final Object propValue = instantiator.get();
+        try {
+            beanProperty.set(bean, propValue);
+        } catch (ReadOnlyPropertyException e) {
+            throw new IncompletePathException(e);
+        }
+        return propValue;
+    }
+
+    /**
+     * Get nested property's value starting from the root bean.
+     * If the property value is not accessible by the given path (path is incomplete) this method returns null instead of throwing NPE.
+     * @param bean a root bean
+     * @return nested property value or null if property is not accessible by the given path
+     */
+    @SuppressWarnings("unchecked")
+    public TYPE get(ROOT bean) {
+        if (compiledAccessor != null)
+            return (TYPE) compiledAccessor.get(bean);
+        Object current = bean;
+        for (BeanProperty<?,?> beanProperty : accessorPath) {
+            if (current == null) {
+                return null;
+            } else
+                current = ((BeanProperty<Object,Object>) beanProperty).get(current);
+        }
+        return (TYPE) current;
+    }
+
+    /**
+     * Get nested int property's value starting from the root bean without boxing it if the property is primitive.
+     * @param bean a root bean
+     * @param defaultValue value returned if the path is incomplete, the property value is null
+     * or the property is an array element with index out of range
+     * @return nested property value or defaultValue if property is not accessible by the given path
+     * @throws ClassCastException if the property is neither int nor Integer
+     */
+    @SuppressWarnings("unchecked")
+    public int getInt(ROOT bean, int defaultValue) {
+        final Object parentBean = getParentBean(bean);
+        if (parentBean == null)
+            return defaultValue;
+        final BeanProperty<?, TYPE> lastBeanProperty = getLastBeanProperty();
+        if (lastBeanProperty instanceof IntBeanProperty)
+            return ((IntBeanProperty<Object>) lastBeanProperty).getIntOrDefault(parentBean, defaultValue);
+        final Integer value = (Integer) ((BeanProperty<Object, TYPE>) lastBeanProperty).get(parentBean);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Set nested int property's value without boxing it if the property is primitive.
+     * Missing intermediate beans are instantiated the same way as {@link #set(Object, Object)} does.
+     * @param bean a root bean
+     * @param value value to set
+     * @throws ClassCastException if the property is neither int nor Integer
+     */
+    @SuppressWarnings("unchecked")
+    public void setInt(ROOT bean, int value) {
+        final Object parentBean = getOrCreateParentBean(Objects.requireNonNull(bean));
+        final BeanProperty<?, TYPE> lastBeanProperty = getLastBeanProperty();
+        if (lastBeanProperty instanceof IntBeanProperty)
+            ((IntBeanProperty<Object>) lastBeanProperty).setInt(parentBean, value);
+        else
+            ((BeanProperty<Object, Object>) lastBeanProperty).set(parentBean, (Integer) value);
+    }
+
+    /**
+     * Get nested long property's value starting from the root bean without boxing it if the property is primitive.
+     * @param bean a root bean
+     * @param defaultValue value returned if the path is incomplete, the property value is null
+     * or the property is an array element with index out of range
+     * @return nested property value or defaultValue if property is not accessible by the given path
+     * @throws ClassCastException if the property is neither long nor Long
+     */
+    @SuppressWarnings("unchecked")
+    public long getLong(ROOT bean, long defaultValue) {
+        final Object parentBean = getParentBean(bean);
+        if (parentBean == null)
+            return defaultValue;
+        final BeanProperty<?, TYPE> lastBeanProperty = getLastBeanProperty();
+        if (lastBeanProperty instanceof LongBeanProperty)
+            return ((LongBeanProperty<Object>) lastBeanProperty).getLongOrDefault(parentBean, defaultValue);
+        final Long value = (Long) ((BeanProperty<Object, TYPE>) lastBeanProperty).get(parentBean);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Set nested long property's value without boxing it if the property is primitive.
+     * Missing intermediate beans are instantiated the same way as {@link #set(Object, Object)} does.
+     * @param bean a root bean
+     * @param value value to set
+     * @throws ClassCastException if the property is neither long nor Long
+     */
+    @SuppressWarnings("unchecked")
+    public void setLong(ROOT bean, long value) {
+        final Object parentBean = getOrCreateParentBean(Objects.requireNonNull(bean));
+        final BeanProperty<?, TYPE> lastBeanProperty = getLastBeanProperty();
+        if (lastBeanProperty instanceof LongBeanProperty)
+            ((LongBeanProperty<Object>) lastBeanProperty).setLong(parentBean, value);
+        else
+            ((BeanProperty<Object, Object>) lastBeanProperty).set(parentBean, (Long) value);
+    }
+
+    /**
+     * Get nested double property's value starting from the root bean without boxing it if the property is primitive.
+     * @param bean a root bean
+     * @param defaultValue value returned if the path is incomplete, the property value is null
+     * or the property is an array element with index out of range
+     * @return nested property value or defaultValue if property is not accessible by the given path
+     * @throws ClassCastException if the property is neither double nor Double
+     */
+    @SuppressWarnings("unchecked")
+    public double getDouble(ROOT bean, double defaultValue) {
+        final Object parentBean = getParentBean(bean);
+        if (parentBean == null)
+            return defaultValue;
+        final BeanProperty<?, TYPE> lastBeanProperty = getLastBeanProperty();
+        if (lastBeanProperty instanceof DoubleBeanProperty)
+            return ((DoubleBeanProperty<Object>) lastBeanProperty).getDoubleOrDefault(parentBean, defaultValue);
+        final Double value = (Double) ((BeanProperty<Object, TYPE>) lastBeanProperty).get(parentBean);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Set nested double property's value without boxing it if the property is primitive.
+     * Missing intermediate beans are instantiated the same way as {@link #set(Object, Object)} does.
+     * @param bean a root bean
+     * @param value value to set
+     * @throws ClassCastException if the property is neither double nor Double
+     */
+    @SuppressWarnings("unchecked")
+    public void setDouble(ROOT bean, double value) {
+        final Object parentBean = getOrCreateParentBean(Objects.requireNonNull(bean));
+        final BeanProperty<?, TYPE> lastBeanProperty = getLastBeanProperty();
+        if (lastBeanProperty instanceof DoubleBeanProperty)
+            ((DoubleBeanProperty<Object>) lastBeanProperty).setDouble(parentBean, value);
+        else
+            ((BeanProperty<Object, Object>) lastBeanProperty).set(parentBean, (Double) value);
+    }
+
+    /**
+     * Get nested boolean property's value starting from the root bean without boxing it if the property is primitive.
+     * @param bean a root bean
+     * @param defaultValue value returned if the path is incomplete or the property value is null
+     * @return nested property value or defaultValue if property is not accessible by the given path
+     * @throws ClassCastException if the property is neither boolean nor Boolean
+     */
+    @SuppressWarnings("unchecked")
+    public boolean getBoolean(ROOT bean, boolean defaultValue) {
+        final Object parentBean = getParentBean(bean);
+        if (parentBean == null)
+            return defaultValue;
+        final BeanProperty<?, TYPE> lastBeanProperty = getLastBeanProperty();
+        if (lastBeanProperty instanceof BooleanBeanProperty)
+            return ((BooleanBeanProperty<Object>) lastBeanProperty).getBoolean(parentBean);
+        final Boolean value = (Boolean) ((BeanProperty<Object, TYPE>) lastBeanProperty).get(parentBean);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Set nested boolean property's value without boxing it if the property is primitive.
+     * Missing intermediate beans are instantiated the same way as {@link #set(Object, Object)} does.
+     * @param bean a root bean
+     * @param value value to set
+     * @throws ClassCastException if the property is neither boolean nor Boolean
+     */
+    @SuppressWarnings("unchecked")
+    public void setBoolean(ROOT bean, boolean value) {
+        final Object parentBean = getOrCreateParentBean(Objects.requireNonNull(bean));
+        final BeanProperty<?, TYPE> lastBeanProperty = getLastBeanProperty();
+        if (lastBeanProperty instanceof BooleanBeanProperty)
+            ((BooleanBeanProperty<Object>) lastBeanProperty).setBoolean(parentBean, value);
+        else
+            ((BeanProperty<Object, Object>) lastBeanProperty).set(parentBean, (Boolean) value);
+    }
+
+    /**
+     * Same as {@link #get(Object)}
+     */
+    @Override
+    public TYPE apply(ROOT bean) {
+        return get(bean);
+    }
+
+    /**
+     * Get nested property's values for a list of root beans.
+     * The path is evaluated hop by hop for all the beans, so every accessor is applied in its own tight loop.
+     * @param beans root beans, may contain nulls
+     * @return unmodifiable list of values in the same order, null for incomplete paths
+     */
+    @SuppressWarnings("unchecked")
+    public List<TYPE> getAll(List<? extends ROOT> beans) {
+        final Object[] values = beans.toArray();
+        walk(values, values.length, accessorPath.length);
+        return Collections.unmodifiableList(Arrays.asList((TYPE[]) values));
+    }
+
+    /**
+     * Get nested property's values for an array of root beans into the array provided by caller.
+     * @param beans root beans, may contain nulls
+     * @param out array to store values into, at least of the same length as beans
+     * @return out array
+     * @throws IllegalArgumentException if out array is shorter than beans array
+     */
+    @SuppressWarnings("unchecked")
+    public TYPE[] getAll(ROOT[] beans, TYPE[] out) {
+        checkBatchLength(beans, out.length);
+        final Function<Object, Object> readAccessor = getLastReadAccessor();
+        final Object[] parents = accessorPath.length > 1 ? new Object[Math.min(beans.length, BATCH_SIZE)] : beans;
+        for (int from = 0; from < beans.length; from += BATCH_SIZE) {
+            final int length = Math.min(BATCH_SIZE, beans.length - from);
+            final int offset = walkParents(beans, from, parents, length);
+            for (int i = 0; i < length; i++) {
+                final Object bean = parents[offset + i];
+                out[from + i] = bean != null ? (TYPE) readAccessor.apply(bean) : null;
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Same as {@link #getAllInt(Object[], int[], int)} with 0 as default value
+     */
+    public int[] getAllInt(ROOT[] beans, int[] out) {
+        return getAllInt(beans, out, 0);
+    }
+
+    /**
+     * Get nested int property's values for an array of root beans without boxing them if the property is primitive.
+     * @param beans root beans, may contain nulls
+     * @param out array to store values into, at least of the same length as beans
+     * @param defaultValue value stored if the path is incomplete, the property value is null
+     * or the property is an array element with index out of range
+     * @return out array
+     * @throws IllegalArgumentException if out array is shorter than beans array
+     * @throws ClassCastException if the property is neither int nor Integer
+     */
+    @SuppressWarnings("unchecked")
+    public int[] getAllInt(ROOT[] beans, int[] out, int defaultValue) {
+        checkBatchLength(beans, out.length);
+        final BeanProperty<?, TYPE> lastBeanProperty = getLastBeanProperty();
+        final ToIntFunction<Object> readAccessor = lastBeanProperty instanceof IntBeanProperty ?
+                ((IntBeanProperty<Object>) lastBeanProperty).getIntReadAccessor(defaultValue) :
+                bean -> {
+                    final Integer value = (Integer) ((BeanProperty<Object, TYPE>) lastBeanProperty).get(bean);
+                    return value != null ? value : defaultValue;
+                };
+        final Object[] parents = accessorPath.length > 1 ? new Object[Math.min(beans.length, BATCH_SIZE)] : beans;
+        for (int from = 0; from < beans.length; from += BATCH_SIZE) {
+            final int length = Math.min(BATCH_SIZE, beans.length - from);
+            final int offset = walkParents(beans, from, parents, length);
+            for (int i = 0; i < length; i++) {
+                final Object bean = parents[offset + i];
+                out[from + i] = bean != null ? readAccessor.applyAsInt(bean) : defaultValue;
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Same as {@link #getAllLong(Object[], long[], long)} with 0 as default value
+     */
+    public long[] getAllLong(ROOT[] beans, long[] out) {
+        return getAllLong(beans, out, 0L);
+    }
+
+    /**
+     * Get nested long property's values for an array of root beans without boxing them if the property is primitive.
+     * @param beans root beans, may contain nulls
+     * @param out array to store values into, at least of the same length as beans
+     * @param defaultValue value stored if the path is incomplete, the property value is null
+     * or the property is an array element with index out of range
+     * @return out array
+     * @throws IllegalArgumentException if out array is shorter than beans array
+     * @throws ClassCastException if the property is neither long nor Long
+     */
+    @SuppressWarnings("unchecked")
+    public long[] getAllLong(ROOT[] beans, long[] out, long defaultValue) {
+        checkBatchLength(beans, out.length);
+        final BeanProperty<?, TYPE> lastBeanProperty = getLastBeanProperty();
+        final ToLongFunction<Object> readAccessor = lastBeanProperty instanceof LongBeanProperty ?
+                ((LongBeanProperty<Object>) lastBeanProperty).getLongReadAccessor(defaultValue) :
+                bean -> {
+                    final Long value = (Long) ((BeanProperty<Object, TYPE>) lastBeanProperty).get(bean);
+                    return value != null ? value : defaultValue;
+                };
+        final Object[] parents = accessorPath.length > 1 ? new Object[Math.min(beans.length, BATCH_SIZE)] : beans;
+        for (int from = 0; from < beans.length; from += BATCH_SIZE) {
+            final int length = Math.min(BATCH_SIZE, beans.length - from);
+            final int offset = walkParents(beans, from, parents, length);
+            for (int i = 0; i < length; i++) {
+                final Object bean = parents[offset + i];
+                out[from + i] = bean != null ? readAccessor.applyAsLong(bean) : defaultValue;
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Same as {@link #getAllDouble(Object[], double[], double)} with 0 as default value
+     */
+    public double[] getAllDouble(ROOT[] beans, double[] out) {
+        return getAllDouble(beans, out, 0.0);
+    }
+
+    /**
+     * Get nested double property's values for an array of root beans without boxing them if the property is primitive.
+     * @param beans root beans, may contain nulls
+     * @param out array to store values into, at least of the same length as beans
+     * @param defaultValue value stored if the path is incomplete, the property value is null
+     * or the property is an array element with index out of range
+     * @return out array
+     * @throws IllegalArgumentException if out array is shorter than beans array
+     * @throws ClassCastException if the property is neither double nor Double
+     */
+    @SuppressWarnings("unchecked")
+    public double[] getAllDouble(ROOT[] beans, double[] out, double defaultValue) {
+        checkBatchLength(beans, out.length);
+        final BeanProperty<?, TYPE> lastBeanProperty = getLastBeanProperty();
+        final ToDoubleFunction<Object> readAccessor = lastBeanProperty instanceof DoubleBeanProperty ?
+                ((DoubleBeanProperty<Object>) lastBeanProperty).getDoubleReadAccessor(defaultValue) :
+                bean -> {
+                    final Double value = (Double) ((BeanProperty<Object, TYPE>) lastBeanProperty).get(bean);
+                    return value != null ? value : defaultValue;
+                };
+        final Object[] parents = accessorPath.length > 1 ? new Object[Math.min(beans.length, BATCH_SIZE)] : beans;
+        for (int from = 0; from < beans.length; from += BATCH_SIZE) {
+            final int length = Math.min(BATCH_SIZE, beans.length - from);
+            final int offset = walkParents(beans, from, parents, length);
+            for (int i = 0; i < length; i++) {
+                final Object bean = parents[offset + i];
+                out[from + i] = bean != null ? readAccessor.applyAsDouble(bean) : defaultValue;
+            }
+        }
+        return out;
+    }
+
+    private static void checkBatchLength(Object[] beans, int outLength) {
+        if (outLength < beans.length)
+            throw new IllegalArgumentException("Output array length " + outLength
+                    + " is less than the number of beans " + beans.length);
+    }
+
+    /**
+     * Resolve the beans holding the last property for beans[from, from+length)
+     * @param parents scratch buffer of at least length size or beans array itself if the path has a single property
+     * @return offset of the first resolved bean in parents
+     */
+    private int walkParents(Object[] beans, int from, Object[] parents, int length) {
+        if (parents == beans)
+            return from;
+        System.arraycopy(beans, from, parents, 0, length);
+        walk(parents, length, accessorPath.length-1);
+        return 0;
+    }
+
+    /**
+     * Apply first hops of the path to each of values in place, one property at a time
+     */
+    @SuppressWarnings("unchecked")
+    private void walk(Object[] values, int length, int hops) {
+        for (int hop = 0; hop < hops; hop++) {
+            final Function<Object, Object> readAccessor =
+                    ((BeanProperty<Object, Object>) accessorPath[hop]).getReadAccessor();
+            for (int i = 0; i < length; i++) {
+                final Object bean = values[i];
+                if (bean != null)
+                    values[i] = readAccessor.apply(bean);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Function<Object, Object> getLastReadAccessor() {
+        return ((BeanProperty<Object, Object>) getLastBeanProperty()).getReadAccessor();
+    }
+
+    /**
+     * Indicates that the property is accessible directly by chaining requests and does not contain
+     * any intermediate nullable value
+     * @return true if path is complete
+     */
+    @SuppressWarnings("unchecked")
+    public boolean isComplete(ROOT bean)
+    {
+        Object current = bean;
+        int idx = 0;
+        for (BeanProperty<?, ?> beanProperty : accessorPath) {
+            if (current == null) {
+                return idx >= accessorPath.length;
+            } else
+                current = ((BeanProperty<Object, Object>) beanProperty).get(current);
+            idx++;
+        }
+        return true;
+    }
+
+    /**
+     * @return the type of this property
+     */
+    public Class<TYPE> getType() {
+        return getLastBeanProperty().getType();
+    }
+
+    /**
+     * @return generic type of this property with type variables resolved against the root where possible,
+     * e.g. {@code List<Order>} for the path {@code content} of {@code Page<Order>}
+     */
+    public Type getGenericType() {
+        return getLastBeanProperty().getGenericType();
+    }
+
+    @Override
+    public Iterator<BeanProperty<?,?>> iterator() {
+        return Collections.unmodifiableList(Arrays.asList(accessorPath)).iterator();
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private BeanProperty<?, TYPE> getLastBeanProperty() {
+        return (BeanProperty<?, TYPE>) accessorPath[accessorPath.length-1];
+    }
+
+    @SuppressWarnings("unchecked")
+    private BeanProperty<ROOT, ?> getRootBeanProperty() {
+        return (BeanProperty<ROOT, ?>) accessorPath[0];
+    }
+
+    /**
+     * @return the type of enclosing object
+     */
+    public Class<ROOT> getBeanClass() {
+        return getRootBeanProperty().getBeanClass();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BeanPath<?, ?> beanPath = (BeanPath<?, ?>) o;
+        return hash == beanPath.hash && Arrays.equals(accessorPath, beanPath.accessorPath);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return getPath();
+    }
+
+    /**
+     * @return path as string formed by property names separated by '.'
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @param root root prefix
+     * @return path as string prefixed with root
+     */
+    public String getPath(String root) {
+        return (root != null && !root.isEmpty()) ? root.concat(getPath()) : getPath();
+    }
+
+    /**
+     * @return path as UTF-8 encoded bytes, intended for writers that emit bytes directly.
+     * The returned array is cached and shared, so it must not be modified.
+     */
+    public byte[] getPathBytes() {
+        byte[] bytes = pathBytes;
+        if (bytes == null)
+            pathBytes = bytes = getPath().getBytes(StandardCharsets.UTF_8);
+        return bytes;
+    }
+}
@@ -0,0 +1,116 @@
+package com.github.throwable.beanref;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Warm-up of bean metadata to avoid latency spikes on the first access after startup.
+ * Classes may be resolved eagerly, on a background thread or listed in {@value #PRELOAD_MANIFEST} manifests.
+ * Preloading works within an AppCDS training run as well: classes and generated accessors loaded by preloading
+ * get archived. Classes annotated with {@link BeanRefModel} are resolved from their generated accessor tables
+ * without scanning their methods.
+ */
+public final class BeanPreloader {
+    /**
+     * Classpath resource listing bean classes to preload, one fully qualified name per line, # starts a comment
+     */
+    public static final String PRELOAD_MANIFEST = "META-INF/beanref/preload";
+
+    private static final Executor BACKGROUND_EXECUTOR = task -> {
+        final Thread thread = new Thread(task, "beanref-preloader");
+        thread.setDaemon(true);
+        thread.start();
+    };
+
+
+    private BeanPreloader() {}
+
+
+    /**
+     * Resolve metadata and generate accessors of all properties of the classes
+     * @param beanClasses bean classes
+     */
+    public static void preload(Class<?>... beanClasses) {
+        preload(Arrays.asList(beanClasses));
+    }
+
+    /**
+     * Resolve metadata and generate accessors of all properties of the classes
+     * @param beanClasses bean classes
+     */
+    public static void preload(Collection<? extends Class<?>> beanClasses) {
+        for (Class<?> beanClass : beanClasses)
+            DynamicBeanPropertyResolver.resolveBeanMetadata(beanClass);
+    }
+
+    /**
+     * Preload classes on a background daemon thread
+     * @param beanClasses bean classes
+     * @return future completed when all the classes are resolved
+     */
+    public static CompletableFuture<Void> preloadAsync(Collection<? extends Class<?>> beanClasses) {
+        final List<Class<?>> classes = new ArrayList<>(beanClasses);
+        return CompletableFuture.runAsync(() -> preload(classes), BACKGROUND_EXECUTOR);
+    }
+
+    /**
+     * Preload classes listed in all {@value #PRELOAD_MANIFEST} resources visible from the class loader.
+     * Classes that can not be loaded are skipped.
+     * @param classLoader class loader to find manifests and load classes with
+     * @return number of preloaded classes
+     * @throws IOException if a manifest can not be read
+     */
+    public static int preloadManifest(ClassLoader classLoader) throws IOException {
+        int count = 0;
+        final Enumeration<URL> manifests = classLoader.getResources(PRELOAD_MANIFEST);
+        while (manifests.hasMoreElements()) {
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(manifests.nextElement().openStream(), StandardCharsets.UTF_8)))
+            {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    final int comment = line.indexOf('#');
+                    final String className = (comment >= 0 ? line.substring(0, comment) : line).trim();
+                    if (className.isEmpty())
+                        continue;
+                    final Class<?> beanClass;
+                    try {
+                        beanClass = Class.forName(className, false, classLoader);
+                    } catch (ClassNotFoundException | LinkageError e) {
+                        continue;
+                    }
+                    DynamicBeanPropertyResolver.resolveBeanMetadata(beanClass);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Preload classes listed in manifests on a background daemon thread
+     * @param classLoader class loader to find manifests and load classes with
+     * @return future completed with the number of preloaded classes
+     */
+    public static CompletableFuture<Integer> preloadManifestAsync(ClassLoader classLoader) {
+        final CompletableFuture<Integer> future = new CompletableFuture<>();
+        BACKGROUND_EXECUTOR.execute(() -> {
+            try {
+                future.complete(preloadManifest(classLoader));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+}
@@ -0,0 +1,206 @@
+package com.github.throwable.beanref;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * BeanProjection reads a fixed set of paths from a root bean into a row of values.
+ * Paths are compiled into a prefix tree, so every intermediate bean shared by several paths
+ * (like {@code contact.address} for {@code contact.address.city} and {@code contact.address.zipCode})
+ * is dereferenced exactly once per row. Values are stored in the order of the paths given.
+ * <pre>
+ * BeanProjection&lt;Person&gt; projection = BeanProjection.of($(Person.class).all());
+ * Object[] row = projection.newRow();
+ * for (Person person : persons) {
+ *     projection.get(person, row);
+ *     ...
+ * }
+ * </pre>
+ * Like {@link BeanPath#get(Object)} projection never throws NPE: values of incomplete paths are null.
+ * BeanProjection is immutable and thread-safe.
+ * @param <ROOT> root class
+ */
+public final class BeanProjection<ROOT> {
+    private static final MethodHandle READ;
+    private static final MethodHandle READ_INTO_ROW;
+    private static final MethodHandle COPY_INTO_ROW;
+    private static final MethodHandle COPY_WITHIN_ROW;
+    private static final MethodHandle NOOP;
+
+    static {
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            READ = lookup.findStatic(BeanProjection.class, "read", MethodType.methodType(void.class,
+                    Function.class, int.class, int.class, Object[].class, Object[].class));
+            READ_INTO_ROW = lookup.findStatic(BeanProjection.class, "readIntoRow", MethodType.methodType(void.class,
+                    Function.class, int.class, int.class, Object[].class, Object[].class));
+            COPY_INTO_ROW = lookup.findStatic(BeanProjection.class, "copyIntoRow", MethodType.methodType(void.class,
+                    int.class, int.class, Object[].class, Object[].class));
+            COPY_WITHIN_ROW = lookup.findStatic(BeanProjection.class, "copyWithinRow", MethodType.methodType(void.class,
+                    int.class, int.class, Object[].class, Object[].class));
+            NOOP = lookup.findStatic(BeanProjection.class, "noop", MethodType.methodType(void.class,
+                    Object[].class, Object[].class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final List<BeanPath<ROOT, ?>> paths;
+    private final PathTrie.Frames frames;
+    /* (Object[] frame, Object[] row)void */
+    private final MethodHandle program;
+
+
+    private BeanProjection(List<BeanPath<ROOT, ?>> paths) {
+        this.paths = paths;
+        final PathTrie trie = new PathTrie();
+        final int[] pathSlots = new int[paths.size()];
+        for (int i = 0; i < paths.size(); i++)
+            pathSlots[i] = trie.add(paths.get(i));
+        this.frames = new PathTrie.Frames(trie.size() + 1);
+
+        // the first path that ends at a node reads its value directly into the row, other paths copy it from there
+        final int[] rowIndexes = new int[trie.size()];
+        Arrays.fill(rowIndexes, -1);
+        final ArrayList<MethodHandle> copySteps = new ArrayList<>();
+        for (int i = 0; i < pathSlots.length; i++) {
+            if (rowIndexes[pathSlots[i] - 1] < 0)
+                rowIndexes[pathSlots[i] - 1] = i;
+            else
+                copySteps.add(MethodHandles.insertArguments(COPY_WITHIN_ROW, 0, rowIndexes[pathSlots[i] - 1], i));
+        }
+
+        final ArrayList<MethodHandle> steps = new ArrayList<>();
+        final BeanProperty<Object, Object>[] properties = trie.getProperties();
+        final int[] parents = trie.getParents();
+        for (int i = 0; i < properties.length; i++) {
+            final Function<Object, Object> readAccessor = properties[i].getReadAccessor();
+            if (trie.isIntermediate(i + 1))
+                steps.add(MethodHandles.insertArguments(READ, 0, readAccessor, parents[i], i + 1));
+            if (rowIndexes[i] >= 0) {
+                steps.add(trie.isIntermediate(i + 1) ?
+                        MethodHandles.insertArguments(COPY_INTO_ROW, 0, i + 1, rowIndexes[i]) :
+                        MethodHandles.insertArguments(READ_INTO_ROW, 0, readAccessor, parents[i], rowIndexes[i]));
+            }
+        }
+        steps.addAll(copySteps);
+        this.program = steps.isEmpty() ? NOOP : PathTrie.sequence(steps);
+    }
+
+    /**
+     * Create a projection of the given paths. Values are stored in the iteration order of the collection.
+     * @param paths paths to read, e.g. obtained with {@link BeanPath#all()}
+     * @param <ROOT> root class
+     * @return new projection
+     */
+    public static <ROOT> BeanProjection<ROOT> of(Collection<? extends BeanPath<ROOT, ?>> paths) {
+        return new BeanProjection<>(Collections.unmodifiableList(new ArrayList<>(paths)));
+    }
+
+    /**
+     * Create a projection of the given paths. Values are stored in the same order.
+     * @param paths paths to read
+     * @param <ROOT> root class
+     * @return new projection
+     */
+    @SafeVarargs
+    public static <ROOT> BeanProjection<ROOT> of(BeanPath<ROOT, ?>... paths) {
+        // copy element by element: the varargs array itself must not escape
+        final ArrayList<BeanPath<ROOT, ?>> pathList = new ArrayList<>(paths.length);
+        for (BeanPath<ROOT, ?> path : paths)
+            pathList.add(path);
+        return new BeanProjection<>(Collections.unmodifiableList(pathList));
+    }
+
+    /**
+     * @return projected paths in the order of their values in a row
+     */
+    public List<BeanPath<ROOT, ?>> getPaths() {
+        return paths;
+    }
+
+    /**
+     * @return number of values in a row
+     */
+    public int size() {
+        return paths.size();
+    }
+
+    /**
+     * @return new row buffer to be reused with {@link #get(Object, Object[])}
+     */
+    public Object[] newRow() {
+        return new Object[paths.size()];
+    }
+
+    /**
+     * Read values of all the paths from the root bean into a new row
+     * @param bean a root bean
+     * @return row of values in the order of paths
+     */
+    public Object[] get(ROOT bean) {
+        return get(bean, newRow());
+    }
+
+    /**
+     * Read values of all the paths from the root bean into the given row buffer overwriting its contents.
+     * Intermediate beans are kept in a frame reused by the calling thread, so reading into a reused row buffer
+     * does not allocate.
+     * @param bean a root bean
+     * @param row row buffer at least of {@link #size()} length
+     * @return row buffer
+     * @throws IllegalArgumentException if row buffer is too short
+     */
+    public Object[] get(ROOT bean, Object[] row) {
+        if (row.length < paths.size())
+            throw new IllegalArgumentException("Row length " + row.length
+                    + " is less than the number of paths " + paths.size());
+        final Object[][] holder = frames.holder();
+        final Object[] frame = frames.take(holder);
+        frame[0] = bean;
+        try {
+            program.invokeExact(frame, row);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        } finally {
+            frames.release(holder, frame);
+        }
+        return row;
+    }
+
+
+    private static void read(Function<Object, Object> readAccessor, int beanSlot, int slot,
+                             Object[] frame, Object[] row)
+    {
+        final Object bean = frame[beanSlot];
+        if (bean != null)
+            frame[slot] = readAccessor.apply(bean);
+    }
+
+    private static void readIntoRow(Function<Object, Object> readAccessor, int beanSlot, int index,
+                                    Object[] frame, Object[] row)
+    {
+        final Object bean = frame[beanSlot];
+        row[index] = bean != null ? readAccessor.apply(bean) : null;
+    }
+
+    private static void copyIntoRow(int slot, int index, Object[] frame, Object[] row) {
+        row[index] = frame[slot];
+    }
+
+    private static void copyWithinRow(int from, int index, Object[] frame, Object[] row) {
+        row[index] = row[from];
+    }
+
+    private static void noop(Object[] frame, Object[] row) {
+    }
+}
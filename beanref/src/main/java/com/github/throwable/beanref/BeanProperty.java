@@ -1,5 +1,6 @@
 package com.github.throwable.beanref;
 
+import java.lang.reflect.Type;
 import java.util.Objects;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
@@ -12,28 +13,63 @@ import java.util.function.Supplier;
  */
 public class BeanProperty<BEAN, TYPE> extends BeanPath<BEAN, TYPE>
 {
+    /* Element key of collection hops: they reference elements of the same getter as the plain property */
+    static final Object ALL_ELEMENTS = new Object();
+
     private final Class<BEAN> beanClass;
     private final Class<TYPE> type;
+    /* May contain type variables not resolved in context of the bean class */
+    private final Type genericType;
     private final String name;
     private final Function<BEAN, TYPE> readAccessor;
     /* Nullable */
     private final BiConsumer<BEAN, TYPE> writeAccessor;
     /* Resolved lazily */
     private final Supplier</*Nullable*/Supplier<TYPE>> instantiatorSupplier;
+    /* Index or key of a referenced element and its growth mode, ALL_ELEMENTS for collection hops,
+       null for plain properties */
+    /* Nullable */
+    private final Object elementKey;
+    private final int hash;
 
 
     BeanProperty(Class<BEAN> beanClass, Class<TYPE> type, String name,
                  Function<BEAN, TYPE> readAccessor,
             /*Nullable*/ BiConsumer<BEAN, TYPE> writeAccessor,
                  Supplier<Supplier<TYPE>> instantiatorSupplier)
+    {
+        this(beanClass, type, type, name, readAccessor, writeAccessor, instantiatorSupplier);
+    }
+
+    BeanProperty(Class<BEAN> beanClass, Class<TYPE> type, Type genericType, String name,
+                 Function<BEAN, TYPE> readAccessor,
+            /*Nullable*/ BiConsumer<BEAN, TYPE> writeAccessor,
+                 Supplier<Supplier<TYPE>> instantiatorSupplier)
+    {
+        this(beanClass, type, genericType, name, readAccessor, writeAccessor, instantiatorSupplier, null);
+    }
+
+    /**
+     * @param elementKey identity of an element reference: elements of the same property referenced by different
+     *                   indexes or keys that print the same, e.g. 1 and "1", are different properties, and so are
+     *                   a collection hop ({@link #ALL_ELEMENTS}) and the plain property of its getter
+     */
+    BeanProperty(Class<BEAN> beanClass, Class<TYPE> type, Type genericType, String name,
+                 Function<BEAN, TYPE> readAccessor,
+            /*Nullable*/ BiConsumer<BEAN, TYPE> writeAccessor,
+                 Supplier<Supplier<TYPE>> instantiatorSupplier,
+            /*Nullable*/ Object elementKey)
     {
         super();
         this.beanClass = beanClass;
         this.type = type;
+        this.genericType = genericType;
         this.name = name;
         this.readAccessor = readAccessor;
         this.writeAccessor = writeAccessor;
         this.instantiatorSupplier = instantiatorSupplier;
+        this.elementKey = elementKey;
+        this.hash = (31 * beanClass.hashCode() + name.hashCode()) * 31 + Objects.hashCode(elementKey);
     }
 
     @Override
@@ -46,6 +82,11 @@ public class BeanProperty<BEAN, TYPE> extends BeanPath<BEAN, TYPE>
         return type;
     }
 
+    @Override
+    public Type getGenericType() {
+        return genericType;
+    }
+
     /**
      * @return the name of bean's property
      */
@@ -93,17 +134,22 @@ public class BeanProperty<BEAN, TYPE> extends BeanPath<BEAN, TYPE>
         return instantiatorSupplier.get();
     }
 
+    /* Nullable */
+    Object getElementKey() {
+        return elementKey;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         BeanProperty<?, ?> that = (BeanProperty<?, ?>) o;
-        return beanClass.equals(that.beanClass) &&
-                name.equals(that.name);
+        return hash == that.hash && beanClass.equals(that.beanClass) &&
+                name.equals(that.name) && Objects.equals(elementKey, that.elementKey);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(beanClass, name);
+        return hash;
     }
 }
@@ -0,0 +1,1245 @@
+package com.github.throwable.beanref;
+
+import java.lang.invoke.SerializedLambda;
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+final class BeanPropertyResolver {
+    /*
+     * Caches are attached to classes, so resolved properties never pin a class loader:
+     * - lambda class -> method reference it implements, shared by all instances created at the same call site;
+     * - bean class -> canonical bean properties, shared by all call sites referencing the same getter;
+     * - bean class (or collection supplier class) -> collection properties;
+     * - bean class -> list, array and map element properties, bounded as indexes and keys are unlimited;
+     * - most specific class of a parameterized type -> properties with type variables resolved for it;
+     * - bean class -> field properties;
+     * - bean class -> generated accessor table of classes annotated with @BeanRefModel.
+     */
+    private static final ClassCache<AtomicReference<MethodReferenceDescriptor>> methodReferenceDescriptorCache =
+            new ClassCache<>(lambdaClass -> new AtomicReference<>());
+    @SuppressWarnings("rawtypes")
+    private static final ClassCache<ConcurrentHashMap<MethodReferenceDescriptor, BeanProperty>> resolvedPropertiesCache =
+            new ClassCache<>(beanClass -> new ConcurrentHashMap<>());
+    @SuppressWarnings("rawtypes")
+    private static final ClassCache<ConcurrentHashMap<CollectionPropertyKey, BeanProperty>> resolvedCollectionPropertiesCache =
+            new ClassCache<>(beanClass -> new ConcurrentHashMap<>());
+    /* Max number of element properties cached per bean class */
+    private static final int ELEMENT_CACHE_SIZE = Integer.getInteger("beanref.elementCacheSize", 1024);
+    @SuppressWarnings("rawtypes")
+    private static final ClassCache<BoundedCache<ElementPropertyKey, BeanProperty>> resolvedElementPropertiesCache =
+            new ClassCache<>(beanClass -> new BoundedCache<>(ELEMENT_CACHE_SIZE));
+    /* Max number of specialized properties cached per generic bean class */
+    private static final int SPECIALIZED_CACHE_SIZE = Integer.getInteger("beanref.specializedCacheSize", 1024);
+    @SuppressWarnings("rawtypes")
+    private static final ClassCache<BoundedCache<SpecializedPropertyKey, BeanProperty>> specializedPropertiesCache =
+            new ClassCache<>(anchorClass -> new BoundedCache<>(SPECIALIZED_CACHE_SIZE));
+    @SuppressWarnings("rawtypes")
+    private static final ClassCache<ConcurrentHashMap<String, BeanProperty>> resolvedFieldPropertiesCache =
+            new ClassCache<>(beanClass -> new ConcurrentHashMap<>());
+
+
+    @SuppressWarnings("rawtypes")
+    private static final ClassCache<Optional<BeanModel>> beanModelCache =
+            new ClassCache<>(beanClass -> Optional.ofNullable(loadBeanModel(beanClass)));
+
+    private static volatile InstantiatorFactory instantiatorFactory = InstantiatorFactory.DEFAULT;
+
+
+    private BeanPropertyResolver() {}
+
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static <BEAN, TYPE> BeanProperty<BEAN, TYPE> resolveBeanProperty(MethodReferenceLambda<BEAN, TYPE> methodReferenceLambda) {
+        final MethodReferenceDescriptor descriptor = describe(methodReferenceLambda);
+        final ConcurrentHashMap<MethodReferenceDescriptor, BeanProperty> beanProperties =
+                resolvedPropertiesCache.get(descriptor.implClass);
+        BeanProperty beanProperty = beanProperties.get(descriptor);
+        if (beanProperty == null) {
+            beanProperty = resolveBeanPropertyImpl(descriptor);
+            beanProperty = Optional.ofNullable(
+                    beanProperties.putIfAbsent(descriptor, beanProperty)
+            ).orElse(beanProperty);
+        }
+        return beanProperty;
+    }
+
+    /**
+     * Resolve a reference to the last element of a Collection or an array or to the last value of a Map
+     * @param methodReferenceLambda getter of a Collection, an array or a Map
+     * @param collectionInstantiator supplier of a new collection, ignored for arrays and maps
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static <BEAN, TYPE> BeanProperty<BEAN, TYPE> resolveCollectionBeanProperty(
+            MethodReferenceLambda<BEAN, ?> methodReferenceLambda,
+            /*Nullable*/ Supplier<? extends Collection<TYPE>> collectionInstantiator)
+    {
+        final CollectionPropertyKey key = new CollectionPropertyKey(describe(methodReferenceLambda), collectionInstantiator);
+        // a custom supplier may come from a child class loader: attach the property to it rather than to the bean
+        final ConcurrentHashMap<CollectionPropertyKey, BeanProperty> beanProperties = resolvedCollectionPropertiesCache.get(
+                collectionInstantiator != null ? collectionInstantiator.getClass() : key.descriptor.implClass);
+        BeanProperty beanProperty = beanProperties.get(key);
+        if (beanProperty == null) {
+            beanProperty = resolveCollectionBeanPropertyImpl(key.descriptor, collectionInstantiator);
+            beanProperty = Optional.ofNullable(
+                    beanProperties.putIfAbsent(key, beanProperty)
+            ).orElse(beanProperty);
+        }
+        return beanProperty;
+    }
+
+    /**
+     * Resolve a reference to an element of a List or an array by index or to a value of a Map by key
+     * @param methodReferenceLambda getter of a List, an array or a Map
+     * @param index element's index or map key
+     * @param autoGrow grow a list or an array on write if index is out of range
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static <BEAN, TYPE> BeanProperty<BEAN, TYPE> resolveElementBeanProperty(
+            MethodReferenceLambda<BEAN, ?> methodReferenceLambda, Object index, boolean autoGrow)
+    {
+        final ElementPropertyKey key = new ElementPropertyKey(describe(methodReferenceLambda), index, autoGrow);
+        final BoundedCache<ElementPropertyKey, BeanProperty> beanProperties =
+                resolvedElementPropertiesCache.get(key.descriptor.implClass);
+        final BeanProperty beanProperty = beanProperties.get(key);
+        if (beanProperty != null)
+            return beanProperty;
+        return beanProperties.putIfAbsent(key, resolveElementBeanPropertyImpl(key));
+    }
+
+    private static MethodReferenceDescriptor describe(MethodReferenceLambda<?, ?> methodReferenceLambda) {
+        final AtomicReference<MethodReferenceDescriptor> descriptorRef =
+                methodReferenceDescriptorCache.get(methodReferenceLambda.getClass());
+        MethodReferenceDescriptor descriptor = descriptorRef.get();
+        if (descriptor == null) {
+            final SerializedLambda serialized = serialized(methodReferenceLambda);
+            if (serialized.getImplMethodName().startsWith("lambda$"))
+                throw new IllegalArgumentException("Not a method reference");
+            descriptor = new MethodReferenceDescriptor(
+                    getContainingClass(serialized, methodReferenceLambda.getClass().getClassLoader()),
+                    serialized.getImplMethodName(), serialized.getImplMethodSignature());
+            descriptorRef.compareAndSet(null, descriptor);
+        }
+        return descriptor;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <BEAN, TYPE> BeanProperty<BEAN, TYPE> resolveBeanPropertyImpl(MethodReferenceDescriptor descriptor)
+    {
+        final Class<BEAN> beanClass = (Class<BEAN>) descriptor.implClass;
+        final BeanModel<BEAN> beanModel = findBeanModel(beanClass);
+        if (beanModel != null) {
+            final BeanProperty<BEAN, ?> beanProperty = beanModel.getPropertyByGetter(descriptor.implMethodName);
+            if (beanProperty != null)
+                return (BeanProperty<BEAN, TYPE>) beanProperty;
+        }
+        final Method getterMethod = findGetterMethod(beanClass, descriptor.implMethodName);
+        final Class<TYPE> type = (Class<TYPE>) getterMethod.getReturnType();
+        final String propertyName = resolvePropertyName(getterMethod.getName());
+        final Method setterMethod = findSetterMethod(beanClass, propertyName, type, getterMethod.getName());
+        // do not hold caller's lambda: it may belong to another class loader
+        return createBeanProperty(beanClass, type, propertyName, getterMethod, setterMethod);
+    }
+
+    /**
+     * Resolve a property that reads and writes an instance field directly, bypassing getter and setter.
+     * The field may have any visibility and may be declared in a superclass. Final fields are read-only.
+     * @return field property or null if the bean has no such field
+     */
+    @SuppressWarnings("unchecked")
+    static /* Nullable */ <BEAN> BeanProperty<BEAN, ?> resolveFieldBeanProperty(Class<BEAN> beanClass, String fieldName) {
+        return resolvedFieldPropertiesCache.get(beanClass)
+                .computeIfAbsent(fieldName, name -> resolveFieldBeanPropertyImpl(beanClass, name));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static /* Nullable */ <BEAN, TYPE> BeanProperty<BEAN, TYPE> resolveFieldBeanPropertyImpl(
+            Class<BEAN> beanClass, String fieldName)
+    {
+        final Field field = findField(beanClass, fieldName);
+        if (field == null)
+            return null;
+        final boolean readOnly = Modifier.isFinal(field.getModifiers());
+        final Function<BEAN, TYPE> readAccessor = AccessorFactory.createFieldReadAccessor(field);
+        final BiConsumer<BEAN, TYPE> writeAccessor = readOnly ? null : AccessorFactory.createFieldWriteAccessor(field);
+        if (field.getType() == int.class) {
+            return (BeanProperty<BEAN, TYPE>) new IntBeanProperty<>(beanClass, int.class, fieldName,
+                    (Function<BEAN, Integer>) readAccessor, (BiConsumer<BEAN, Integer>) writeAccessor,
+                    new InstantiatorResolver<>(int.class), AccessorFactory.createIntFieldReadAccessor(field),
+                    readOnly ? null : AccessorFactory.createIntFieldWriteAccessor(field));
+        } else if (field.getType() == long.class) {
+            return (BeanProperty<BEAN, TYPE>) new LongBeanProperty<>(beanClass, long.class, fieldName,
+                    (Function<BEAN, Long>) readAccessor, (BiConsumer<BEAN, Long>) writeAccessor,
+                    new InstantiatorResolver<>(long.class), AccessorFactory.createLongFieldReadAccessor(field),
+                    readOnly ? null : AccessorFactory.createLongFieldWriteAccessor(field));
+        } else if (field.getType() == double.class) {
+            return (BeanProperty<BEAN, TYPE>) new DoubleBeanProperty<>(beanClass, double.class, fieldName,
+                    (Function<BEAN, Double>) readAccessor, (BiConsumer<BEAN, Double>) writeAccessor,
+                    new InstantiatorResolver<>(double.class), AccessorFactory.createDoubleFieldReadAccessor(field),
+                    readOnly ? null : AccessorFactory.createDoubleFieldWriteAccessor(field));
+        } else if (field.getType() == boolean.class) {
+            return (BeanProperty<BEAN, TYPE>) new BooleanBeanProperty<>(beanClass, boolean.class, fieldName,
+                    (Function<BEAN, Boolean>) readAccessor, (BiConsumer<BEAN, Boolean>) writeAccessor,
+                    new InstantiatorResolver<>(boolean.class), AccessorFactory.createBooleanFieldReadAccessor(field),
+                    readOnly ? null : AccessorFactory.createBooleanFieldWriteAccessor(field));
+        }
+        // a subclass may bind type variables of the class that declares the field
+        final Type genericType = GenericTypes.resolve(field.getGenericType(), beanClass);
+        final Class<TYPE> type = (Class<TYPE>) GenericTypes.rawClass(genericType);
+        return new BeanProperty<>(beanClass, type, genericType, fieldName, readAccessor, writeAccessor,
+                new InstantiatorResolver<>(type));
+    }
+
+    /**
+     * @return instance field declared in the class or its superclasses, the most specific one if hidden
+     */
+    static /* Nullable */ Field findField(Class<?> beanClass, String fieldName) {
+        for (Class<?> c = beanClass; c != null && c != Object.class; c = c.getSuperclass()) {
+            try {
+                final Field field = c.getDeclaredField(fieldName);
+                if (!Modifier.isStatic(field.getModifiers()))
+                    return field;
+            } catch (NoSuchFieldException e) {
+                // look in the superclass
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Resolve type variables of the property's type against the actual type of its bean
+     * @param beanProperty property of a generic bean
+     * @param beanType actual type of the bean: a parameterized type or a subclass that binds type variables
+     * @return property with the resolved type or the property itself if its type does not depend on the bean's type
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static <BEAN, TYPE> BeanProperty<BEAN, TYPE> specialize(BeanProperty<BEAN, TYPE> beanProperty, Type beanType) {
+        if (beanType == beanProperty.getBeanClass() || !GenericTypes.isGeneric(beanProperty.getGenericType()))
+            return beanProperty;
+        final SpecializedPropertyKey key = new SpecializedPropertyKey(beanProperty, beanType);
+        final BoundedCache<SpecializedPropertyKey, BeanProperty> beanProperties =
+                specializedPropertiesCache.get(GenericTypes.anchorClass(beanType));
+        final BeanProperty specializedProperty = beanProperties.get(key);
+        if (specializedProperty != null)
+            return specializedProperty;
+        return beanProperties.putIfAbsent(key, specializeImpl(beanProperty, beanType));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <BEAN, TYPE> BeanProperty<BEAN, TYPE> specializeImpl(BeanProperty<BEAN, TYPE> beanProperty,
+                                                                        Type beanType)
+    {
+        final Type genericType = GenericTypes.resolve(beanProperty.getGenericType(), beanType);
+        if (genericType.equals(beanProperty.getGenericType()))
+            return beanProperty;
+        // same accessors, only the type differs
+        final Class<TYPE> type = (Class<TYPE>) GenericTypes.rawClass(genericType);
+        return new BeanProperty<>(beanProperty.getBeanClass(), type, genericType, beanProperty.getName(),
+                beanProperty.getReadAccessor(), beanProperty.getWriteAccessor(), new InstantiatorResolver<>(type),
+                beanProperty.getElementKey());
+    }
+
+    /**
+     * @return accessor table generated at compile time or null if the class is not annotated with
+     * {@link BeanRefModel} or the annotation processor did not run
+     */
+    @SuppressWarnings("unchecked")
+    static /* Nullable */ <BEAN> BeanModel<BEAN> findBeanModel(Class<BEAN> beanClass) {
+        return beanModelCache.get(beanClass).orElse(null);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static /* Nullable */ BeanModel loadBeanModel(Class<?> beanClass) {
+        if (!beanClass.isAnnotationPresent(BeanRefModel.class))
+            return null;
+        final String modelClassName = (beanClass.getPackage() != null ? beanClass.getPackage().getName() + "." : "")
+                + beanClass.getName().substring(beanClass.getName().lastIndexOf('.') + 1).replace('$', '_')
+                + BeanModel.MODEL_CLASS_SUFFIX;
+        try {
+            final Class<?> modelClass = Class.forName(modelClassName, true, beanClass.getClassLoader());
+            final BeanModel beanModel = (BeanModel) modelClass.getConstructor().newInstance();
+            return beanModel.getBeanClass() == beanClass ? beanModel : null;
+        } catch (ReflectiveOperationException | LinkageError | ClassCastException e) {
+            // not generated: resolve reflectively
+            return null;
+        }
+    }
+
+    /**
+     * Create a property with generated accessors. Properties of int, long, double and boolean types
+     * are specialized to be accessed without boxing.
+     */
+    @SuppressWarnings("unchecked")
+    static <BEAN, TYPE> BeanProperty<BEAN, TYPE> createBeanProperty(Class<BEAN> beanClass, Class<TYPE> type,
+                                                                     String propertyName, Method getterMethod,
+                                                                     /* Nullable */ Method setterMethod)
+    {
+        final Function<BEAN, TYPE> readAccessor = AccessorFactory.createReadAccessor(getterMethod);
+        final BiConsumer<BEAN, TYPE> writeAccessor = setterMethod != null ?
+                AccessorFactory.createWriteAccessor(setterMethod) : null;
+        if (type == int.class) {
+            return (BeanProperty<BEAN, TYPE>) new IntBeanProperty<>(beanClass, (Class<Integer>) type, propertyName,
+                    (Function<BEAN, Integer>) readAccessor, (BiConsumer<BEAN, Integer>) writeAccessor,
+                    new InstantiatorResolver<>((Class<Integer>) type),
+                    AccessorFactory.createIntReadAccessor(getterMethod, (Function<BEAN, Integer>) readAccessor),
+                    setterMethod != null ? AccessorFactory.createIntWriteAccessor(setterMethod,
+                            (BiConsumer<BEAN, Integer>) writeAccessor) : null);
+        } else if (type == long.class) {
+            return (BeanProperty<BEAN, TYPE>) new LongBeanProperty<>(beanClass, (Class<Long>) type, propertyName,
+                    (Function<BEAN, Long>) readAccessor, (BiConsumer<BEAN, Long>) writeAccessor,
+                    new InstantiatorResolver<>((Class<Long>) type),
+                    AccessorFactory.createLongReadAccessor(getterMethod, (Function<BEAN, Long>) readAccessor),
+                    setterMethod != null ? AccessorFactory.createLongWriteAccessor(setterMethod,
+                            (BiConsumer<BEAN, Long>) writeAccessor) : null);
+        } else if (type == double.class) {
+            return (BeanProperty<BEAN, TYPE>) new DoubleBeanProperty<>(beanClass, (Class<Double>) type, propertyName,
+                    (Function<BEAN, Double>) readAccessor, (BiConsumer<BEAN, Double>) writeAccessor,
+                    new InstantiatorResolver<>((Class<Double>) type),
+                    AccessorFactory.createDoubleReadAccessor(getterMethod, (Function<BEAN, Double>) readAccessor),
+                    setterMethod != null ? AccessorFactory.createDoubleWriteAccessor(setterMethod,
+                            (BiConsumer<BEAN, Double>) writeAccessor) : null);
+        } else if (type == boolean.class) {
+            return (BeanProperty<BEAN, TYPE>) new BooleanBeanProperty<>(beanClass, (Class<Boolean>) type, propertyName,
+                    (Function<BEAN, Boolean>) readAccessor, (BiConsumer<BEAN, Boolean>) writeAccessor,
+                    new InstantiatorResolver<>((Class<Boolean>) type),
+                    AccessorFactory.createBooleanReadAccessor(getterMethod, (Function<BEAN, Boolean>) readAccessor),
+                    setterMethod != null ? AccessorFactory.createBooleanWriteAccessor(setterMethod,
+                            (BiConsumer<BEAN, Boolean>) writeAccessor) : null);
+        }
+        // a subclass may bind type variables of the class that declares the getter
+        final Type genericType = GenericTypes.resolve(getterMethod.getGenericReturnType(), beanClass);
+        final Class<TYPE> resolvedType = (Class<TYPE>) GenericTypes.rawClass(genericType);
+        return new BeanProperty<>(beanClass, resolvedType, genericType, propertyName, readAccessor, writeAccessor,
+                new InstantiatorResolver<>(resolvedType));
+    }
+
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <BEAN, TYPE> BeanProperty<BEAN, TYPE> resolveCollectionBeanPropertyImpl(
+            MethodReferenceDescriptor descriptor,
+            /*Nullable*/ Supplier<? extends Collection<TYPE>> collectionInstantiator)
+    {
+        final Class<BEAN> beanClass = (Class<BEAN>) descriptor.implClass;
+        final Method getterMethod = findGetterMethod(beanClass, descriptor.implMethodName);
+        final Class<Object> containerType = (Class<Object>) getterMethod.getReturnType();
+        final String propertyName = resolvePropertyName(getterMethod.getName());
+        final Method setterMethod = findSetterMethod(beanClass, propertyName, containerType, getterMethod.getName());
+        final Function<BEAN, Object> readAccessor = AccessorFactory.createReadAccessor(getterMethod);
+        final BiConsumer<BEAN, Object> writeAccessor = setterMethod != null ?
+                AccessorFactory.createWriteAccessor(setterMethod) : null;
+
+        if (containerType.isArray()) {
+            if (containerType.getComponentType().isPrimitive())
+                throw new IllegalBeanPathException("Property " + beanClass.getName() + "." + propertyName
+                        + " is an array of primitives, its elements can be referenced by index only");
+            final Type elementGenericType = GenericTypes.resolve(
+                    GenericTypes.componentType(getterMethod.getGenericReturnType()), beanClass);
+            final Class<TYPE> elementType = (Class<TYPE>) GenericTypes.rawClass(elementGenericType);
+            return new BeanProperty<>(beanClass, elementType, elementGenericType, propertyName,
+                    new ArrayElementReadAccessor<>((Function) readAccessor),
+                    writeAccessor != null ? new ArrayElementWriteAccessor<>((Function) readAccessor,
+                            (BiConsumer) writeAccessor, containerType.getComponentType()) : null,
+                    new InstantiatorResolver<>(elementType), BeanProperty.ALL_ELEMENTS);
+        } else if (Map.class.isAssignableFrom(containerType)) {
+            // values have no keys to be written by, so map values are read-only
+            final Type valueGenericType = GenericTypes.resolve(
+                    GenericTypes.typeArgument(getterMethod.getGenericReturnType(), 1), beanClass);
+            final Class<TYPE> valueType = (Class<TYPE>) GenericTypes.rawClass(valueGenericType);
+            return new BeanProperty<>(beanClass, valueType, valueGenericType, propertyName,
+                    new MapValuesReadAccessor<>((Function) readAccessor), null,
+                    new InstantiatorResolver<>(valueType), BeanProperty.ALL_ELEMENTS);
+        } else if (!Collection.class.isAssignableFrom(containerType))
+            throw new IllegalBeanPathException("Property " + beanClass.getName() + "." + propertyName
+                    + " is neither a Collection, an array nor a Map");
+
+        final Type elementGenericType = GenericTypes.resolve(
+                GenericTypes.typeArgument(getterMethod.getGenericReturnType(), 0), beanClass);
+        final Class<TYPE> elementType = (Class<TYPE>) GenericTypes.rawClass(elementGenericType);
+        final CollectionElementReadAccessor<BEAN, TYPE> beantypeCollectionElementReadAccessor =
+                new CollectionElementReadAccessor<>((Function) readAccessor);
+        final Supplier<Supplier<Collection<TYPE>>> collectionInstantiatorResolver;
+        if (collectionInstantiator == null && writeAccessor != null)
+            collectionInstantiatorResolver = defaultCollectionInstantiatorResolver((Class) containerType);
+        else
+            collectionInstantiatorResolver = () -> (Supplier<Collection<TYPE>>) collectionInstantiator;
+        final CollectionElementWriteAccessor<BEAN, TYPE> beantypeCollectionElementWriteAccessor =
+                new CollectionElementWriteAccessor<>((Function) readAccessor, (BiConsumer) writeAccessor,
+                        collectionInstantiatorResolver);
+        return new BeanProperty<>(beanClass, elementType, elementGenericType, propertyName,
+                beantypeCollectionElementReadAccessor, beantypeCollectionElementWriteAccessor,
+                new InstantiatorResolver<>(elementType), BeanProperty.ALL_ELEMENTS);
+    }
+
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <BEAN, TYPE> BeanProperty<BEAN, TYPE> resolveElementBeanPropertyImpl(
+            ElementPropertyKey key)
+    {
+        final MethodReferenceDescriptor descriptor = key.descriptor;
+        final Object index = key.index;
+        final boolean autoGrow = key.autoGrow;
+        final Class<BEAN> beanClass = (Class<BEAN>) descriptor.implClass;
+        final Method getterMethod = findGetterMethod(beanClass, descriptor.implMethodName);
+        final Class<Object> containerType = (Class<Object>) getterMethod.getReturnType();
+        final String propertyName = resolvePropertyName(getterMethod.getName());
+        final Method setterMethod = findSetterMethod(beanClass, propertyName, containerType, getterMethod.getName());
+        final Function<BEAN, Object> readAccessor = AccessorFactory.createReadAccessor(getterMethod);
+        final BiConsumer<BEAN, Object> writeAccessor = setterMethod != null ?
+                AccessorFactory.createWriteAccessor(setterMethod) : null;
+        final String elementName = propertyName + "[" + index + "]";
+
+        if (containerType.isArray() || List.class.isAssignableFrom(containerType)) {
+            if (!(index instanceof Integer) || (Integer) index < 0)
+                throw new IllegalArgumentException("Illegal index " + index + " of " + beanClass.getName() + "." + propertyName);
+        }
+        if (containerType.equals(int[].class)) {
+            final IntArrayIndexAccessor<BEAN> accessor = new IntArrayIndexAccessor<>((Function) readAccessor, (Integer) index);
+            return (BeanProperty) new IntBeanProperty<>(beanClass, int.class, elementName, accessor, accessor,
+                    new InstantiatorResolver<>(int.class), accessor, accessor, key);
+        } else if (containerType.equals(long[].class)) {
+            final LongArrayIndexAccessor<BEAN> accessor = new LongArrayIndexAccessor<>((Function) readAccessor, (Integer) index);
+            return (BeanProperty) new LongBeanProperty<>(beanClass, long.class, elementName, accessor, accessor,
+                    new InstantiatorResolver<>(long.class), accessor, accessor, key);
+        } else if (containerType.equals(double[].class)) {
+            final DoubleArrayIndexAccessor<BEAN> accessor = new DoubleArrayIndexAccessor<>((Function) readAccessor, (Integer) index);
+            return (BeanProperty) new DoubleBeanProperty<>(beanClass, double.class, elementName, accessor, accessor,
+                    new InstantiatorResolver<>(double.class), accessor, accessor, key);
+        } else if (containerType.isArray()) {
+            if (containerType.getComponentType().isPrimitive())
+                throw new IllegalBeanPathException("Arrays of " + containerType.getComponentType().getName()
+                        + " are not supported: " + beanClass.getName() + "." + propertyName);
+            final Type elementGenericType = GenericTypes.resolve(
+                    GenericTypes.componentType(getterMethod.getGenericReturnType()), beanClass);
+            final Class<TYPE> elementType = (Class<TYPE>) GenericTypes.rawClass(elementGenericType);
+            return new BeanProperty<>(beanClass, elementType, elementGenericType, elementName,
+                    new ArrayIndexReadAccessor<>((Function) readAccessor, (Integer) index),
+                    new ArrayIndexWriteAccessor<>((Function) readAccessor, (BiConsumer) writeAccessor,
+                            containerType.getComponentType(), (Integer) index, autoGrow),
+                    new InstantiatorResolver<>(elementType), key);
+        } else if (List.class.isAssignableFrom(containerType)) {
+            final Type elementGenericType = GenericTypes.resolve(
+                    GenericTypes.typeArgument(getterMethod.getGenericReturnType(), 0), beanClass);
+            final Class<TYPE> elementType = (Class<TYPE>) GenericTypes.rawClass(elementGenericType);
+            final Supplier<Supplier<List<TYPE>>> listInstantiatorResolver = writeAccessor != null ?
+                    defaultCollectionInstantiatorResolver((Class) containerType) : () -> null;
+            return new BeanProperty<>(beanClass, elementType, elementGenericType, elementName,
+                    new ListIndexReadAccessor<>((Function) readAccessor, (Integer) index),
+                    new ListIndexWriteAccessor<>((Function) readAccessor, (BiConsumer) writeAccessor,
+                            listInstantiatorResolver, (Integer) index, autoGrow),
+                    new InstantiatorResolver<>(elementType), key);
+        } else if (Map.class.isAssignableFrom(containerType)) {
+            final Type valueGenericType = GenericTypes.resolve(
+                    GenericTypes.typeArgument(getterMethod.getGenericReturnType(), 1), beanClass);
+            final Class<TYPE> valueType = (Class<TYPE>) GenericTypes.rawClass(valueGenericType);
+            final Supplier<Supplier<Map<Object, TYPE>>> mapInstantiatorResolver = writeAccessor != null ?
+                    defaultMapInstantiatorResolver((Class) containerType) : () -> null;
+            return new BeanProperty<>(beanClass, valueType, valueGenericType, elementName,
+                    new MapKeyReadAccessor<>((Function) readAccessor, index),
+                    new MapKeyWriteAccessor<>((Function) readAccessor, (BiConsumer) writeAccessor,
+                            mapInstantiatorResolver, index),
+                    new InstantiatorResolver<>(valueType), key);
+        } else
+            throw new IllegalBeanPathException("Property " + beanClass.getName() + "." + propertyName
+                    + " is neither a List, an array nor a Map");
+    }
+
+    private static <BEAN> Method findGetterMethod(Class<BEAN> beanClass, String getterMethodName) {
+        final Method getterMethod;
+        try {
+            getterMethod = beanClass.getMethod(getterMethodName);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalBeanPathException(e);
+        }
+
+        if (getterMethod.getParameterCount() > 0)
+            throw new IllegalBeanPathException("Illegal getter method: " + getterMethodName);
+        if (Void.TYPE.equals(getterMethod.getReturnType()))
+            throw new IllegalBeanPathException("Illegal getter method return type: " + getterMethodName +
+                    "(" + getterMethod.getReturnType() + ")");
+        return getterMethod;
+    }
+
+
+    static String resolvePropertyName(String getterMethodName)
+    {
+        final String propertyName;
+
+        if (getterMethodName.startsWith("get") && getterMethodName.length() > 3 &&
+                Character.isUpperCase(getterMethodName.charAt(3)))
+        {
+            propertyName = Character.toLowerCase(getterMethodName.charAt(3)) + getterMethodName.substring(4);
+        }
+        else if (getterMethodName.startsWith("is") && getterMethodName.length() > 2 &&
+                Character.isUpperCase(getterMethodName.charAt(2)))
+        {
+            propertyName = Character.toLowerCase(getterMethodName.charAt(2)) + getterMethodName.substring(3);
+        }
+        else {
+            // non-canonical name: use method name as-is
+            propertyName = getterMethodName;
+        }
+        return propertyName;
+    }
+
+
+    static <BEAN, TYPE> /* Nullable */ Method findSetterMethod(Class<BEAN> beanClass, String propertyName, Class<TYPE> type, String getterMethodName) {
+        if (!getterMethodName.equals(propertyName)) {
+            // canonical getXXX(): search for setXXX()
+            final String setterMethodName = "set" + Character.toUpperCase(propertyName.charAt(0)) + propertyName.substring(1);
+            try {
+                return beanClass.getMethod(setterMethodName, type);
+            } catch (NoSuchMethodException e) {
+                // Read-only
+                return null;
+            }
+        } else {
+            // non-canonical xxx(): search for xxx(value)
+            try {
+                return beanClass.getMethod(propertyName, type);
+            } catch (NoSuchMethodException e) {
+                // Read-only
+                return null;
+            }
+        }
+    }
+
+
+    private static SerializedLambda serialized(Object lambda) {
+        try {
+            Method writeMethod = lambda.getClass().getDeclaredMethod("writeReplace");
+            writeMethod.setAccessible(true);
+            return (SerializedLambda) writeMethod.invoke(lambda);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+
+    private static Class<?> getContainingClass(SerializedLambda lambda, /*Nullable*/ ClassLoader classLoader) {
+        try {
+            String className = lambda.getImplClass().replaceAll("/", ".");
+            //System.out.println(lambda.getInstantiatedMethodType());
+            // implementation class is always visible from the lambda's defining class loader
+            return Class.forName(className, true,
+                    classLoader != null ? classLoader : Thread.currentThread().getContextClassLoader());
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+
+    public static class SetterWriteAccessor<BEAN, TYPE> implements BiConsumer<BEAN, TYPE> {
+        private final Method setterMethod;
+
+        public SetterWriteAccessor(Method setterMethod) {
+            this.setterMethod = setterMethod;
+        }
+
+        @Override
+        public void accept(BEAN bean, TYPE value) {
+            try {
+                setterMethod.invoke(bean, value);
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException(e);
+            } catch (InvocationTargetException e) {
+                if (e.getTargetException() instanceof RuntimeException)
+                    // unchecked: throw as is
+                    throw (RuntimeException) e.getTargetException();
+                else
+                    // checked: wrap into runtime
+                    throw new RuntimeException(e.getTargetException());
+            }
+        }
+    }
+
+
+    public static class InstantiatorResolver<TYPE> implements Supplier<Supplier<TYPE>> {
+        private final Class<TYPE> type;
+        /* Nullable */
+        private volatile ResolvedInstantiator<TYPE> resolvedInstantiator;
+
+        public InstantiatorResolver(Class<TYPE> type) {
+            this.type = type;
+        }
+
+        @Override
+        public Supplier<TYPE> get() {
+            final InstantiatorFactory factory = instantiatorFactory;
+            ResolvedInstantiator<TYPE> resolved = resolvedInstantiator;
+            if (resolved == null || resolved.factory != factory) {
+                final Supplier<TYPE> instantiator = resolveInstantiator(factory, type);
+                resolved = new ResolvedInstantiator<>(factory,
+                        instantiator != null ? new ContextInstantiator<>(type, instantiator) : null);
+                resolvedInstantiator = resolved;
+            }
+            return resolved.instantiator;
+        }
+
+        private static /* Nullable */ <TYPE> Supplier<TYPE> resolveInstantiator(InstantiatorFactory factory,
+                                                                               Class<TYPE> type)
+        {
+            final Supplier<TYPE> instantiator = factory.createInstantiator(type);
+            if (instantiator != null || factory == InstantiatorFactory.DEFAULT)
+                return instantiator;
+            return InstantiatorFactory.DEFAULT.createInstantiator(type);
+        }
+    }
+
+
+    /**
+     * Takes instances from the allocation context bound to the current thread, if any
+     */
+    private static final class ContextInstantiator<TYPE> implements Supplier<TYPE> {
+        private final Class<TYPE> type;
+        private final Supplier<TYPE> instantiator;
+
+        private ContextInstantiator(Class<TYPE> type, Supplier<TYPE> instantiator) {
+            this.type = type;
+            this.instantiator = instantiator;
+        }
+
+        @Override
+        public TYPE get() {
+            final BeanAllocationContext context = BeanAllocationContext.current();
+            return context != null ? context.allocate(type, instantiator) : instantiator.get();
+        }
+    }
+
+
+    private static final class ResolvedInstantiator<TYPE> {
+        private final InstantiatorFactory factory;
+        /* Nullable */
+        private final Supplier<TYPE> instantiator;
+
+        private ResolvedInstantiator(InstantiatorFactory factory, /* Nullable */ Supplier<TYPE> instantiator) {
+            this.factory = factory;
+            this.instantiator = instantiator;
+        }
+    }
+
+
+    static void setInstantiatorFactory(InstantiatorFactory factory) {
+        instantiatorFactory = factory;
+    }
+
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <TYPE> Supplier<Supplier<Collection<TYPE>>> defaultCollectionInstantiatorResolver(Class<Collection<TYPE>> collectionType) {
+        if ((collectionType.getModifiers() & Modifier.ABSTRACT) != 0) {
+            // default implementations are instantiated by the factory as well, so it may pool them
+            if (collectionType.isAssignableFrom(List.class))
+                return new InstantiatorResolver(ArrayList.class);
+            else if (collectionType.isAssignableFrom(Set.class))
+                return new InstantiatorResolver(LinkedHashSet.class);
+            else return null;
+        } else {
+            // instantiatable
+            return new InstantiatorResolver<>(collectionType);
+        }
+    }
+
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <TYPE> Supplier<Supplier<Map<Object, TYPE>>> defaultMapInstantiatorResolver(Class<Map<Object, TYPE>> mapType) {
+        if ((mapType.getModifiers() & Modifier.ABSTRACT) != 0) {
+            if (mapType.isAssignableFrom(LinkedHashMap.class))
+                return new InstantiatorResolver(LinkedHashMap.class);
+            else if (mapType.isAssignableFrom(TreeMap.class))
+                return new InstantiatorResolver(TreeMap.class);
+            else return () -> null;
+        } else {
+            // instantiatable
+            return new InstantiatorResolver<>(mapType);
+        }
+    }
+
+
+    /**
+     * Get container from the bean or create a new one and set it into the bean
+     * @return container or null if it does not exist and create is false
+     */
+    private static <BEAN, C> C getOrCreateContainer(BEAN bean, Function<BEAN, C> readAccessor,
+                                                    /*Nullable*/ BiConsumer<BEAN, C> writeAccessor,
+                                                    Supplier<Supplier<C>> instantiatorResolver)
+    {
+        C container = readAccessor.apply(bean);
+        if (container == null) {
+            if (writeAccessor == null)
+                throw new IncompletePathException(new ReadOnlyPropertyException("Container property is read-only"));
+            final Supplier<C> instantiator = instantiatorResolver.get();
+            if (instantiator == null)
+                throw new IncompletePathException("Cannot instantiate new container due to unknown type");
+            container = instantiator.get();
+            try {
+                writeAccessor.accept(bean, container);
+            } catch (Exception e) {
+                throw new IncompletePathException(e);
+            }
+        }
+        return container;
+    }
+
+
+    public static class ListIndexReadAccessor<BEAN, TYPE> implements Function<BEAN, TYPE> {
+        private final Function<BEAN, List<TYPE>> beanPropertyReadAccessor;
+        private final int index;
+
+        public ListIndexReadAccessor(Function<BEAN, List<TYPE>> beanPropertyReadAccessor, int index) {
+            this.beanPropertyReadAccessor = beanPropertyReadAccessor;
+            this.index = index;
+        }
+
+        @Override
+        public TYPE apply(BEAN bean) {
+            final List<TYPE> list = beanPropertyReadAccessor.apply(bean);
+            return list != null && index < list.size() ? list.get(index) : null;
+        }
+    }
+
+
+    public static class ListIndexWriteAccessor<BEAN, TYPE> implements BiConsumer<BEAN, TYPE> {
+        private final Function<BEAN, List<TYPE>> beanPropertyReadAccessor;
+        /* Nullable */
+        private final BiConsumer<BEAN, List<TYPE>> beanPropertyWriteAccessor;
+        private final Supplier<Supplier<List<TYPE>>> listInstantiatorResolver;
+        private final int index;
+        private final boolean autoGrow;
+
+        public ListIndexWriteAccessor(Function<BEAN, List<TYPE>> beanPropertyReadAccessor,
+                                        /*Nullable*/ BiConsumer<BEAN, List<TYPE>> beanPropertyWriteAccessor,
+                                        Supplier<Supplier<List<TYPE>>> listInstantiatorResolver,
+                                        int index, boolean autoGrow)
+        {
+            this.beanPropertyReadAccessor = beanPropertyReadAccessor;
+            this.beanPropertyWriteAccessor = beanPropertyWriteAccessor;
+            this.listInstantiatorResolver = listInstantiatorResolver;
+            this.index = index;
+            this.autoGrow = autoGrow;
+        }
+
+        @Override
+        public void accept(BEAN bean, TYPE value) {
+            final List<TYPE> list = autoGrow ?
+                    getOrCreateContainer(bean, beanPropertyReadAccessor, beanPropertyWriteAccessor, listInstantiatorResolver) :
+                    beanPropertyReadAccessor.apply(bean);
+            if (list != null && index < list.size()) {
+                list.set(index, value);
+            } else if (autoGrow) {
+                while (list.size() < index)
+                    list.add(null);
+                list.add(value);
+            } else
+                throw new IncompletePathException("Index " + index + " is out of range of list of size "
+                        + (list != null ? list.size() : 0));
+        }
+    }
+
+
+    public static class ArrayIndexReadAccessor<BEAN, TYPE> implements Function<BEAN, TYPE> {
+        private final Function<BEAN, TYPE[]> beanPropertyReadAccessor;
+        private final int index;
+
+        public ArrayIndexReadAccessor(Function<BEAN, TYPE[]> beanPropertyReadAccessor, int index) {
+            this.beanPropertyReadAccessor = beanPropertyReadAccessor;
+            this.index = index;
+        }
+
+        @Override
+        public TYPE apply(BEAN bean) {
+            final TYPE[] array = beanPropertyReadAccessor.apply(bean);
+            return array != null && index < array.length ? array[index] : null;
+        }
+    }
+
+
+    public static class ArrayIndexWriteAccessor<BEAN, TYPE> implements BiConsumer<BEAN, TYPE> {
+        private final Function<BEAN, TYPE[]> beanPropertyReadAccessor;
+        /* Nullable */
+        private final BiConsumer<BEAN, TYPE[]> beanPropertyWriteAccessor;
+        private final Class<TYPE> elementType;
+        private final int index;
+        private final boolean autoGrow;
+
+        public ArrayIndexWriteAccessor(Function<BEAN, TYPE[]> beanPropertyReadAccessor,
+                                         /*Nullable*/ BiConsumer<BEAN, TYPE[]> beanPropertyWriteAccessor,
+                                         Class<TYPE> elementType, int index, boolean autoGrow)
+        {
+            this.beanPropertyReadAccessor = beanPropertyReadAccessor;
+            this.beanPropertyWriteAccessor = beanPropertyWriteAccessor;
+            this.elementType = elementType;
+            this.index = index;
+            this.autoGrow = autoGrow;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void accept(BEAN bean, TYPE value) {
+            TYPE[] array = beanPropertyReadAccessor.apply(bean);
+            if (array == null || index >= array.length) {
+                if (!autoGrow)
+                    throw new IncompletePathException("Index " + index + " is out of range of array of length "
+                            + (array != null ? array.length : 0));
+                if (beanPropertyWriteAccessor == null)
+                    throw new IncompletePathException(new ReadOnlyPropertyException("Array property is read-only"));
+                // arrays can not grow in place: replace with a longer copy
+                final TYPE[] newArray = (TYPE[]) Array.newInstance(elementType, index + 1);
+                if (array != null)
+                    System.arraycopy(array, 0, newArray, 0, array.length);
+                array = newArray;
+                array[index] = value;
+                beanPropertyWriteAccessor.accept(bean, array);
+            } else
+                array[index] = value;
+        }
+    }
+
+
+    public static class MapKeyReadAccessor<BEAN, K, TYPE> implements Function<BEAN, TYPE> {
+        private final Function<BEAN, Map<K, TYPE>> beanPropertyReadAccessor;
+        private final K key;
+
+        public MapKeyReadAccessor(Function<BEAN, Map<K, TYPE>> beanPropertyReadAccessor, K key) {
+            this.beanPropertyReadAccessor = beanPropertyReadAccessor;
+            this.key = key;
+        }
+
+        @Override
+        public TYPE apply(BEAN bean) {
+            final Map<K, TYPE> map = beanPropertyReadAccessor.apply(bean);
+            return map != null ? map.get(key) : null;
+        }
+    }
+
+
+    public static class MapKeyWriteAccessor<BEAN, K, TYPE> implements BiConsumer<BEAN, TYPE> {
+        private final Function<BEAN, Map<K, TYPE>> beanPropertyReadAccessor;
+        /* Nullable */
+        private final BiConsumer<BEAN, Map<K, TYPE>> beanPropertyWriteAccessor;
+        private final Supplier<Supplier<Map<K, TYPE>>> mapInstantiatorResolver;
+        private final K key;
+
+        public MapKeyWriteAccessor(Function<BEAN, Map<K, TYPE>> beanPropertyReadAccessor,
+                                     /*Nullable*/ BiConsumer<BEAN, Map<K, TYPE>> beanPropertyWriteAccessor,
+                                     Supplier<Supplier<Map<K, TYPE>>> mapInstantiatorResolver, K key)
+        {
+            this.beanPropertyReadAccessor = beanPropertyReadAccessor;
+            this.beanPropertyWriteAccessor = beanPropertyWriteAccessor;
+            this.mapInstantiatorResolver = mapInstantiatorResolver;
+            this.key = key;
+        }
+
+        @Override
+        public void accept(BEAN bean, TYPE value) {
+            final Map<K, TYPE> map =
+                    getOrCreateContainer(bean, beanPropertyReadAccessor, beanPropertyWriteAccessor, mapInstantiatorResolver);
+            if (value == null)
+                map.remove(key);
+            else
+                map.put(key, value);
+        }
+    }
+
+
+    /**
+     * Element of a primitive array read and written without boxing. Reading an index out of range returns null
+     * or the given default value when read as primitive, writing it throws {@link IncompletePathException}.
+     */
+    static final class IntArrayIndexAccessor<BEAN>
+            implements Function<BEAN, Integer>, ToIntFunction<BEAN>, BiConsumer<BEAN, Integer>, ObjIntConsumer<BEAN>
+    {
+        private final Function<BEAN, int[]> beanPropertyReadAccessor;
+        private final int index;
+
+        IntArrayIndexAccessor(Function<BEAN, int[]> beanPropertyReadAccessor, int index) {
+            this.beanPropertyReadAccessor = beanPropertyReadAccessor;
+            this.index = index;
+        }
+
+        @Override
+        public Integer apply(BEAN bean) {
+            final int[] array = beanPropertyReadAccessor.apply(bean);
+            return array != null && index < array.length ? array[index] : null;
+        }
+
+        @Override
+        public int applyAsInt(BEAN bean) {
+            return applyAsInt(bean, 0);
+        }
+
+        int applyAsInt(BEAN bean, int defaultValue) {
+            final int[] array = beanPropertyReadAccessor.apply(bean);
+            return array != null && index < array.length ? array[index] : defaultValue;
+        }
+
+        @Override
+        public void accept(BEAN bean, Integer value) {
+            accept(bean, value.intValue());
+        }
+
+        @Override
+        public void accept(BEAN bean, int value) {
+            final int[] array = beanPropertyReadAccessor.apply(bean);
+            if (array == null || index >= array.length)
+                throw new IncompletePathException("Index " + index + " is out of range of array of length "
+                        + (array != null ? array.length : 0));
+            array[index] = value;
+        }
+    }
+
+
+    static final class LongArrayIndexAccessor<BEAN>
+            implements Function<BEAN, Long>, ToLongFunction<BEAN>, BiConsumer<BEAN, Long>, ObjLongConsumer<BEAN>
+    {
+        private final Function<BEAN, long[]> beanPropertyReadAccessor;
+        private final int index;
+
+        LongArrayIndexAccessor(Function<BEAN, long[]> beanPropertyReadAccessor, int index) {
+            this.beanPropertyReadAccessor = beanPropertyReadAccessor;
+            this.index = index;
+        }
+
+        @Override
+        public Long apply(BEAN bean) {
+            final long[] array = beanPropertyReadAccessor.apply(bean);
+            return array != null && index < array.length ? array[index] : null;
+        }
+
+        @Override
+        public long applyAsLong(BEAN bean) {
+            return applyAsLong(bean, 0L);
+        }
+
+        long applyAsLong(BEAN bean, long defaultValue) {
+            final long[] array = beanPropertyReadAccessor.apply(bean);
+            return array != null && index < array.length ? array[index] : defaultValue;
+        }
+
+        @Override
+        public void accept(BEAN bean, Long value) {
+            accept(bean, value.longValue());
+        }
+
+        @Override
+        public void accept(BEAN bean, long value) {
+            final long[] array = beanPropertyReadAccessor.apply(bean);
+            if (array == null || index >= array.length)
+                throw new IncompletePathException("Index " + index + " is out of range of array of length "
+                        + (array != null ? array.length : 0));
+            array[index] = value;
+        }
+    }
+
+
+    static final class DoubleArrayIndexAccessor<BEAN>
+            implements Function<BEAN, Double>, ToDoubleFunction<BEAN>, BiConsumer<BEAN, Double>, ObjDoubleConsumer<BEAN>
+    {
+        private final Function<BEAN, double[]> beanPropertyReadAccessor;
+        private final int index;
+
+        DoubleArrayIndexAccessor(Function<BEAN, double[]> beanPropertyReadAccessor, int index) {
+            this.beanPropertyReadAccessor = beanPropertyReadAccessor;
+            this.index = index;
+        }
+
+        @Override
+        public Double apply(BEAN bean) {
+            final double[] array = beanPropertyReadAccessor.apply(bean);
+            return array != null && index < array.length ? array[index] : null;
+        }
+
+        @Override
+        public double applyAsDouble(BEAN bean) {
+            return applyAsDouble(bean, 0d);
+        }
+
+        double applyAsDouble(BEAN bean, double defaultValue) {
+            final double[] array = beanPropertyReadAccessor.apply(bean);
+            return array != null && index < array.length ? array[index] : defaultValue;
+        }
+
+        @Override
+        public void accept(BEAN bean, Double value) {
+            accept(bean, value.doubleValue());
+        }
+
+        @Override
+        public void accept(BEAN bean, double value) {
+            final double[] array = beanPropertyReadAccessor.apply(bean);
+            if (array == null || index >= array.length)
+                throw new IncompletePathException("Index " + index + " is out of range of array of length "
+                        + (array != null ? array.length : 0));
+            array[index] = value;
+        }
+    }
+
+
+    public static class ArrayElementReadAccessor<BEAN, TYPE> implements Function<BEAN, TYPE> {
+        private final Function<BEAN, TYPE[]> beanPropertyReadAccessor;
+
+        public ArrayElementReadAccessor(Function<BEAN, TYPE[]> beanPropertyReadAccessor) {
+            this.beanPropertyReadAccessor = beanPropertyReadAccessor;
+        }
+
+        Function<BEAN, TYPE[]> getArrayReadAccessor() {
+            return beanPropertyReadAccessor;
+        }
+
+        @Override
+        public TYPE apply(BEAN bean) {
+            // Always obtain last element
+            final TYPE[] array = beanPropertyReadAccessor.apply(bean);
+            return array != null && array.length > 0 ? array[array.length - 1] : null;
+        }
+    }
+
+
+    public static class ArrayElementWriteAccessor<BEAN, TYPE> implements BiConsumer<BEAN, TYPE> {
+        private final Function<BEAN, TYPE[]> beanPropertyReadAccessor;
+        private final BiConsumer<BEAN, TYPE[]> beanPropertyWriteAccessor;
+        private final Class<TYPE> elementType;
+
+        public ArrayElementWriteAccessor(Function<BEAN, TYPE[]> beanPropertyReadAccessor,
+                                         BiConsumer<BEAN, TYPE[]> beanPropertyWriteAccessor,
+                                         Class<TYPE> elementType)
+        {
+            this.beanPropertyReadAccessor = beanPropertyReadAccessor;
+            this.beanPropertyWriteAccessor = beanPropertyWriteAccessor;
+            this.elementType = elementType;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void accept(BEAN bean, TYPE value) {
+            // like a collection: null clears the array, any other value is appended to a copy
+            final TYPE[] array = beanPropertyReadAccessor.apply(bean);
+            final int length = array != null ? array.length : 0;
+            final TYPE[] newArray = (TYPE[]) Array.newInstance(elementType, value != null ? length + 1 : 0);
+            if (value != null) {
+                if (array != null)
+                    System.arraycopy(array, 0, newArray, 0, length);
+                newArray[length] = value;
+            }
+            beanPropertyWriteAccessor.accept(bean, newArray);
+        }
+    }
+
+
+    public static class MapValuesReadAccessor<BEAN, TYPE> implements Function<BEAN, TYPE> {
+        private final Function<BEAN, Map<?, TYPE>> beanPropertyReadAccessor;
+
+        public MapValuesReadAccessor(Function<BEAN, Map<?, TYPE>> beanPropertyReadAccessor) {
+            this.beanPropertyReadAccessor = beanPropertyReadAccessor;
+        }
+
+        Function<BEAN, Map<?, TYPE>> getMapReadAccessor() {
+            return beanPropertyReadAccessor;
+        }
+
+        @Override
+        public TYPE apply(BEAN bean) {
+            final Map<?, TYPE> map = beanPropertyReadAccessor.apply(bean);
+            if (map == null || map.isEmpty())
+                return null;
+            // Always obtain last value
+            final Iterator<TYPE> it = map.values().iterator();
+            TYPE value = it.next();
+            while (it.hasNext())
+                value = it.next();
+            return value;
+        }
+    }
+
+
+    public static class CollectionElementReadAccessor<BEAN, TYPE> implements Function<BEAN, TYPE> {
+        private final Function<BEAN, Collection<TYPE>> beanPropertyReadAccessor;
+
+        public CollectionElementReadAccessor(Function<BEAN, Collection<TYPE>> beanPropertyReadAccessor) {
+            this.beanPropertyReadAccessor = beanPropertyReadAccessor;
+        }
+
+        Function<BEAN, Collection<TYPE>> getCollectionReadAccessor() {
+            return beanPropertyReadAccessor;
+        }
+
+        @Override
+        public TYPE apply(BEAN bean) {
+            final Collection<TYPE> collection = beanPropertyReadAccessor.apply(bean);
+            if (collection == null || collection.isEmpty())
+                return null;
+            if (collection instanceof List) {
+                final List<TYPE> list = (List<TYPE>) collection;
+                return list.get(list.size()-1);
+            } else {
+                // Always obtain last element
+                final Iterator<TYPE> it = collection.iterator();
+                TYPE elem = it.next();
+                while (it.hasNext())
+                    elem = it.next();
+                return elem;
+            }
+        }
+    }
+
+
+    public static class CollectionElementWriteAccessor<BEAN, TYPE> implements BiConsumer<BEAN, TYPE> {
+        private final Function<BEAN, Collection<TYPE>> beanPropertyReadAccessor;
+        /* Nullable */
+        private final BiConsumer<BEAN, Collection<TYPE>> beanPropertyWriteAccessor;
+        /* Nullable */
+        private final Supplier<Supplier<Collection<TYPE>>> collectionInstantiatorResolver;
+
+        public CollectionElementWriteAccessor(Function<BEAN, Collection<TYPE>> beanPropertyReadAccessor,
+                                             /*Nullable*/BiConsumer<BEAN, Collection<TYPE>> beanPropertyWriteAccessor,
+                                             Supplier<Supplier<Collection<TYPE>>> collectionInstantiatorResolver)
+        {
+            this.beanPropertyReadAccessor = beanPropertyReadAccessor;
+            this.beanPropertyWriteAccessor = beanPropertyWriteAccessor;
+            this.collectionInstantiatorResolver = collectionInstantiatorResolver;
+        }
+
+        @Override
+        public void accept(BEAN bean, TYPE value) {
+            Collection<TYPE> collection = beanPropertyReadAccessor.apply(bean);
+            if (collection == null) {
+                if (beanPropertyWriteAccessor == null)
+                    throw new IncompletePathException(new ReadOnlyPropertyException("Collection property is read-only"));
+                final Supplier<Collection<TYPE>> collectionInstantiator = collectionInstantiatorResolver.get();
+                if (collectionInstantiator == null)
+                    throw new IncompletePathException("Cannot instantiate new collection due to unknown type");
+                collection = collectionInstantiator.get();
+                try {
+                    beanPropertyWriteAccessor.accept(bean, collection);
+                } catch (Exception e) {
+                    throw new IncompletePathException(e);
+                }
+            }
+            if (value == null)
+                collection.clear();
+            else
+                collection.add(value);
+        }
+    }
+
+
+    private static final class MethodReferenceDescriptor {
+        private final Class<?> implClass;
+        private final String implMethodName;
+        private final String implMethodSignature;
+
+        private MethodReferenceDescriptor(Class<?> implClass, String implMethodName, String implMethodSignature) {
+            this.implClass = implClass;
+            this.implMethodName = implMethodName;
+            this.implMethodSignature = implMethodSignature;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            MethodReferenceDescriptor that = (MethodReferenceDescriptor) o;
+            return implClass.equals(that.implClass) &&
+                    implMethodName.equals(that.implMethodName) &&
+                    implMethodSignature.equals(that.implMethodSignature);
+        }
+
+        @Override
+        public int hashCode() {
+            return (implClass.hashCode() * 31 + implMethodName.hashCode()) * 31 + implMethodSignature.hashCode();
+        }
+    }
+
+
+    private static final class ElementPropertyKey {
+        private final MethodReferenceDescriptor descriptor;
+        private final Object index;
+        private final boolean autoGrow;
+
+        private ElementPropertyKey(MethodReferenceDescriptor descriptor, Object index, boolean autoGrow) {
+            this.descriptor = descriptor;
+            this.index = index;
+            this.autoGrow = autoGrow;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ElementPropertyKey that = (ElementPropertyKey) o;
+            return autoGrow == that.autoGrow && descriptor.equals(that.descriptor) &&
+                    Objects.equals(index, that.index);
+        }
+
+        @Override
+        public int hashCode() {
+            return (descriptor.hashCode() * 31 + Objects.hashCode(index)) * 31 + (autoGrow ? 1 : 0);
+        }
+    }
+
+
+    private static final class SpecializedPropertyKey {
+        /*
+         * Element properties are compared by their element key, so a property resolved again after eviction
+         * from the element cache hits the same entry. Others are compared by identity: collection properties
+         * of the same getter are equal but may have their own collection instantiators.
+         */
+        private final Object property;
+        private final Type beanType;
+
+        private SpecializedPropertyKey(BeanProperty<?, ?> beanProperty, Type beanType) {
+            final Object elementKey = beanProperty.getElementKey();
+            this.property = elementKey instanceof ElementPropertyKey ? elementKey : beanProperty;
+            this.beanType = beanType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            SpecializedPropertyKey that = (SpecializedPropertyKey) o;
+            return (property instanceof ElementPropertyKey ? property.equals(that.property) : property == that.property)
+                    && beanType.equals(that.beanType);
+        }
+
+        @Override
+        public int hashCode() {
+            return (property instanceof ElementPropertyKey ? property.hashCode() : System.identityHashCode(property)) * 31
+                    + beanType.hashCode();
+        }
+    }
+
+
+    private static final class CollectionPropertyKey {
+        private final MethodReferenceDescriptor descriptor;
+        /* Nullable */
+        private final Supplier<?> collectionInstantiator;
+
+        private CollectionPropertyKey(MethodReferenceDescriptor descriptor, /*Nullable*/ Supplier<?> collectionInstantiator) {
+            this.descriptor = descriptor;
+            this.collectionInstantiator = collectionInstantiator;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            CollectionPropertyKey that = (CollectionPropertyKey) o;
+            return descriptor.equals(that.descriptor) &&
+                    collectionInstantiator == that.collectionInstantiator;
+        }
+
+        @Override
+        public int hashCode() {
+            return descriptor.hashCode() * 31 + System.identityHashCode(collectionInstantiator);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.github.throwable.beanref;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+public class BeanRef {
+    /**
+     * Obtain bean's property reference
+     * @param methodReferenceLambda getter method reference
+     */
+    public static <BEAN, TYPE> BeanProperty<BEAN, TYPE> $(MethodReferenceLambda<BEAN, TYPE> methodReferenceLambda) {
+        return BeanPropertyResolver.resolveBeanProperty(methodReferenceLambda);
+    }
+
+    /**
+     * Obtain bean's root to construct path
+     * @param beanClass root bean class
+     * @return bean root to construct path
+     */
+    public static <BEAN> BeanRoot<BEAN> $(Class<BEAN> beanClass) {
+        return new BeanRoot<>(beanClass);
+    }
+
+    /**
+     * Obtain bean's collection property reference
+     * @param methodReferenceLambda collection getter method reference
+     */
+    @SuppressWarnings("overloads")
+    public static <BEAN, TYPE> BeanProperty<BEAN, TYPE> $$(
+            MethodReferenceLambda<BEAN, Collection<TYPE>> methodReferenceLambda)
+    {
+        return $$(methodReferenceLambda, null);
+    }
+
+    /**
+     * Obtain bean's collection property reference
+     * @param methodReferenceLambda collection getter method reference
+     * @param collectionSupplier supplier to automatically create a new collection setting a contained element
+     *                          and the collection is null
+     */
+    public static <BEAN, TYPE> BeanProperty<BEAN, TYPE> $$(
+            MethodReferenceLambda<BEAN, Collection<TYPE>> methodReferenceLambda,
+            Supplier<Collection<TYPE>> collectionSupplier)
+    {
+        return BeanPropertyResolver.resolveCollectionBeanProperty(methodReferenceLambda, collectionSupplier);
+    }
+
+    /**
+     * Obtain reference to the last element of an array property. Setting a value appends it to a copy of the array,
+     * setting null replaces the array with an empty one.
+     * @param methodReferenceLambda array getter method reference
+     */
+    @SuppressWarnings("overloads")
+    public static <BEAN, TYPE> BeanProperty<BEAN, TYPE> $$(
+            ArrayReferenceLambda<BEAN, TYPE> methodReferenceLambda)
+    {
+        return BeanPropertyResolver.resolveCollectionBeanProperty(methodReferenceLambda, null);
+    }
+
+    /**
+     * Obtain read-only reference to the last value of a map property.
+     * Use {@code $$(getter, key)} to reference a value by key.
+     * @param methodReferenceLambda map getter method reference
+     */
+    @SuppressWarnings("overloads")
+    public static <BEAN, K, TYPE> BeanProperty<BEAN, TYPE> $$(
+            MapReferenceLambda<BEAN, K, TYPE> methodReferenceLambda)
+    {
+        return BeanPropertyResolver.resolveCollectionBeanProperty(methodReferenceLambda, null);
+    }
+
+    /**
+     * Obtain reference to an element of a list property by index.
+     * Reading an index out of range returns null, writing it throws {@link IncompletePathException}.
+     * @param methodReferenceLambda list getter method reference
+     * @param index element's index
+     */
+    @SuppressWarnings("overloads")
+    public static <BEAN, TYPE> BeanProperty<BEAN, TYPE> $$(
+            MethodReferenceLambda<BEAN, List<TYPE>> methodReferenceLambda,
+            int index)
+    {
+        return BeanPropertyResolver.resolveElementBeanProperty(methodReferenceLambda, index, false);
+    }
+
+    /**
+     * Obtain reference to an element of a list property by index
+     * @param methodReferenceLambda list getter method reference
+     * @param index element's index
+     * @param autoGrow when writing an index out of range create the list if it is null and pad it with nulls
+     */
+    @SuppressWarnings("overloads")
+    public static <BEAN, TYPE> BeanProperty<BEAN, TYPE> $$(
+            MethodReferenceLambda<BEAN, List<TYPE>> methodReferenceLambda,
+            int index, boolean autoGrow)
+    {
+        return BeanPropertyResolver.resolveElementBeanProperty(methodReferenceLambda, index, autoGrow);
+    }
+
+    /**
+     * Obtain reference to an element of an array property by index.
+     * Reading an index out of range returns null, writing it throws {@link IncompletePathException}.
+     * @param methodReferenceLambda array getter method reference
+     * @param index element's index
+     */
+    @SuppressWarnings("overloads")
+    public static <BEAN, TYPE> BeanProperty<BEAN, TYPE> $$(
+            ArrayReferenceLambda<BEAN, TYPE> methodReferenceLambda,
+            int index)
+    {
+        return BeanPropertyResolver.resolveElementBeanProperty(methodReferenceLambda, index, false);
+    }
+
+    /**
+     * Obtain reference to an element of an array property by index
+     * @param methodReferenceLambda array getter method reference
+     * @param index element's index
+     * @param autoGrow when writing an index out of range replace the array with a longer copy using the setter
+     */
+    @SuppressWarnings("overloads")
+    public static <BEAN, TYPE> BeanProperty<BEAN, TYPE> $$(
+            ArrayReferenceLambda<BEAN, TYPE> methodReferenceLambda,
+            int index, boolean autoGrow)
+    {
+        return BeanPropertyResolver.resolveElementBeanProperty(methodReferenceLambda, index, autoGrow);
+    }
+
+    /**
+     * Obtain reference to a value of a map property by key.
+     * Reading a missing key returns null, writing null removes the key, the map is created if it is null.
+     * @param methodReferenceLambda map getter method reference
+     * @param key map key
+     */
+    public static <BEAN, K, TYPE> BeanProperty<BEAN, TYPE> $$(
+            MapReferenceLambda<BEAN, K, TYPE> methodReferenceLambda,
+            K key)
+    {
+        return BeanPropertyResolver.resolveElementBeanProperty(methodReferenceLambda, key, false);
+    }
+
+    /**
+     * Obtain reference to an element of an int array property by index that is read and written without boxing.
+     * Reading an index out of range returns null or 0 when read as int, writing it throws {@link IncompletePathException}.
+     * @param methodReferenceLambda array getter method reference
+     * @param index element's index
+     */
+    @SuppressWarnings("overloads")
+    public static <BEAN> IntBeanProperty<BEAN> $$(
+            ArrayReferenceLambda.OfInt<BEAN> methodReferenceLambda,
+            int index)
+    {
+        return (IntBeanProperty<BEAN>)
+                BeanPropertyResolver.<BEAN, Integer>resolveElementBeanProperty(methodReferenceLambda, index, false);
+    }
+
+    /**
+     * Obtain reference to an element of a long array property by index that is read and written without boxing.
+     * Reading an index out of range returns null or 0 when read as long, writing it throws {@link IncompletePathException}.
+     * @param methodReferenceLambda array getter method reference
+     * @param index element's index
+     */
+    @SuppressWarnings("overloads")
+    public static <BEAN> LongBeanProperty<BEAN> $$(
+            ArrayReferenceLambda.OfLong<BEAN> methodReferenceLambda,
+            int index)
+    {
+        return (LongBeanProperty<BEAN>)
+                BeanPropertyResolver.<BEAN, Long>resolveElementBeanProperty(methodReferenceLambda, index, false);
+    }
+
+    /**
+     * Obtain reference to an element of a double array property by index that is read and written without boxing.
+     * Reading an index out of range returns null or 0 when read as double, writing it throws {@link IncompletePathException}.
+     * @param methodReferenceLambda array getter method reference
+     * @param index element's index
+     */
+    @SuppressWarnings("overloads")
+    public static <BEAN> DoubleBeanProperty<BEAN> $$(
+            ArrayReferenceLambda.OfDouble<BEAN> methodReferenceLambda,
+            int index)
+    {
+        return (DoubleBeanProperty<BEAN>)
+                BeanPropertyResolver.<BEAN, Double>resolveElementBeanProperty(methodReferenceLambda, index, false);
+    }
+
+    /**
+     * Obtain path for nested property or path
+     * @param path name of property or a path of properties separated by .
+     */
+    public static <BEAN> BeanPath<BEAN, ?> $(Class<BEAN> beanClass, String path) {
+        return $(beanClass).$(path);
+    }
+
+    /**
+     * Obtain path for nested property or path
+     * @param path name of property or a path of properties separated by .
+     * @param type resulting property's type
+     */
+    public static <BEAN, T> BeanPath<BEAN, T> $(Class<BEAN> beanClass, String path, Class<T> type) {
+        return $(beanClass).$(path, type);
+    }
+
+    /**
+     * Register a factory of instantiators for beans and containers that are implicitly created setting values
+     * by path. Types the factory returns no instantiator for are instantiated with {@link InstantiatorFactory#DEFAULT}.
+     * Instantiators already resolved with the previous factory are replaced on their next use.
+     * @param factory instantiator factory
+     */
+    public static void setInstantiatorFactory(InstantiatorFactory factory) {
+        BeanPropertyResolver.setInstantiatorFactory(Objects.requireNonNull(factory));
+    }
+
+    /**
+     * Drop all cached properties and metadata of classes loaded by the class loader (or any of its descendants).
+     * Cached data never prevents classes from being unloaded, so calling this method is not required,
+     * but it allows to release resources immediately, e.g. when an application is undeployed.
+     * @param classLoader class loader to evict
+     */
+    public static void evict(ClassLoader classLoader) {
+        ClassCache.evict(Objects.requireNonNull(classLoader));
+    }
+}
@@ -0,0 +1,18 @@
+package com.github.throwable.beanref;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a bean class to have its accessors and metadata generated at compile time by beanref-processor.
+ * Properties of a marked class are resolved from the generated {@link BeanModel} without scanning and
+ * unreflecting its methods. If the processor did not run the class is resolved reflectively as usual.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface BeanRefModel {
+}
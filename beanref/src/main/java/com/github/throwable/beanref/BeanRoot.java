@@ -0,0 +1,285 @@
+package com.github.throwable.beanref;
+
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+public class BeanRoot<BEAN> {
+    private final Class<BEAN> beanClass;
+    /* The bean class or its parameterization */
+    private final Type beanType;
+
+    public BeanRoot(Class<BEAN> beanClass) {
+        this(beanClass, beanClass);
+    }
+
+    private BeanRoot(Class<BEAN> beanClass, Type beanType) {
+        this.beanClass = beanClass;
+        this.beanType = beanType;
+    }
+
+    /**
+     * Obtain root of a generic bean with the given type arguments, so types of properties declared
+     * with type variables are resolved, e.g. {@code $(Page.class).of(Order.class).$("content.amount")}
+     * @param typeArguments actual type arguments: classes or parameterized types
+     * @return bean root to construct path
+     * @throws IllegalArgumentException if the number of type arguments does not match the bean class
+     */
+    public BeanRoot<BEAN> of(Type... typeArguments) {
+        return new BeanRoot<>(beanClass, GenericTypes.parameterize(beanClass, typeArguments));
+    }
+
+    /**
+     * @return the bean class or its parameterization given with {@link #of(Type...)}
+     */
+    public Type getGenericType() {
+        return beanType;
+    }
+
+    /**
+     * Obtain bean's property reference
+     * @param methodReferenceLambda getter method reference
+     */
+    public <TYPE> BeanProperty<BEAN, TYPE> $(MethodReferenceLambda<BEAN, TYPE> methodReferenceLambda) {
+        return specialize(BeanPropertyResolver.resolveBeanProperty(methodReferenceLambda));
+    }
+
+    /**
+     * Obtain bean's collection property reference
+     * @param methodReferenceLambda collection getter method reference
+     */
+    @SuppressWarnings("overloads")
+    public <TYPE> BeanProperty<BEAN, TYPE> $$(
+            MethodReferenceLambda<BEAN, Collection<TYPE>> methodReferenceLambda)
+    {
+        return $$(methodReferenceLambda, null);
+    }
+
+    /**
+     * Obtain bean's collection property reference
+     * @param methodReferenceLambda collection getter method reference
+     * @param collectionSupplier supplier to automatically create a new collection setting a contained element
+     *                          and the collection is null
+     */
+    public <TYPE> BeanProperty<BEAN, TYPE> $$(
+            MethodReferenceLambda<BEAN, Collection<TYPE>> methodReferenceLambda,
+            Supplier<Collection<TYPE>> collectionSupplier)
+    {
+        return specialize(BeanPropertyResolver.resolveCollectionBeanProperty(methodReferenceLambda, collectionSupplier));
+    }
+
+    /**
+     * Obtain reference to the last element of an array property. Setting a value appends it to a copy of the array,
+     * setting null replaces the array with an empty one.
+     * @param methodReferenceLambda array getter method reference
+     */
+    @SuppressWarnings("overloads")
+    public <TYPE> BeanProperty<BEAN, TYPE> $$(
+            ArrayReferenceLambda<BEAN, TYPE> methodReferenceLambda)
+    {
+        return specialize(BeanPropertyResolver.resolveCollectionBeanProperty(methodReferenceLambda, null));
+    }
+
+    /**
+     * Obtain read-only reference to the last value of a map property.
+     * Use {@code $$(getter, key)} to reference a value by key.
+     * @param methodReferenceLambda map getter method reference
+     */
+    @SuppressWarnings("overloads")
+    public <K, TYPE> BeanProperty<BEAN, TYPE> $$(
+            MapReferenceLambda<BEAN, K, TYPE> methodReferenceLambda)
+    {
+        return specialize(BeanPropertyResolver.resolveCollectionBeanProperty(methodReferenceLambda, null));
+    }
+
+    /**
+     * Obtain reference to an element of a list property by index.
+     * Reading an index out of range returns null, writing it throws {@link IncompletePathException}.
+     * @param methodReferenceLambda list getter method reference
+     * @param index element's index
+     */
+    @SuppressWarnings("overloads")
+    public <TYPE> BeanProperty<BEAN, TYPE> $$(
+            MethodReferenceLambda<BEAN, List<TYPE>> methodReferenceLambda,
+            int index)
+    {
+        return specialize(BeanPropertyResolver.resolveElementBeanProperty(methodReferenceLambda, index, false));
+    }
+
+    /**
+     * Obtain reference to an element of a list property by index
+     * @param methodReferenceLambda list getter method reference
+     * @param index element's index
+     * @param autoGrow when writing an index out of range create the list if it is null and pad it with nulls
+     */
+    @SuppressWarnings("overloads")
+    public <TYPE> BeanProperty<BEAN, TYPE> $$(
+            MethodReferenceLambda<BEAN, List<TYPE>> methodReferenceLambda,
+            int index, boolean autoGrow)
+    {
+        return specialize(BeanPropertyResolver.resolveElementBeanProperty(methodReferenceLambda, index, autoGrow));
+    }
+
+    /**
+     * Obtain reference to an element of an array property by index.
+     * Reading an index out of range returns null, writing it throws {@link IncompletePathException}.
+     * @param methodReferenceLambda array getter method reference
+     * @param index element's index
+     */
+    @SuppressWarnings("overloads")
+    public <TYPE> BeanProperty<BEAN, TYPE> $$(
+            ArrayReferenceLambda<BEAN, TYPE> methodReferenceLambda,
+            int index)
+    {
+        return specialize(BeanPropertyResolver.resolveElementBeanProperty(methodReferenceLambda, index, false));
+    }
+
+    /**
+     * Obtain reference to an element of an array property by index
+     * @param methodReferenceLambda array getter method reference
+     * @param index element's index
+     * @param autoGrow when writing an index out of range replace the array with a longer copy using the setter
+     */
+    @SuppressWarnings("overloads")
+    public <TYPE> BeanProperty<BEAN, TYPE> $$(
+            ArrayReferenceLambda<BEAN, TYPE> methodReferenceLambda,
+            int index, boolean autoGrow)
+    {
+        return specialize(BeanPropertyResolver.resolveElementBeanProperty(methodReferenceLambda, index, autoGrow));
+    }
+
+    /**
+     * Obtain reference to a value of a map property by key.
+     * Reading a missing key returns null, writing null removes the key, the map is created if it is null.
+     * @param methodReferenceLambda map getter method reference
+     * @param key map key
+     */
+    public <K, TYPE> BeanProperty<BEAN, TYPE> $$(
+            MapReferenceLambda<BEAN, K, TYPE> methodReferenceLambda,
+            K key)
+    {
+        return specialize(BeanPropertyResolver.resolveElementBeanProperty(methodReferenceLambda, key, false));
+    }
+
+    /**
+     * Obtain reference to an element of an int array property by index that is read and written without boxing.
+     * Reading an index out of range returns null or 0 when read as int, writing it throws {@link IncompletePathException}.
+     * @param methodReferenceLambda array getter method reference
+     * @param index element's index
+     */
+    @SuppressWarnings("overloads")
+    public IntBeanProperty<BEAN> $$(
+            ArrayReferenceLambda.OfInt<BEAN> methodReferenceLambda,
+            int index)
+    {
+        return (IntBeanProperty<BEAN>)
+                BeanPropertyResolver.<BEAN, Integer>resolveElementBeanProperty(methodReferenceLambda, index, false);
+    }
+
+    /**
+     * Obtain reference to an element of a long array property by index that is read and written without boxing.
+     * Reading an index out of range returns null or 0 when read as long, writing it throws {@link IncompletePathException}.
+     * @param methodReferenceLambda array getter method reference
+     * @param index element's index
+     */
+    @SuppressWarnings("overloads")
+    public LongBeanProperty<BEAN> $$(
+            ArrayReferenceLambda.OfLong<BEAN> methodReferenceLambda,
+            int index)
+    {
+        return (LongBeanProperty<BEAN>)
+                BeanPropertyResolver.<BEAN, Long>resolveElementBeanProperty(methodReferenceLambda, index, false);
+    }
+
+    /**
+     * Obtain reference to an element of a double array property by index that is read and written without boxing.
+     * Reading an index out of range returns null or 0 when read as double, writing it throws {@link IncompletePathException}.
+     * @param methodReferenceLambda array getter method reference
+     * @param index element's index
+     */
+    @SuppressWarnings("overloads")
+    public DoubleBeanProperty<BEAN> $$(
+            ArrayReferenceLambda.OfDouble<BEAN> methodReferenceLambda,
+            int index)
+    {
+        return (DoubleBeanProperty<BEAN>)
+                BeanPropertyResolver.<BEAN, Double>resolveElementBeanProperty(methodReferenceLambda, index, false);
+    }
+
+
+    /**
+     * Obtain path for nested property or path
+     * @param path name of property or a path of properties separated by .
+     */
+    public BeanPath<BEAN, ?> $(String path) {
+        return DynamicBeanPropertyResolver.resolveBeanPath(beanType, path);
+    }
+
+    /**
+     * Obtain path for nested property or path
+     * @param path name of property or a path of properties separated by .
+     * @param type resulting property's type
+     */
+    public <T> BeanPath<BEAN, T> $(String path, Class<T> type) {
+        return DynamicBeanPropertyResolver.resolveBeanPath(beanType, path, type);
+    }
+
+    /**
+     * Obtain bean's property that reads and writes a field directly, for beans without getters and setters.
+     * The field may have any visibility, final fields are read-only.
+     * Accesses follow the field's declaration: a volatile field is read and written with volatile semantics,
+     * any other field with plain semantics. There is no way to choose opaque or acquire/release access.
+     * @param fieldName name of instance field declared in the bean class or its superclasses
+     */
+    public BeanProperty<BEAN, ?> field(String fieldName) {
+        return DynamicBeanPropertyResolver.resolveFieldProperty(beanType, fieldName);
+    }
+
+    /**
+     * Obtain bean's property that reads and writes a field directly, for beans without getters and setters.
+     * The field may have any visibility, final fields are read-only.
+     * Accesses follow the field's declaration: a volatile field is read and written with volatile semantics,
+     * any other field with plain semantics. There is no way to choose opaque or acquire/release access.
+     * @param fieldName name of instance field declared in the bean class or its superclasses
+     * @param type field's type
+     */
+    public <T> BeanProperty<BEAN, T> field(String fieldName, Class<T> type) {
+        return DynamicBeanPropertyResolver.resolveFieldProperty(beanType, fieldName, type);
+    }
+
+    /**
+     * Obtain bean's metadata: an index of all bean's properties
+     */
+    @SuppressWarnings("unchecked")
+    public BeanMetadata<BEAN> metadata() {
+        return (BeanMetadata<BEAN>) DynamicBeanPropertyResolver.resolveBeanMetadata(beanType);
+    }
+
+    /**
+     * List all properties of the nested bean
+     * @return list of BeanPaths to access every property of nested bean
+     */
+    public Set<BeanPath<BEAN, ?>> all() {
+        return new HashSet<>(metadata().getProperties());
+    }
+
+    /**
+     * List leaf properties of the bean walking nested beans recursively.
+     * Properties of nested beans are expanded while the path is shorter than maxDepth, nested beans that form
+     * a cycle are not expanded. The schema is resolved once per bean class and depth.
+     * @param maxDepth max number of properties in a path, 1 lists only bean's own properties
+     * @return schema of all leaf paths ordered depth-first by property name
+     */
+    public BeanSchema<BEAN> deepAll(int maxDepth) {
+        return DynamicBeanPropertyResolver.resolveBeanSchema(beanClass, maxDepth);
+    }
+
+
+    private <TYPE> BeanProperty<BEAN, TYPE> specialize(BeanProperty<BEAN, TYPE> beanProperty) {
+        return BeanPropertyResolver.specialize(beanProperty, beanType);
+    }
+}
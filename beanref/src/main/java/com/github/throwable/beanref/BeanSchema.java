@@ -0,0 +1,78 @@
+package com.github.throwable.beanref;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * BeanSchema is an immutable ordered list of leaf paths of a bean obtained by walking nested beans recursively.
+ * Paths are ordered depth-first by property name, so the order is stable and may be used as a column layout.
+ * @param <ROOT> root class
+ */
+public final class BeanSchema<ROOT> {
+    private final Class<ROOT> rootClass;
+    private final int maxDepth;
+    private final List<BeanPath<ROOT, ?>> paths;
+    private final HashMap<String, Integer> indexes;
+
+
+    BeanSchema(Class<ROOT> rootClass, int maxDepth, List<BeanPath<ROOT, ?>> paths) {
+        this.rootClass = rootClass;
+        this.maxDepth = maxDepth;
+        this.paths = Collections.unmodifiableList(paths);
+        this.indexes = new HashMap<>(paths.size() * 2);
+        for (int i = 0; i < paths.size(); i++)
+            indexes.put(paths.get(i).getPath(), i);
+    }
+
+    /**
+     * @return the class paths start from
+     */
+    public Class<ROOT> getRootClass() {
+        return rootClass;
+    }
+
+    /**
+     * @return max number of properties in a path
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * @return number of paths
+     */
+    public int size() {
+        return paths.size();
+    }
+
+    /**
+     * @param index path's index
+     * @return path at the given index
+     * @throws IndexOutOfBoundsException if index is out of range
+     */
+    public BeanPath<ROOT, ?> getPath(int index) {
+        return paths.get(index);
+    }
+
+    /**
+     * @param path path as string formed by property names separated by '.'
+     * @return index of the path or -1 if schema does not contain it
+     */
+    public int indexOf(String path) {
+        final Integer index = indexes.get(path);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * @return unmodifiable list of all paths
+     */
+    public List<BeanPath<ROOT, ?>> getPaths() {
+        return paths;
+    }
+
+    @Override
+    public String toString() {
+        return "BeanSchema{" + rootClass.getName() + ", " + paths + '}';
+    }
+}
@@ -0,0 +1,74 @@
+package com.github.throwable.beanref;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * BooleanBeanProperty represents a reference to a boolean property which can be accessed without boxing.
+ * @param <BEAN> bean class
+ */
+public class BooleanBeanProperty<BEAN> extends BeanProperty<BEAN, Boolean>
+{
+    private final Predicate<BEAN> booleanReadAccessor;
+    /* Nullable */
+    private final ObjBooleanConsumer<BEAN> booleanWriteAccessor;
+
+
+    BooleanBeanProperty(Class<BEAN> beanClass, Class<Boolean> type, String name,
+                 Function<BEAN, Boolean> readAccessor,
+            /*Nullable*/ BiConsumer<BEAN, Boolean> writeAccessor,
+                 Supplier<Supplier<Boolean>> instantiatorSupplier,
+                 Predicate<BEAN> booleanReadAccessor,
+            /*Nullable*/ ObjBooleanConsumer<BEAN> booleanWriteAccessor)
+    {
+        super(beanClass, type, name, readAccessor, writeAccessor, instantiatorSupplier);
+        this.booleanReadAccessor = booleanReadAccessor;
+        this.booleanWriteAccessor = booleanWriteAccessor;
+    }
+
+    /**
+     * @return read accessor to a property that does not box the value
+     */
+    public Predicate<BEAN> getBooleanReadAccessor() {
+        return booleanReadAccessor;
+    }
+
+    /**
+     * @return write accessor to a property that does not unbox the value or null if property is read-only
+     */
+    public ObjBooleanConsumer<BEAN> getBooleanWriteAccessor() {
+        return booleanWriteAccessor;
+    }
+
+    /**
+     * Get property's value without boxing
+     * @param bean a bean
+     * @return property value
+     */
+    public boolean getBoolean(BEAN bean) {
+        return booleanReadAccessor.test(bean);
+    }
+
+    /**
+     * Set property's value without unboxing
+     * @param bean a bean
+     * @param value value to set
+     * @throws ReadOnlyPropertyException if the property is read-only
+     */
+    public void setBoolean(BEAN bean, boolean value) {
+        if (booleanWriteAccessor == null)
+            throw new ReadOnlyPropertyException("Property '" + toString() + "' is read-only");
+        booleanWriteAccessor.accept(bean, value);
+    }
+
+    /**
+     * Represents an operation that accepts an object-valued and a boolean-valued argument.
+     * @param <T> the type of the object argument
+     */
+    @FunctionalInterface
+    public interface ObjBooleanConsumer<T> {
+        void accept(T t, boolean value);
+    }
+}
@@ -0,0 +1,50 @@
+package com.github.throwable.beanref;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Concurrent cache with a size limit. When the limit is reached an arbitrary entry is evicted
+ * to make room for a new one, which is cheap and good enough for caches with a stable working set.
+ * A cache with a non-positive limit stores nothing.
+ * @param <K> key type
+ * @param <V> value type
+ */
+final class BoundedCache<K, V> {
+    private final int maxSize;
+    private final ConcurrentHashMap<K, V> map = new ConcurrentHashMap<>();
+
+    BoundedCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /* Nullable */
+    V get(K key) {
+        return map.get(key);
+    }
+
+    /**
+     * @return the value already associated with the key or the new value
+     */
+    V putIfAbsent(K key, V value) {
+        if (maxSize <= 0)
+            return value;
+        final V previous = map.putIfAbsent(key, value);
+        if (previous != null)
+            return previous;
+        // evict only when a new entry was actually inserted, never the one just added
+        if (map.size() > maxSize) {
+            for (Iterator<K> it = map.keySet().iterator(); it.hasNext(); ) {
+                if (!it.next().equals(key)) {
+                    it.remove();
+                    break;
+                }
+            }
+        }
+        return value;
+    }
+
+    int size() {
+        return map.size();
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.throwable.beanref;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+/**
+ * Per-class cache backed by {@link ClassValue}.
+ * Cached values are attached to their classes and do not prevent them (and their class loaders)
+ * from being unloaded. Entries of a class loader may also be dropped explicitly with {@link #evict(ClassLoader)}.
+ * @param <V> cached value type
+ */
+final class ClassCache<V> {
+    private static final List<ClassCache<?>> caches = new CopyOnWriteArrayList<>();
+    /* Weak registry of classes that have cached values, used to evict them by class loader */
+    private static final Set<Class<?>> populatedClasses =
+            Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private final ClassValue<V> classValue;
+
+
+    ClassCache(Function<Class<?>, V> valueFactory) {
+        this.classValue = new ClassValue<V>() {
+            @Override
+            protected V computeValue(Class<?> type) {
+                final V value = valueFactory.apply(type);
+                populatedClasses.add(type);
+                return value;
+            }
+        };
+        caches.add(this);
+    }
+
+
+    V get(Class<?> type) {
+        return classValue.get(type);
+    }
+
+
+    /**
+     * Remove cached values of all classes loaded by the class loader or any of its descendants
+     * @param classLoader class loader
+     */
+    static void evict(ClassLoader classLoader) {
+        final List<Class<?>> evictedClasses = new ArrayList<>();
+        synchronized (populatedClasses) {
+            for (Class<?> type : populatedClasses) {
+                if (isLoadedBy(type, classLoader))
+                    evictedClasses.add(type);
+            }
+            populatedClasses.removeAll(evictedClasses);
+        }
+        for (Class<?> type : evictedClasses) {
+            for (ClassCache<?> cache : caches)
+                cache.classValue.remove(type);
+        }
+    }
+
+    private static boolean isLoadedBy(Class<?> type, ClassLoader classLoader) {
+        for (ClassLoader cl = type.getClassLoader(); cl != null; cl = cl.getParent()) {
+            if (cl == classLoader)
+                return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,107 @@
+package com.github.throwable.beanref;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Fuses the property chain of a {@link BeanPath} into a single method handle for reading and another one for writing.
+ * Every accessor is bound into the handle as a constant, so once the handle gets hot and customized the JIT is able
+ * to inline the whole chain together with null checks instead of dispatching through a megamorphic call per hop.
+ */
+final class CompiledPathAccessor {
+    private static final MethodHandle NULL_SAFE_APPLY;
+    private static final MethodHandle GET_OR_CREATE;
+    private static final MethodHandle ACCEPT;
+    private static final MethodHandle READ_ONLY;
+
+    static {
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            NULL_SAFE_APPLY = lookup.findStatic(CompiledPathAccessor.class, "nullSafeApply",
+                    MethodType.methodType(Object.class, Function.class, Object.class));
+            GET_OR_CREATE = lookup.findStatic(CompiledPathAccessor.class, "getOrCreate",
+                    MethodType.methodType(Object.class, Function.class, BeanProperty.class, BeanPath.class, Object.class));
+            ACCEPT = lookup.findStatic(CompiledPathAccessor.class, "accept",
+                    MethodType.methodType(void.class, BiConsumer.class, Object.class, Object.class));
+            READ_ONLY = lookup.findStatic(CompiledPathAccessor.class, "readOnly",
+                    MethodType.methodType(void.class, BeanProperty.class, Object.class, Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /* (Object)Object */
+    private final MethodHandle getter;
+    /* (Object, Object)void */
+    private final MethodHandle setter;
+
+
+    CompiledPathAccessor(BeanPath<?, ?> path, BeanProperty<?, ?>[] accessorPath) {
+        MethodHandle getter = null;
+        MethodHandle setterPrefix = null;
+        for (int i = 0; i < accessorPath.length; i++) {
+            final BeanProperty<?, ?> beanProperty = accessorPath[i];
+            final MethodHandle read = MethodHandles.insertArguments(NULL_SAFE_APPLY, 0,
+                    beanProperty.getReadAccessor());
+            getter = getter == null ? read : MethodHandles.filterReturnValue(getter, read);
+            if (i < accessorPath.length-1) {
+                final MethodHandle readOrCreate = MethodHandles.insertArguments(GET_OR_CREATE, 0,
+                        beanProperty.getReadAccessor(), beanProperty, path);
+                setterPrefix = setterPrefix == null ? readOrCreate :
+                        MethodHandles.filterReturnValue(setterPrefix, readOrCreate);
+            }
+        }
+        final BeanProperty<?, ?> lastBeanProperty = accessorPath[accessorPath.length-1];
+        MethodHandle setter = lastBeanProperty.isReadOnly() ?
+                MethodHandles.insertArguments(READ_ONLY, 0, lastBeanProperty) :
+                MethodHandles.insertArguments(ACCEPT, 0, lastBeanProperty.getWriteAccessor());
+        if (setterPrefix != null)
+            setter = MethodHandles.filterArguments(setter, 0, setterPrefix);
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+
+    Object get(Object bean) {
+        try {
+            return (Object) getter.invokeExact(bean);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    void set(Object bean, Object value) {
+        try {
+            setter.invokeExact(bean, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+
+    private static Object nullSafeApply(Function<Object, Object> readAccessor, Object bean) {
+        return bean == null ? null : readAccessor.apply(bean);
+    }
+
+    private static Object getOrCreate(Function<Object, Object> readAccessor, BeanProperty<Object, Object> beanProperty,
+                                      BeanPath<?, ?> path, Object bean)
+    {
+        final Object value = readAccessor.apply(bean);
+        return value != null ? value : path.instantiateIntermediate(beanProperty, bean);
+    }
+
+    private static void accept(BiConsumer<Object, Object> writeAccessor, Object bean, Object value) {
+        writeAccessor.accept(bean, value);
+    }
+
+    private static void readOnly(BeanProperty<?, ?> beanProperty, Object bean, Object value) {
+        throw new ReadOnlyPropertyException("Property '" + beanProperty + "' is read-only");
+    }
+}
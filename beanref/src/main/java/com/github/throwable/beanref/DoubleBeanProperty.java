@@ -0,0 +1,102 @@
+package com.github.throwable.beanref;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * DoubleBeanProperty represents a reference to a double property which can be accessed without boxing.
+ * @param <BEAN> bean class
+ */
+public class DoubleBeanProperty<BEAN> extends BeanProperty<BEAN, Double>
+{
+    private final ToDoubleFunction<BEAN> doubleReadAccessor;
+    /* Nullable */
+    private final ObjDoubleConsumer<BEAN> doubleWriteAccessor;
+
+
+    DoubleBeanProperty(Class<BEAN> beanClass, Class<Double> type, String name,
+                 Function<BEAN, Double> readAccessor,
+            /*Nullable*/ BiConsumer<BEAN, Double> writeAccessor,
+                 Supplier<Supplier<Double>> instantiatorSupplier,
+                 ToDoubleFunction<BEAN> doubleReadAccessor,
+            /*Nullable*/ ObjDoubleConsumer<BEAN> doubleWriteAccessor)
+    {
+        this(beanClass, type, name, readAccessor, writeAccessor, instantiatorSupplier, doubleReadAccessor, doubleWriteAccessor, null);
+    }
+
+    DoubleBeanProperty(Class<BEAN> beanClass, Class<Double> type, String name,
+                 Function<BEAN, Double> readAccessor,
+            /*Nullable*/ BiConsumer<BEAN, Double> writeAccessor,
+                 Supplier<Supplier<Double>> instantiatorSupplier,
+                 ToDoubleFunction<BEAN> doubleReadAccessor,
+            /*Nullable*/ ObjDoubleConsumer<BEAN> doubleWriteAccessor,
+            /*Nullable*/ Object elementKey)
+    {
+        super(beanClass, type, type, name, readAccessor, writeAccessor, instantiatorSupplier, elementKey);
+        this.doubleReadAccessor = doubleReadAccessor;
+        this.doubleWriteAccessor = doubleWriteAccessor;
+    }
+
+    /**
+     * @return read accessor to a property that does not box the value
+     */
+    public ToDoubleFunction<BEAN> getDoubleReadAccessor() {
+        return doubleReadAccessor;
+    }
+
+    /**
+     * @return write accessor to a property that does not unbox the value or null if property is read-only
+     */
+    public ObjDoubleConsumer<BEAN> getDoubleWriteAccessor() {
+        return doubleWriteAccessor;
+    }
+
+    /**
+     * Get property's value without boxing
+     * @param bean a bean
+     * @return property value
+     */
+    public double getDouble(BEAN bean) {
+        return doubleReadAccessor.applyAsDouble(bean);
+    }
+
+    /**
+     * Get property's value without boxing
+     * @param bean a bean
+     * @param defaultValue value returned if the property is an array element with index out of range
+     * @return property value or defaultValue if the element is missing
+     */
+    double getDoubleOrDefault(BEAN bean, double defaultValue) {
+        return doubleReadAccessor instanceof BeanPropertyResolver.DoubleArrayIndexAccessor ?
+                ((BeanPropertyResolver.DoubleArrayIndexAccessor<BEAN>) doubleReadAccessor).applyAsDouble(bean, defaultValue) :
+                doubleReadAccessor.applyAsDouble(bean);
+    }
+
+    /**
+     * @param defaultValue value returned if the property is an array element with index out of range
+     * @return read accessor to a property that does not box the value
+     */
+    ToDoubleFunction<BEAN> getDoubleReadAccessor(double defaultValue) {
+        if (doubleReadAccessor instanceof BeanPropertyResolver.DoubleArrayIndexAccessor) {
+            final BeanPropertyResolver.DoubleArrayIndexAccessor<BEAN> accessor =
+                    (BeanPropertyResolver.DoubleArrayIndexAccessor<BEAN>) doubleReadAccessor;
+            return bean -> accessor.applyAsDouble(bean, defaultValue);
+        }
+        return doubleReadAccessor;
+    }
+
+    /**
+     * Set property's value without unboxing
+     * @param bean a bean
+     * @param value value to set
+     * @throws ReadOnlyPropertyException if the property is read-only
+     */
+    public void setDouble(BEAN bean, double value) {
+        if (doubleWriteAccessor == null)
+            throw new ReadOnlyPropertyException("Property '" + toString() + "' is read-only");
+        doubleWriteAccessor.accept(bean, value);
+    }
+}
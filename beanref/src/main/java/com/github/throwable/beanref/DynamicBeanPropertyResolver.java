@@ -0,0 +1,358 @@
+package com.github.throwable.beanref;
+
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+public class DynamicBeanPropertyResolver
+{
+    @SuppressWarnings("rawtypes")
+    private static final ClassCache<BeanMetadata> resolvedBeanMetadataCache =
+            new ClassCache<>(DynamicBeanPropertyResolver::resolveBeanMetadataImpl);
+    /* Max number of parsed string paths cached per root class */
+    private static final int PATH_CACHE_SIZE = Integer.getInteger("beanref.pathCacheSize", 1024);
+    @SuppressWarnings("rawtypes")
+    private static final ClassCache<BoundedCache<String, BeanPath>> resolvedBeanPathCache =
+            new ClassCache<>(beanClass -> new BoundedCache<>(PATH_CACHE_SIZE));
+    /* Metadata and parsed paths of parameterized types are attached to the most specific class of the type */
+    @SuppressWarnings("rawtypes")
+    private static final ClassCache<ConcurrentHashMap<Type, BeanMetadata>> resolvedGenericBeanMetadataCache =
+            new ClassCache<>(anchorClass -> new ConcurrentHashMap<>());
+    @SuppressWarnings("rawtypes")
+    private static final ClassCache<BoundedCache<Map.Entry<Type, String>, BeanPath>> resolvedGenericBeanPathCache =
+            new ClassCache<>(anchorClass -> new BoundedCache<>(PATH_CACHE_SIZE));
+    /* Indexed by max depth */
+    @SuppressWarnings("rawtypes")
+    private static final ClassCache<ConcurrentHashMap<Integer, BeanSchema>> resolvedBeanSchemaCache =
+            new ClassCache<>(beanClass -> new ConcurrentHashMap<>());
+    /* Schemas of nested beans prefixed with a path, attached to the root class of the path and indexed by max depth */
+    @SuppressWarnings("rawtypes")
+    private static final ClassCache<BoundedCache<Map.Entry<BeanPath, Integer>, BeanSchema>> resolvedPathSchemaCache =
+            new ClassCache<>(rootClass -> new BoundedCache<>(PATH_CACHE_SIZE));
+
+    @SuppressWarnings("unchecked")
+    static <BEAN, T> BeanProperty<BEAN, T> resolveBeanProperty(Class<BEAN> beanClass, String propertyName, Class<T> type) {
+        final BeanProperty<BEAN, ?> beanProperty = resolveBeanProperty(beanClass, propertyName);
+        if (!type.isAssignableFrom(beanProperty.getType()))
+            throw new IllegalArgumentException("Wrong type specified for property '" + propertyName + "' does not exist in bean " + beanClass.getSimpleName());
+        return (BeanProperty<BEAN, T>) beanProperty;
+    }
+
+    static <BEAN> BeanProperty<BEAN, ?> resolveBeanProperty(Class<BEAN> beanClass, String propertyName) {
+        return resolveBeanProperty((Type) beanClass, propertyName);
+    }
+
+    /**
+     * Resolve a property by its getter or, if the bean has no such getter, by a public field
+     */
+    @SuppressWarnings("unchecked")
+    private static <BEAN> BeanProperty<BEAN, ?> resolveBeanProperty(Type beanType, String propertyName) {
+        final BeanProperty<BEAN, ?> beanProperty =
+                ((BeanMetadata<BEAN>) resolveBeanMetadata(beanType)).getProperty(propertyName);
+        if (beanProperty != null)
+            return beanProperty;
+        final Class<BEAN> beanClass = (Class<BEAN>) GenericTypes.rawClass(beanType);
+        final Field field = BeanPropertyResolver.findField(beanClass, propertyName);
+        if (field == null || !Modifier.isPublic(field.getModifiers()))
+            throw new IllegalArgumentException("Property '" + propertyName + "' does not exist in bean "
+                    + beanClass.getSimpleName());
+        return resolveFieldProperty(beanType, propertyName);
+    }
+
+    /**
+     * Resolve a property that accesses a field of any visibility directly
+     * @throws IllegalArgumentException if the bean has no such field
+     */
+    @SuppressWarnings("unchecked")
+    static <BEAN> BeanProperty<BEAN, ?> resolveFieldProperty(Type beanType, String fieldName) {
+        final Class<BEAN> beanClass = (Class<BEAN>) GenericTypes.rawClass(beanType);
+        final BeanProperty<BEAN, ?> beanProperty = BeanPropertyResolver.resolveFieldBeanProperty(beanClass, fieldName);
+        if (beanProperty == null)
+            throw new IllegalArgumentException("Field '" + fieldName + "' does not exist in bean "
+                    + beanClass.getSimpleName());
+        return BeanPropertyResolver.specialize(beanProperty, beanType);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <BEAN, T> BeanProperty<BEAN, T> resolveFieldProperty(Type beanType, String fieldName, Class<T> type) {
+        final BeanProperty<BEAN, ?> beanProperty = resolveFieldProperty(beanType, fieldName);
+        // primitive fields are accessed boxed
+        if (!type.isAssignableFrom(MethodType.methodType(beanProperty.getType()).wrap().returnType()))
+            throw new IllegalArgumentException("Wrong type specified for field '" + fieldName + "' in bean "
+                    + GenericTypes.rawClass(beanType).getSimpleName());
+        return (BeanProperty<BEAN, T>) beanProperty;
+    }
+
+
+    @SuppressWarnings("unchecked")
+    static <BEAN, T> BeanPath<BEAN, T> resolveBeanPath(Type beanType, String path, Class<T> type) {
+        final BeanPath<BEAN, ?> beanPath = resolveBeanPath(beanType, path);
+        if (!type.isAssignableFrom(beanPath.getType()))
+            throw new IllegalArgumentException("Wrong type specified for property '" + path + "' does not exist in bean "
+                    + GenericTypes.rawClass(beanType).getSimpleName());
+        return (BeanPath<BEAN, T>) beanPath;
+    }
+
+    /**
+     * Resolve a path of property names separated by '.'.
+     * Resolved paths are immutable and shared, single-property paths are resolved to the property itself.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static <BEAN> BeanPath<BEAN, ?> resolveBeanPath(Class<BEAN> beanClass, String path) {
+        final BoundedCache<String, BeanPath> cache = resolvedBeanPathCache.get(beanClass);
+        final BeanPath beanPath = cache.get(path);
+        if (beanPath != null)
+            return beanPath;
+        return cache.putIfAbsent(path, parseBeanPath(beanClass, path));
+    }
+
+    /**
+     * Resolve a path of property names separated by '.' against a parameterized type,
+     * so the types of properties have type variables resolved.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static <BEAN> BeanPath<BEAN, ?> resolveBeanPath(Type beanType, String path) {
+        if (beanType instanceof Class)
+            return resolveBeanPath((Class<BEAN>) beanType, path);
+        final BoundedCache<Map.Entry<Type, String>, BeanPath> cache =
+                resolvedGenericBeanPathCache.get(GenericTypes.anchorClass(beanType));
+        final Map.Entry<Type, String> key = new AbstractMap.SimpleImmutableEntry<>(beanType, path);
+        final BeanPath beanPath = cache.get(key);
+        if (beanPath != null)
+            return beanPath;
+        return cache.putIfAbsent(key, parseBeanPath(beanType, path));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <BEAN> BeanPath<BEAN, ?> parseBeanPath(Type beanType, String path) {
+        final ArrayList<BeanProperty<?, ?>> properties = new ArrayList<>();
+        Type currentType = beanType;
+        int start = 0;
+        for (int i = 0; i <= path.length(); i++) {
+            if (i == path.length() || path.charAt(i) == '.') {
+                final BeanProperty<?, ?> beanProperty = resolveBeanProperty(currentType, path.substring(start, i));
+                properties.add(beanProperty);
+                currentType = beanProperty.getGenericType();
+                start = i + 1;
+            }
+        }
+        if (properties.size() == 1)
+            return (BeanProperty<BEAN, ?>) properties.get(0);
+        return new BeanPath<>(null, properties);
+    }
+
+
+    @SuppressWarnings("unchecked")
+    static <BEAN> BeanMetadata<BEAN> resolveBeanMetadata(Class<BEAN> beanClass) {
+        return resolvedBeanMetadataCache.get(beanClass);
+    }
+
+    /**
+     * Resolve metadata of a parameterized type: properties have type variables resolved against type arguments.
+     * Metadata of other types is the metadata of their raw class.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static BeanMetadata<?> resolveBeanMetadata(Type beanType) {
+        if (!(beanType instanceof ParameterizedType))
+            return resolveBeanMetadata(GenericTypes.rawClass(beanType));
+        return resolvedGenericBeanMetadataCache.get(GenericTypes.anchorClass(beanType))
+                .computeIfAbsent(beanType, type -> resolveGenericBeanMetadataImpl(type));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static BeanMetadata<?> resolveGenericBeanMetadataImpl(Type beanType) {
+        final BeanMetadata<Object> metadata = (BeanMetadata<Object>) resolveBeanMetadata(GenericTypes.rawClass(beanType));
+        final BeanProperty[] properties = new BeanProperty[metadata.size()];
+        for (int i = 0; i < properties.length; i++)
+            properties[i] = BeanPropertyResolver.specialize(metadata.getProperty(i), beanType);
+        return new BeanMetadata<>(metadata.getBeanClass(), properties);
+    }
+
+
+    /**
+     * Resolve leaf paths of the bean walking nested beans recursively up to maxDepth properties
+     */
+    @SuppressWarnings("unchecked")
+    static <BEAN> BeanSchema<BEAN> resolveBeanSchema(Class<BEAN> beanClass, int maxDepth) {
+        if (maxDepth < 1)
+            throw new IllegalArgumentException("Max depth must be positive: " + maxDepth);
+        return resolvedBeanSchemaCache.get(beanClass)
+                .computeIfAbsent(maxDepth, depth -> resolveBeanSchemaImpl(beanClass, depth));
+    }
+
+    /**
+     * Resolve leaf paths of the path's nested bean prefixed with the path
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static <ROOT> BeanSchema<ROOT> resolveBeanSchema(BeanPath<ROOT, ?> path, int maxDepth) {
+        final BoundedCache<Map.Entry<BeanPath, Integer>, BeanSchema> cache =
+                resolvedPathSchemaCache.get(path.getBeanClass());
+        final Map.Entry<BeanPath, Integer> key = new AbstractMap.SimpleImmutableEntry<>(path, maxDepth);
+        final BeanSchema schema = cache.get(key);
+        if (schema != null)
+            return schema;
+        final BeanSchema<?> nestedSchema = resolveBeanSchema(path.getType(), maxDepth);
+        final ArrayList<BeanPath<ROOT, ?>> paths = new ArrayList<>(nestedSchema.size());
+        for (BeanPath<?, ?> nestedPath : nestedSchema.getPaths())
+            paths.add(new BeanPath<>(path, nestedPath));
+        return cache.putIfAbsent(key, new BeanSchema<>(path.getBeanClass(), maxDepth, paths));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <BEAN> BeanSchema<BEAN> resolveBeanSchemaImpl(Class<BEAN> beanClass, int maxDepth) {
+        final ArrayList<BeanPath<BEAN, ?>> paths = new ArrayList<>();
+        final HashSet<Class<?>> visiting = new HashSet<>();
+        visiting.add(beanClass);
+        collectLeafPaths(null, beanClass, 1, maxDepth, visiting, (List) paths);
+        return new BeanSchema<>(beanClass, maxDepth, paths);
+    }
+
+    /**
+     * Depth-first walk over nested beans. A property of a bean type is expanded unless max depth is reached
+     * or the type is already being expanded up the path (a cycle), in both cases it is listed as a leaf.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static void collectLeafPaths(/* Nullable */ BeanPath<?, ?> parent, Class<?> beanClass, int depth,
+                                         int maxDepth, Set<Class<?>> visiting, List<BeanPath<?, ?>> paths)
+    {
+        for (BeanProperty<?, ?> beanProperty : resolveBeanMetadata(beanClass).getProperties()) {
+            final BeanPath<?, ?> path = parent != null ? new BeanPath(parent, beanProperty) : beanProperty;
+            final Class<?> type = beanProperty.getType();
+            if (depth < maxDepth && isNestedBean(type) && visiting.add(type)) {
+                collectLeafPaths(path, type, depth + 1, maxDepth, visiting, paths);
+                visiting.remove(type);
+            } else
+                paths.add(path);
+        }
+    }
+
+    /**
+     * Platform classes (strings, numbers, dates, collections, etc.) are values, not nested beans
+     */
+    private static boolean isNestedBean(Class<?> type) {
+        if (type.isPrimitive() || type.isArray() || type.isEnum())
+            return false;
+        final String name = type.getName();
+        if (name.startsWith("java.") || name.startsWith("javax."))
+            return false;
+        return resolveBeanMetadata(type).size() > 0;
+    }
+
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <BEAN> BeanMetadata<BEAN> resolveBeanMetadataImpl(Class<BEAN> beanClass)
+    {
+        // sorted by name to assign stable ordinals
+        final TreeMap<String, BeanProperty<BEAN, ?>> map = new TreeMap<>();
+        final BeanModel<BEAN> beanModel = BeanPropertyResolver.findBeanModel(beanClass);
+        if (beanModel != null) {
+            for (BeanProperty<BEAN, ?> beanProperty : beanModel.getProperties())
+                map.put(beanProperty.getName(), beanProperty);
+            return new BeanMetadata<>(beanClass, map.values().toArray(new BeanProperty[0]));
+        }
+        for (Map.Entry<String, Method[]> entry : scanAccessors(beanClass).entrySet()) {
+            final Method getterMethod = entry.getValue()[0];
+            final Class<Object> type = (Class<Object>) getterMethod.getReturnType();
+            map.put(entry.getKey(), BeanPropertyResolver.createBeanProperty(beanClass, type, entry.getKey(),
+                    getterMethod, entry.getValue()[1]));
+        }
+        return new BeanMetadata<>(beanClass, map.values().toArray(new BeanProperty[0]));
+    }
+
+    /**
+     * Find getters and setters of all bean's properties
+     * @return getter and setter (or null) by property name
+     */
+    static TreeMap<String, Method[]> scanAccessors(Class<?> beanClass) {
+        final TreeMap<String, Method[]> accessors = new TreeMap<>();
+        final Method[] methods = beanClass.getMethods();
+
+        for (Method getterMethod : methods) {
+            // bridges of covariant getters duplicate the actual getter
+            if ((getterMethod.getModifiers() & Modifier.STATIC) != 0x0 || getterMethod.isBridge() ||
+                    getterMethod.getParameterCount() > 0 || Void.TYPE.equals(getterMethod.getReturnType()))
+                continue;
+            // skip Object.class methods
+            switch (getterMethod.getName()) {
+                case "hashCode":
+                case "getClass":
+                case "clone":   // Cloneable objects may re-define it as public
+                case "toString":
+                case "notify":
+                case "notifyAll":
+                    continue;
+            }
+            final Class<?> type = getterMethod.getReturnType();
+            final String propertyName = BeanPropertyResolver.resolvePropertyName(getterMethod.getName());
+            final Method[] existing = accessors.get(propertyName);
+            if (existing != null && !isPreferredGetter(getterMethod, existing[0]))
+                continue;
+            final Method setterMethod = BeanPropertyResolver.findSetterMethod(beanClass, propertyName, type, getterMethod.getName());
+            accessors.put(propertyName, new Method[] {getterMethod, setterMethod});
+        }
+        return accessors;
+    }
+
+    /**
+     * Choose between two getters of the same property independently of the order of {@link Class#getMethods()}:
+     * {@code getXxx()} wins over {@code isXxx()} that wins over {@code xxx()}, then the narrower return type wins.
+     * beanref-processor applies the same rule.
+     */
+    private static boolean isPreferredGetter(Method candidate, Method current) {
+        final int candidateRank = getterRank(candidate.getName());
+        final int currentRank = getterRank(current.getName());
+        if (candidateRank != currentRank)
+            return candidateRank < currentRank;
+        return candidate.getReturnType() != current.getReturnType() &&
+                current.getReturnType().isAssignableFrom(candidate.getReturnType());
+    }
+
+    private static int getterRank(String getterMethodName) {
+        if (getterMethodName.startsWith("get") && getterMethodName.length() > 3 &&
+                Character.isUpperCase(getterMethodName.charAt(3)))
+            return 0;
+        else if (getterMethodName.startsWith("is") && getterMethodName.length() > 2 &&
+                Character.isUpperCase(getterMethodName.charAt(2)))
+            return 1;
+        return 2;
+    }
+
+
+    public static class GetterReadAccessor<BEAN, TYPE> implements Function<BEAN, TYPE> {
+        private final Method getterMethod;
+
+        public GetterReadAccessor(Method getterMethod) {
+            this.getterMethod = getterMethod;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public TYPE apply(BEAN bean) {
+            try {
+                return (TYPE) getterMethod.invoke(bean);
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException(e);
+            } catch (InvocationTargetException e) {
+                if (e.getTargetException() instanceof RuntimeException)
+                    // unchecked: throw as is
+                    throw (RuntimeException) e.getTargetException();
+                else
+                    // checked: wrap into runtime
+                    throw new RuntimeException(e.getTargetException());
+            }
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.github.throwable.beanref;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Resolution of type variables of generic beans against actual type arguments
+ */
+final class GenericTypes {
+    private GenericTypes() {}
+
+
+    /**
+     * Create a parameterized type
+     * @throws IllegalArgumentException if the number of type arguments does not match the class
+     */
+    static ParameterizedType parameterize(Class<?> rawClass, Type... typeArguments) {
+        if (rawClass.getTypeParameters().length != typeArguments.length)
+            throw new IllegalArgumentException(rawClass.getName() + " has " + rawClass.getTypeParameters().length
+                    + " type parameters, but " + typeArguments.length + " type arguments given");
+        for (Type typeArgument : typeArguments)
+            Objects.requireNonNull(typeArgument);
+        return new ParameterizedTypeImpl(rawClass, typeArguments.clone(), rawClass.getDeclaringClass());
+    }
+
+    /**
+     * @return raw class of a type, upper bound for wildcards and type variables
+     */
+    static Class<?> rawClass(Type type) {
+        if (type instanceof Class)
+            return (Class<?>) type;
+        else if (type instanceof ParameterizedType)
+            return rawClass(((ParameterizedType) type).getRawType());
+        else if (type instanceof WildcardType)
+            return rawClass(((WildcardType) type).getUpperBounds()[0]);
+        else if (type instanceof TypeVariable)
+            return rawClass(((TypeVariable<?>) type).getBounds()[0]);
+        else if (type instanceof GenericArrayType)
+            return Array.newInstance(rawClass(((GenericArrayType) type).getGenericComponentType()), 0).getClass();
+        return Object.class;
+    }
+
+    /**
+     * @return type argument of a parameterized type or Object if it can not be determined (e.g. a raw type)
+     */
+    static Type typeArgument(Type type, int index) {
+        if (type instanceof ParameterizedType) {
+            final Type[] typeArguments = ((ParameterizedType) type).getActualTypeArguments();
+            if (typeArguments.length > index)
+                return typeArguments[index];
+        }
+        return Object.class;
+    }
+
+    /**
+     * @return component type of an array type or Object if it is not an array
+     */
+    static Type componentType(Type type) {
+        if (type instanceof GenericArrayType)
+            return ((GenericArrayType) type).getGenericComponentType();
+        else if (type instanceof Class && ((Class<?>) type).isArray())
+            return ((Class<?>) type).getComponentType();
+        return Object.class;
+    }
+
+    /**
+     * Substitute type variables of classes with type arguments they have in the context type,
+     * e.g. {@code List<T>} declared in {@code Page<T>} resolves to {@code List<Order>} in context of
+     * {@code Page<Order>} or of {@code class OrderPage extends Page<Order>}.
+     * Wildcards are replaced with their upper bounds. Variables that can not be resolved are left as is.
+     * @param type type of a member declared in the context's class or its supertypes
+     * @param context actual type of the bean
+     * @return resolved type
+     */
+    static Type resolve(Type type, Type context) {
+        if (type instanceof Class) {
+            return type;
+        } else if (type instanceof TypeVariable) {
+            final TypeVariable<?> typeVariable = (TypeVariable<?>) type;
+            if (!(typeVariable.getGenericDeclaration() instanceof Class))
+                return type;
+            final Class<?> declaringClass = (Class<?>) typeVariable.getGenericDeclaration();
+            final Type supertype = asSupertype(context, declaringClass);
+            if (!(supertype instanceof ParameterizedType))
+                return type;
+            final TypeVariable<?>[] typeParameters = declaringClass.getTypeParameters();
+            for (int i = 0; i < typeParameters.length; i++) {
+                if (typeParameters[i].equals(typeVariable))
+                    return ((ParameterizedType) supertype).getActualTypeArguments()[i];
+            }
+            return type;
+        } else if (type instanceof ParameterizedType) {
+            final ParameterizedType parameterizedType = (ParameterizedType) type;
+            final Type[] typeArguments = parameterizedType.getActualTypeArguments();
+            Type[] resolvedArguments = typeArguments;
+            for (int i = 0; i < typeArguments.length; i++) {
+                final Type resolved = resolve(typeArguments[i], context);
+                if (resolved != typeArguments[i]) {
+                    if (resolvedArguments == typeArguments)
+                        resolvedArguments = typeArguments.clone();
+                    resolvedArguments[i] = resolved;
+                }
+            }
+            return resolvedArguments == typeArguments ? type : new ParameterizedTypeImpl(
+                    (Class<?>) parameterizedType.getRawType(), resolvedArguments, parameterizedType.getOwnerType());
+        } else if (type instanceof WildcardType) {
+            final WildcardType wildcardType = (WildcardType) type;
+            if (wildcardType.getLowerBounds().length > 0)
+                return Object.class;
+            return resolve(wildcardType.getUpperBounds()[0], context);
+        } else if (type instanceof GenericArrayType) {
+            final Type componentType = resolve(((GenericArrayType) type).getGenericComponentType(), context);
+            if (componentType instanceof Class)
+                return Array.newInstance((Class<?>) componentType, 0).getClass();
+            return type;
+        }
+        return type;
+    }
+
+    /**
+     * @return true if the type contains type variables or wildcards that depend on a context
+     */
+    static boolean isGeneric(Type type) {
+        if (type instanceof Class)
+            return false;
+        else if (type instanceof ParameterizedType) {
+            for (Type typeArgument : ((ParameterizedType) type).getActualTypeArguments()) {
+                if (isGeneric(typeArgument))
+                    return true;
+            }
+            return false;
+        } else if (type instanceof GenericArrayType)
+            return isGeneric(((GenericArrayType) type).getGenericComponentType());
+        return true;
+    }
+
+    /**
+     * Find how the target class is parameterized as a supertype of the type
+     * @return parameterized supertype, raw class if it is not parameterized or null if it is not a supertype
+     */
+    private static /* Nullable */ Type asSupertype(Type type, Class<?> target) {
+        final Class<?> rawClass = rawClass(type);
+        if (rawClass == target)
+            return type;
+        if (!target.isAssignableFrom(rawClass))
+            return null;
+        final Type genericSuperclass = rawClass.getGenericSuperclass();
+        if (genericSuperclass != null) {
+            final Type supertype = asSupertype(resolve(genericSuperclass, type), target);
+            if (supertype != null)
+                return supertype;
+        }
+        for (Type genericInterface : rawClass.getGenericInterfaces()) {
+            final Type supertype = asSupertype(resolve(genericInterface, type), target);
+            if (supertype != null)
+                return supertype;
+        }
+        return null;
+    }
+
+    /**
+     * Pick a class of the type to attach caches of its specializations to. It is the class loaded
+     * by the most specific class loader, so the cache never pins a class loader it is not evicted with.
+     */
+    static Class<?> anchorClass(Type type) {
+        final ArrayList<Class<?>> classes = new ArrayList<>();
+        collectClasses(type, classes);
+        Class<?> anchor = rawClass(type);
+        for (Class<?> candidate : classes) {
+            if (isAncestor(anchor.getClassLoader(), candidate.getClassLoader()))
+                anchor = candidate;
+        }
+        return anchor;
+    }
+
+    private static void collectClasses(Type type, ArrayList<Class<?>> classes) {
+        if (type instanceof ParameterizedType) {
+            classes.add(rawClass(type));
+            for (Type typeArgument : ((ParameterizedType) type).getActualTypeArguments())
+                collectClasses(typeArgument, classes);
+        } else if (type instanceof GenericArrayType)
+            collectClasses(((GenericArrayType) type).getGenericComponentType(), classes);
+        else
+            classes.add(rawClass(type));
+    }
+
+    /**
+     * @return true if the first loader is a strict ancestor of the second one (null is the bootstrap loader)
+     */
+    private static boolean isAncestor(/* Nullable */ ClassLoader ancestor, /* Nullable */ ClassLoader loader) {
+        if (ancestor == loader || loader == null)
+            return false;
+        for (ClassLoader parent = loader.getParent(); ; parent = parent.getParent()) {
+            if (parent == ancestor)
+                return true;
+            if (parent == null)
+                return false;
+        }
+    }
+
+
+    /**
+     * Equal to parameterized types created by the JDK
+     */
+    private static final class ParameterizedTypeImpl implements ParameterizedType {
+        private final Class<?> rawType;
+        private final Type[] typeArguments;
+        /* Nullable */
+        private final Type ownerType;
+
+        private ParameterizedTypeImpl(Class<?> rawType, Type[] typeArguments, /* Nullable */ Type ownerType) {
+            this.rawType = rawType;
+            this.typeArguments = typeArguments;
+            this.ownerType = ownerType;
+        }
+
+        @Override
+        public Type[] getActualTypeArguments() {
+            return typeArguments.clone();
+        }
+
+        @Override
+        public Type getRawType() {
+            return rawType;
+        }
+
+        @Override
+        public /* Nullable */ Type getOwnerType() {
+            return ownerType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ParameterizedType)) return false;
+            final ParameterizedType that = (ParameterizedType) o;
+            return rawType.equals(that.getRawType()) && Objects.equals(ownerType, that.getOwnerType()) &&
+                    Arrays.equals(typeArguments, that.getActualTypeArguments());
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(typeArguments) ^ Objects.hashCode(ownerType) ^ rawType.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder sb = new StringBuilder(rawType.getName()).append('<');
+            for (int i = 0; i < typeArguments.length; i++) {
+                if (i > 0)
+                    sb.append(", ");
+                sb.append(typeArguments[i].getTypeName());
+            }
+            return sb.append('>').toString();
+        }
+    }
+}
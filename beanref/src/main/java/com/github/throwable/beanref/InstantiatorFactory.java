@@ -0,0 +1,26 @@
+package com.github.throwable.beanref;
+
+import java.util.function.Supplier;
+
+/**
+ * Creates instantiators of intermediate beans and containers that are implicitly created setting a value by path.
+ * A custom factory registered with {@link BeanRef#setInstantiatorFactory(InstantiatorFactory)} may e.g. take
+ * instances from a pool or allocate beans without calling their constructors. Types it does not handle
+ * fall back to {@link #DEFAULT}.
+ * The method is generic, so a factory is implemented by a class or a reference to a generic method, not by a lambda.
+ */
+public interface InstantiatorFactory {
+    /**
+     * Instantiates beans with their public no-args constructors. Instantiators are spun with
+     * {@link java.lang.invoke.LambdaMetafactory}, so they perform the same as {@code Bean::new}.
+     */
+    InstantiatorFactory DEFAULT = AccessorFactory::createConstructorInstantiator;
+
+    /**
+     * Called once per property on the first implicit instantiation and when the registered factory changes
+     * @param type bean or container class
+     * @return instantiator or null if this factory can not instantiate the type
+     */
+    /* Nullable */
+    <TYPE> Supplier<TYPE> createInstantiator(Class<TYPE> type);
+}
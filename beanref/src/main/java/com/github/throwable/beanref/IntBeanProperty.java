@@ -0,0 +1,102 @@
+package com.github.throwable.beanref;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * IntBeanProperty represents a reference to an int property which can be accessed without boxing.
+ * @param <BEAN> bean class
+ */
+public class IntBeanProperty<BEAN> extends BeanProperty<BEAN, Integer>
+{
+    private final ToIntFunction<BEAN> intReadAccessor;
+    /* Nullable */
+    private final ObjIntConsumer<BEAN> intWriteAccessor;
+
+
+    IntBeanProperty(Class<BEAN> beanClass, Class<Integer> type, String name,
+                 Function<BEAN, Integer> readAccessor,
+            /*Nullable*/ BiConsumer<BEAN, Integer> writeAccessor,
+                 Supplier<Supplier<Integer>> instantiatorSupplier,
+                 ToIntFunction<BEAN> intReadAccessor,
+            /*Nullable*/ ObjIntConsumer<BEAN> intWriteAccessor)
+    {
+        this(beanClass, type, name, readAccessor, writeAccessor, instantiatorSupplier, intReadAccessor, intWriteAccessor, null);
+    }
+
+    IntBeanProperty(Class<BEAN> beanClass, Class<Integer> type, String name,
+                 Function<BEAN, Integer> readAccessor,
+            /*Nullable*/ BiConsumer<BEAN, Integer> writeAccessor,
+                 Supplier<Supplier<Integer>> instantiatorSupplier,
+                 ToIntFunction<BEAN> intReadAccessor,
+            /*Nullable*/ ObjIntConsumer<BEAN> intWriteAccessor,
+            /*Nullable*/ Object elementKey)
+    {
+        super(beanClass, type, type, name, readAccessor, writeAccessor, instantiatorSupplier, elementKey);
+        this.intReadAccessor = intReadAccessor;
+        this.intWriteAccessor = intWriteAccessor;
+    }
+
+    /**
+     * @return read accessor to a property that does not box the value
+     */
+    public ToIntFunction<BEAN> getIntReadAccessor() {
+        return intReadAccessor;
+    }
+
+    /**
+     * @return write accessor to a property that does not unbox the value or null if property is read-only
+     */
+    public ObjIntConsumer<BEAN> getIntWriteAccessor() {
+        return intWriteAccessor;
+    }
+
+    /**
+     * Get property's value without boxing
+     * @param bean a bean
+     * @return property value
+     */
+    public int getInt(BEAN bean) {
+        return intReadAccessor.applyAsInt(bean);
+    }
+
+    /**
+     * Get property's value without boxing
+     * @param bean a bean
+     * @param defaultValue value returned if the property is an array element with index out of range
+     * @return property value or defaultValue if the element is missing
+     */
+    int getIntOrDefault(BEAN bean, int defaultValue) {
+        return intReadAccessor instanceof BeanPropertyResolver.IntArrayIndexAccessor ?
+                ((BeanPropertyResolver.IntArrayIndexAccessor<BEAN>) intReadAccessor).applyAsInt(bean, defaultValue) :
+                intReadAccessor.applyAsInt(bean);
+    }
+
+    /**
+     * @param defaultValue value returned if the property is an array element with index out of range
+     * @return read accessor to a property that does not box the value
+     */
+    ToIntFunction<BEAN> getIntReadAccessor(int defaultValue) {
+        if (intReadAccessor instanceof BeanPropertyResolver.IntArrayIndexAccessor) {
+            final BeanPropertyResolver.IntArrayIndexAccessor<BEAN> accessor =
+                    (BeanPropertyResolver.IntArrayIndexAccessor<BEAN>) intReadAccessor;
+            return bean -> accessor.applyAsInt(bean, defaultValue);
+        }
+        return intReadAccessor;
+    }
+
+    /**
+     * Set property's value without unboxing
+     * @param bean a bean
+     * @param value value to set
+     * @throws ReadOnlyPropertyException if the property is read-only
+     */
+    public void setInt(BEAN bean, int value) {
+        if (intWriteAccessor == null)
+            throw new ReadOnlyPropertyException("Property '" + toString() + "' is read-only");
+        intWriteAccessor.accept(bean, value);
+    }
+}
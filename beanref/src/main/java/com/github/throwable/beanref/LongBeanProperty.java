@@ -0,0 +1,102 @@
+package com.github.throwable.beanref;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * LongBeanProperty represents a reference to a long property which can be accessed without boxing.
+ * @param <BEAN> bean class
+ */
+public class LongBeanProperty<BEAN> extends BeanProperty<BEAN, Long>
+{
+    private final ToLongFunction<BEAN> longReadAccessor;
+    /* Nullable */
+    private final ObjLongConsumer<BEAN> longWriteAccessor;
+
+
+    LongBeanProperty(Class<BEAN> beanClass, Class<Long> type, String name,
+                 Function<BEAN, Long> readAccessor,
+            /*Nullable*/ BiConsumer<BEAN, Long> writeAccessor,
+                 Supplier<Supplier<Long>> instantiatorSupplier,
+                 ToLongFunction<BEAN> longReadAccessor,
+            /*Nullable*/ ObjLongConsumer<BEAN> longWriteAccessor)
+    {
+        this(beanClass, type, name, readAccessor, writeAccessor, instantiatorSupplier, longReadAccessor, longWriteAccessor, null);
+    }
+
+    LongBeanProperty(Class<BEAN> beanClass, Class<Long> type, String name,
+                 Function<BEAN, Long> readAccessor,
+            /*Nullable*/ BiConsumer<BEAN, Long> writeAccessor,
+                 Supplier<Supplier<Long>> instantiatorSupplier,
+                 ToLongFunction<BEAN> longReadAccessor,
+            /*Nullable*/ ObjLongConsumer<BEAN> longWriteAccessor,
+            /*Nullable*/ Object elementKey)
+    {
+        super(beanClass, type, type, name, readAccessor, writeAccessor, instantiatorSupplier, elementKey);
+        this.longReadAccessor = longReadAccessor;
+        this.longWriteAccessor = longWriteAccessor;
+    }
+
+    /**
+     * @return read accessor to a property that does not box the value
+     */
+    public ToLongFunction<BEAN> getLongReadAccessor() {
+        return longReadAccessor;
+    }
+
+    /**
+     * @return write accessor to a property that does not unbox the value or null if property is read-only
+     */
+    public ObjLongConsumer<BEAN> getLongWriteAccessor() {
+        return longWriteAccessor;
+    }
+
+    /**
+     * Get property's value without boxing
+     * @param bean a bean
+     * @return property value
+     */
+    public long getLong(BEAN bean) {
+        return longReadAccessor.applyAsLong(bean);
+    }
+
+    /**
+     * Get property's value without boxing
+     * @param bean a bean
+     * @param defaultValue value returned if the property is an array element with index out of range
+     * @return property value or defaultValue if the element is missing
+     */
+    long getLongOrDefault(BEAN bean, long defaultValue) {
+        return longReadAccessor instanceof BeanPropertyResolver.LongArrayIndexAccessor ?
+                ((BeanPropertyResolver.LongArrayIndexAccessor<BEAN>) longReadAccessor).applyAsLong(bean, defaultValue) :
+                longReadAccessor.applyAsLong(bean);
+    }
+
+    /**
+     * @param defaultValue value returned if the property is an array element with index out of range
+     * @return read accessor to a property that does not box the value
+     */
+    ToLongFunction<BEAN> getLongReadAccessor(long defaultValue) {
+        if (longReadAccessor instanceof BeanPropertyResolver.LongArrayIndexAccessor) {
+            final BeanPropertyResolver.LongArrayIndexAccessor<BEAN> accessor =
+                    (BeanPropertyResolver.LongArrayIndexAccessor<BEAN>) longReadAccessor;
+            return bean -> accessor.applyAsLong(bean, defaultValue);
+        }
+        return longReadAccessor;
+    }
+
+    /**
+     * Set property's value without unboxing
+     * @param bean a bean
+     * @param value value to set
+     * @throws ReadOnlyPropertyException if the property is read-only
+     */
+    public void setLong(BEAN bean, long value) {
+        if (longWriteAccessor == null)
+            throw new ReadOnlyPropertyException("Property '" + toString() + "' is read-only");
+        longWriteAccessor.accept(bean, value);
+    }
+}
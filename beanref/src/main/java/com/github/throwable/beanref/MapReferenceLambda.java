@@ -0,0 +1,11 @@
+package com.github.throwable.beanref;
+
+import java.util.Map;
+
+/**
+ * Method reference to a map getter. Exists only to tell map references from collection references
+ * as their generic signatures have the same erasure. Like {@link ArrayReferenceLambda}, it is meant for exact
+ * method references only.
+ */
+public interface MapReferenceLambda<BEAN, K, V> extends MethodReferenceLambda<BEAN, Map<K, V>> {
+}
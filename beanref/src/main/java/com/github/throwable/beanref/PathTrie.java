@@ -0,0 +1,158 @@
+package com.github.throwable.beanref;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Prefix tree of bean paths that start from the same root. Every node stands for a property reached by
+ * a distinct prefix and gets a slot number: slot 0 is reserved for the root bean and nodes are numbered
+ * from 1 in insertion order, so a parent always precedes its children. This allows to evaluate all
+ * the paths with a single loop over the nodes that stores every dereferenced bean into its slot once.
+ */
+final class PathTrie {
+    private final ArrayList<BeanProperty<?, ?>> properties = new ArrayList<>();
+    private final ArrayList<BeanPath<?, ?>> paths = new ArrayList<>();
+    private final ArrayList<Integer> parents = new ArrayList<>();
+    private final ArrayList<Integer> childCounts = new ArrayList<>();
+    private final HashMap<NodeKey, Integer> slots = new HashMap<>();
+
+
+    /**
+     * Add a path to the tree reusing its existing prefix nodes
+     * @return the slot of the path's last property
+     */
+    int add(BeanPath<?, ?> path) {
+        int slot = 0;
+        for (BeanProperty<?, ?> beanProperty : path) {
+            final NodeKey key = new NodeKey(slot, beanProperty);
+            Integer child = slots.get(key);
+            if (child == null) {
+                properties.add(beanProperty);
+                paths.add(path);
+                parents.add(slot);
+                childCounts.add(0);
+                if (slot > 0)
+                    childCounts.set(slot - 1, childCounts.get(slot - 1) + 1);
+                child = properties.size();
+                slots.put(key, child);
+            }
+            slot = child;
+        }
+        return slot;
+    }
+
+    /**
+     * @return number of nodes, not counting the root slot
+     */
+    int size() {
+        return properties.size();
+    }
+
+    /**
+     * @return node properties indexed by slot-1
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    BeanProperty<Object, Object>[] getProperties() {
+        return properties.toArray(new BeanProperty[0]);
+    }
+
+    /**
+     * @return the path that created a node, indexed by slot-1
+     */
+    BeanPath<?, ?>[] getPaths() {
+        return paths.toArray(new BeanPath<?, ?>[0]);
+    }
+
+    /**
+     * @return parent slots indexed by slot-1
+     */
+    int[] getParents() {
+        return parents.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * @return true if a node of the given slot has children
+     */
+    boolean isIntermediate(int slot) {
+        return childCounts.get(slot - 1) > 0;
+    }
+
+    /**
+     * Chain void method handles of the same type into one that invokes them in order.
+     * Handles are folded as a balanced tree to keep the nesting depth logarithmic, so the JIT is able to inline
+     * the whole chain.
+     */
+    static MethodHandle sequence(List<MethodHandle> steps) {
+        return sequence(steps, 0, steps.size());
+    }
+
+    private static MethodHandle sequence(List<MethodHandle> steps, int from, int to) {
+        if (to - from == 1)
+            return steps.get(from);
+        final int mid = (from + to) >>> 1;
+        return MethodHandles.foldArguments(sequence(steps, mid, to), sequence(steps, from, mid));
+    }
+
+
+    /**
+     * Evaluation frames of one compiled program reused by the calling threads. A thread takes its frame out
+     * for the time of evaluation, so a nested evaluation of the same program, e.g. from an accessor, gets
+     * a fresh frame instead of overwriting slots in use. A released frame is cleared to not retain beans.
+     */
+    static final class Frames {
+        private final int frameSize;
+        private final ThreadLocal<Object[][]> cached = ThreadLocal.withInitial(() -> new Object[1][]);
+
+        Frames(int frameSize) {
+            this.frameSize = frameSize;
+        }
+
+        /**
+         * @return cached holder of the current thread to pass back to {@link #release(Object[][], Object[])}
+         */
+        Object[][] holder() {
+            return cached.get();
+        }
+
+        Object[] take(Object[][] holder) {
+            final Object[] frame = holder[0];
+            if (frame == null)
+                return new Object[frameSize];
+            holder[0] = null;
+            return frame;
+        }
+
+        void release(Object[][] holder, Object[] frame) {
+            Arrays.fill(frame, null);
+            holder[0] = frame;
+        }
+    }
+
+    private static class NodeKey {
+        private final int parent;
+        private final BeanProperty<?, ?> beanProperty;
+
+        NodeKey(int parent, BeanProperty<?, ?> beanProperty) {
+            this.parent = parent;
+            this.beanProperty = beanProperty;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            NodeKey that = (NodeKey) o;
+            return parent == that.parent && beanProperty.equals(that.beanProperty);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(parent, beanProperty);
+        }
+    }
+}
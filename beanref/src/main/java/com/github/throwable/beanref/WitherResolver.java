@@ -0,0 +1,169 @@
+package com.github.throwable.beanref;
+
+import java.beans.ConstructorProperties;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Resolves withers of immutable beans: functions that return a copy of the bean with one property replaced.
+ * A wither is either a {@code withXxx(value)} method or the canonical constructor of a record or of a class
+ * whose constructor is annotated with {@link ConstructorProperties}. Records are detected reflectively,
+ * so they are supported when running on Java 16+.
+ */
+final class WitherResolver {
+    /* Class.isRecord() and Class.getRecordComponents(), null before Java 16 */
+    private static final Method IS_RECORD = findMethod(Class.class, "isRecord");
+    private static final Method GET_RECORD_COMPONENTS = findMethod(Class.class, "getRecordComponents");
+
+    @SuppressWarnings("rawtypes")
+    private static final ClassCache<Optional<CanonicalConstructor>> canonicalConstructorCache =
+            new ClassCache<>(beanClass -> Optional.ofNullable(resolveCanonicalConstructor(beanClass)));
+    /* Indexed by property name */
+    @SuppressWarnings("rawtypes")
+    private static final ClassCache<ConcurrentHashMap<String, Optional<BiFunction>>> resolvedWithersCache =
+            new ClassCache<>(beanClass -> new ConcurrentHashMap<>());
+
+
+    private WitherResolver() {}
+
+
+    /**
+     * @return wither of the property or null if the bean has no wither method and no canonical constructor
+     * that takes the property
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static /* Nullable */ <BEAN, TYPE> BiFunction<BEAN, TYPE, BEAN> resolveWither(BeanProperty<BEAN, TYPE> beanProperty) {
+        final ConcurrentHashMap<String, Optional<BiFunction>> withers =
+                resolvedWithersCache.get(beanProperty.getBeanClass());
+        Optional<BiFunction> wither = withers.get(beanProperty.getName());
+        if (wither == null) {
+            wither = Optional.ofNullable(resolveWitherImpl(beanProperty));
+            wither = Optional.ofNullable(withers.putIfAbsent(beanProperty.getName(), wither)).orElse(wither);
+        }
+        return wither.orElse(null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static /* Nullable */ <BEAN, TYPE> BiFunction<BEAN, TYPE, BEAN> resolveWitherImpl(
+            BeanProperty<BEAN, TYPE> beanProperty)
+    {
+        final Class<BEAN> beanClass = beanProperty.getBeanClass();
+        final String name = beanProperty.getName();
+        if (name.isEmpty())
+            return null;
+        final String witherName = "with" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        try {
+            final Method witherMethod = beanClass.getMethod(witherName, beanProperty.getType());
+            if (!Modifier.isStatic(witherMethod.getModifiers()) &&
+                    beanClass.isAssignableFrom(witherMethod.getReturnType()))
+            {
+                final BiFunction<BEAN, TYPE, BEAN> wither = AccessorFactory.createWitherAccessor(witherMethod);
+                if (wither != null)
+                    return wither;
+            }
+        } catch (NoSuchMethodException e) {
+            // try the canonical constructor
+        }
+        final CanonicalConstructor<BEAN> canonicalConstructor = canonicalConstructorCache.get(beanClass).orElse(null);
+        if (canonicalConstructor == null)
+            return null;
+        final int index = canonicalConstructor.indexOf(name);
+        if (index < 0)
+            return null;
+        return AccessorFactory.createConstructorWitherAccessor(canonicalConstructor.constructor, index,
+                canonicalConstructor.readAccessors);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static /* Nullable */ <BEAN> CanonicalConstructor<BEAN> resolveCanonicalConstructor(Class<BEAN> beanClass) {
+        if (isRecord(beanClass)) {
+            try {
+                final Object[] components = (Object[]) GET_RECORD_COMPONENTS.invoke(beanClass);
+                final String[] names = new String[components.length];
+                final Class<?>[] types = new Class<?>[components.length];
+                for (int i = 0; i < components.length; i++) {
+                    final Class<?> componentClass = components[i].getClass();
+                    names[i] = (String) componentClass.getMethod("getName").invoke(components[i]);
+                    types[i] = (Class<?>) componentClass.getMethod("getType").invoke(components[i]);
+                }
+                return createCanonicalConstructor(beanClass.getDeclaredConstructor(types), names);
+            } catch (ReflectiveOperationException e) {
+                return null;
+            }
+        }
+        for (Constructor<?> constructor : beanClass.getConstructors()) {
+            final ConstructorProperties constructorProperties = constructor.getAnnotation(ConstructorProperties.class);
+            if (constructorProperties != null &&
+                    constructorProperties.value().length == constructor.getParameterCount())
+            {
+                return createCanonicalConstructor((Constructor<BEAN>) constructor, constructorProperties.value());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return canonical constructor or null if some of its arguments are not bean's properties
+     */
+    private static /* Nullable */ <BEAN> CanonicalConstructor<BEAN> createCanonicalConstructor(
+            Constructor<BEAN> constructor, String[] names)
+    {
+        final Class<BEAN> beanClass = constructor.getDeclaringClass();
+        final BeanMetadata<BEAN> beanMetadata = DynamicBeanPropertyResolver.resolveBeanMetadata(beanClass);
+        final Function<?, ?>[] readAccessors = new Function<?, ?>[names.length];
+        for (int i = 0; i < names.length; i++) {
+            BeanProperty<BEAN, ?> beanProperty = beanMetadata.getProperty(names[i]);
+            if (beanProperty == null)
+                beanProperty = BeanPropertyResolver.resolveFieldBeanProperty(beanClass, names[i]);
+            if (beanProperty == null)
+                return null;
+            readAccessors[i] = beanProperty.getReadAccessor();
+        }
+        return new CanonicalConstructor<>(constructor, names, readAccessors);
+    }
+
+    private static boolean isRecord(Class<?> beanClass) {
+        if (IS_RECORD == null || GET_RECORD_COMPONENTS == null)
+            return false;
+        try {
+            return (Boolean) IS_RECORD.invoke(beanClass);
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+
+    private static /* Nullable */ Method findMethod(Class<?> type, String name) {
+        try {
+            return type.getMethod(name);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+
+    private static final class CanonicalConstructor<BEAN> {
+        private final Constructor<BEAN> constructor;
+        /* Property names in the order of constructor's arguments */
+        private final String[] names;
+        private final Function<?, ?>[] readAccessors;
+
+        private CanonicalConstructor(Constructor<BEAN> constructor, String[] names, Function<?, ?>[] readAccessors) {
+            this.constructor = constructor;
+            this.names = names;
+            this.readAccessors = readAccessors;
+        }
+
+        private int indexOf(String name) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(name))
+                    return i;
+            }
+            return -1;
+        }
+    }
+}
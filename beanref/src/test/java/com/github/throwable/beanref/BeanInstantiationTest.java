@@ -0,0 +1,99 @@
+package com.github.throwable.beanref;
+
+import com.github.throwable.beanref.beans.*;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static com.github.throwable.beanref.BeanRef.$;
+import static com.github.throwable.beanref.BeanRef.$$;
+import static org.junit.Assert.*;
+
+public class BeanInstantiationTest {
+    @Test
+    public void testInstantiatorFactory() {
+        final Address pooledAddress = new Address();
+        final List<Class<?>> requestedTypes = new ArrayList<>();
+        BeanRef.setInstantiatorFactory(new InstantiatorFactory() {
+            @Override
+            public <TYPE> Supplier<TYPE> createInstantiator(Class<TYPE> type) {
+                requestedTypes.add(type);
+                return type == Address.class ? () -> type.cast(pooledAddress) : null;
+            }
+        });
+        try {
+            final Person person = new Person();
+            $(Person::getContact).$(Contact::getAddress).$(Address::getCity).set(person, "Noville");
+            // the factory supplies addresses, contacts fall back to the default instantiator
+            assertSame(pooledAddress, person.getContact().getAddress());
+            assertNotNull(person.getContact());
+            assertTrue(requestedTypes.contains(Contact.class));
+
+            // collections are created by the factory as well
+            $(Person::getContact).$$(Contact::getPhoneList).$(Phone::getPhone).set(person, "555-000-002");
+            assertTrue(requestedTypes.contains(ArrayList.class));
+            assertEquals(1, person.getContact().getPhoneList().size());
+        } finally {
+            BeanRef.setInstantiatorFactory(InstantiatorFactory.DEFAULT);
+        }
+
+        // instantiators are resolved again with the default factory
+        final Person person = new Person();
+        $(Person::getContact).$(Contact::getAddress).$(Address::getCity).set(person, "Noville");
+        assertNotSame(pooledAddress, person.getContact().getAddress());
+    }
+
+    @Test
+    public void testAllocationContext() {
+        final BeanPath<Person, String> cityPath = $(Person::getContact).$(Contact::getAddress).$(Address::getCity);
+        final BeanPath<Person, String> phonePath = $(Person::getContact).$$(Contact::getPhoneList).$(Phone::getPhone);
+        final Address firstAddress;
+        final List<Phone> firstPhoneList;
+        try (BeanAllocationContext context = new BeanAllocationContext()
+                .recycle(Address.class, address -> address.setCity(null))
+                .recycle(ArrayList.class, list -> list.clear())
+                .bind())
+        {
+            assertSame(context, BeanAllocationContext.current());
+            final Person first = new Person();
+            cityPath.set(first, "Noville");
+            phonePath.set(first, "555-000-001");
+            firstAddress = first.getContact().getAddress();
+            firstPhoneList = first.getContact().getPhoneList();
+
+            context.reset();
+            assertNull(firstAddress.getCity());
+            assertTrue(firstPhoneList.isEmpty());
+
+            // recycled instances are handed out again, not registered types are allocated
+            final Person second = new Person();
+            cityPath.set(second, "Smallville");
+            phonePath.set(second, "555-000-002");
+            assertSame(firstAddress, second.getContact().getAddress());
+            assertSame(firstPhoneList, second.getContact().getPhoneList());
+            assertNotSame(first.getContact(), second.getContact());
+            assertEquals("Smallville", cityPath.get(second));
+        }
+        assertNull(BeanAllocationContext.current());
+
+        final Person third = new Person();
+        cityPath.set(third, "Noville");
+        assertNotSame(firstAddress, third.getContact().getAddress());
+
+        // nested contexts must be closed in reverse order
+        final BeanAllocationContext outer = new BeanAllocationContext().bind();
+        final BeanAllocationContext inner = new BeanAllocationContext().bind();
+        try {
+            outer.close();
+            fail("Outer context must not be closed while the inner one is bound");
+        } catch (IllegalStateException e) {/*ignore*/}
+        assertSame(inner, BeanAllocationContext.current());
+        inner.close();
+        assertSame(outer, BeanAllocationContext.current());
+        outer.close();
+        assertNull(BeanAllocationContext.current());
+        outer.close();
+    }
+}
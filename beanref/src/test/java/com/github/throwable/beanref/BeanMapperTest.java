@@ -0,0 +1,53 @@
+package com.github.throwable.beanref;
+
+import com.github.throwable.beanref.beans.*;
+import org.junit.Test;
+
+import static com.github.throwable.beanref.BeanRef.$;
+import static com.github.throwable.beanref.BeanRefTest.buildSamplePerson;
+import static org.junit.Assert.*;
+
+public class BeanMapperTest {
+    @Test
+    public void testBeanMapper() {
+        final Person source = buildSamplePerson();
+        final BeanPath<Person, Address> addressPath = $(Person::getContact).$(Contact::getAddress);
+        final BeanMapper<Person, Person> mapper = BeanMapper.builder(Person.class, Person.class)
+                .map($(Person::getAge), $(Person::getAge))
+                .map(addressPath.$(Address::getCity), addressPath.$(Address::getCity))
+                .map($(Person::getContact).$(Contact::getEmail), $(Person::getContact).$(Contact::getEmail))
+                .map($(Person::getName), addressPath.$(Address::getState))
+                .build();
+
+        final Person target = mapper.map(source, new Person());
+        assertEquals(22, target.getAge());
+        assertEquals("Noville", target.getContact().getAddress().getCity());
+        assertEquals("abc@mycompany.com", target.getContact().getEmail());
+        assertEquals("Antón", target.getContact().getAddress().getState());
+
+        // incomplete source path gives null, existing intermediate beans are kept
+        final Address address = target.getContact().getAddress();
+        source.getContact().setAddress(null);
+        mapper.map(source, target);
+        assertSame(address, target.getContact().getAddress());
+        assertNull(address.getCity());
+        assertEquals("abc@mycompany.com", target.getContact().getEmail());
+
+        try {
+            BeanMapper.<Person, Person>builder()
+                    .map($(Person::getAge), $(Person::getAge))
+                    .map($(Person::getAge), $(Person::getAge));
+            fail();
+        } catch (IllegalArgumentException e) {
+            // already mapped
+        }
+        try {
+            BeanMapper.<Person, Person>builder()
+                    .map($(Person::getName), $(Person::getName))
+                    .build().map(source, new Person());
+            fail();
+        } catch (ReadOnlyPropertyException e) {
+            // name has no setter
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.github.throwable.beanref;
+
+import com.github.throwable.beanref.beans.*;
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.github.throwable.beanref.BeanRef.$;
+import static com.github.throwable.beanref.BeanRef.$$;
+import static com.github.throwable.beanref.BeanRefTest.buildSamplePerson;
+import static org.junit.Assert.*;
+
+public class BeanMetadataTest {
+    @Test
+    public void testBeanMetadata() {
+        final BeanMetadata<Address> metadata = $(Address.class).metadata();
+        assertSame(metadata, $(Address.class).metadata());
+        assertEquals(Address.class, metadata.getBeanClass());
+        assertEquals(4, metadata.size());
+        // ordered by name
+        assertEquals(0, metadata.indexOf("address"));
+        assertEquals(1, metadata.indexOf("city"));
+        assertEquals(2, metadata.indexOf("state"));
+        assertEquals(3, metadata.indexOf("zipCode"));
+        assertEquals(-1, metadata.indexOf("country"));
+        assertNull(metadata.getProperty("country"));
+        for (int i = 0; i < metadata.size(); i++) {
+            assertSame(metadata.getProperty(i), metadata.getProperty(metadata.getProperty(i).getName()));
+            assertSame(metadata.getProperty(i), metadata.getProperties().get(i));
+        }
+        assertEquals($(Address::getCity), metadata.getProperty(metadata.indexOf("city")));
+    }
+
+    @Test
+    public void testGeneratedBeanModel() {
+        // accessors come from BeanMetadataTest_Ticket_BeanRef generated by beanref-processor, no getters are unreflected
+        final BeanProperty<Ticket, String> titleProperty = $(Ticket::getTitle);
+        assertSame(titleProperty, $(Ticket.class).metadata().getProperty("title"));
+        assertTrue(titleProperty.getReadAccessor().getClass().getName()
+                .startsWith(BeanMetadataTest_Ticket_BeanRef.class.getName()));
+        assertNotNull(getClass().getClassLoader().getResource("META-INF/native-image/beanref-models/reflect-config.json"));
+        assertEquals(Arrays.asList("labels", "priority", "title"), $(Ticket.class).metadata().getProperties().stream()
+                .map(BeanProperty::getName).collect(Collectors.toList()));
+
+        final Ticket ticket = new Ticket();
+        titleProperty.set(ticket, "Crash on start");
+        assertEquals("Crash on start", ticket.getTitle());
+        final BeanProperty<Ticket, Integer> priority = $(Ticket::getPriority);
+        assertSame(priority, $(Ticket.class).metadata().getProperty("priority"));
+        final IntBeanProperty<Ticket> priorityProperty = (IntBeanProperty<Ticket>) priority;
+        priorityProperty.setInt(ticket, 2);
+        assertEquals(2, priorityProperty.getInt(ticket));
+        assertEquals(String.class, $(Ticket.class).$$(Ticket::getLabels).getType());
+        assertTrue($(Ticket::getLabels).isReadOnly());
+
+        // generic types are equal to reflected ones
+        assertEquals(Arrays.asList(String.class), Arrays.asList(((java.lang.reflect.ParameterizedType)
+                $(Ticket::getLabels).getGenericType()).getActualTypeArguments()));
+
+        // classes without a generated model are resolved reflectively
+        assertFalse($(Address::getCity).getReadAccessor().getClass().getName().startsWith(BeanModel.class.getName()));
+
+        // the processor picks the same getters as the reflective scan
+        final BeanModel<Escalation> escalationModel = BeanPropertyResolver.findBeanModel(Escalation.class);
+        assertNotNull(escalationModel);
+        final Map<String, Method[]> scanned = DynamicBeanPropertyResolver.scanAccessors(Escalation.class);
+        assertEquals(scanned.keySet(), $(Escalation.class).metadata().getProperties().stream()
+                .map(BeanProperty::getName).collect(Collectors.toSet()));
+        for (Map.Entry<String, Method[]> entry : scanned.entrySet()) {
+            final BeanProperty<Escalation, ?> modelProperty = escalationModel.getPropertyByGetter(entry.getValue()[0].getName());
+            assertNotNull(entry.getKey(), modelProperty);
+            assertEquals(entry.getKey(), modelProperty.getName());
+            assertEquals(entry.getValue()[0].getReturnType(), modelProperty.getType());
+            assertEquals(entry.getValue()[1] == null, modelProperty.isReadOnly());
+        }
+        assertEquals(String.class, $(Escalation.class).metadata().getProperty("owner").getType());
+    }
+
+    public static class Assignable {
+        public Object getOwner() {
+            return null;
+        }
+    }
+
+    @BeanRefModel
+    public static class Escalation extends Assignable {
+        private String owner;
+        private boolean urgent;
+
+        /* covariant: the class also has a bridge getOwner() returning Object */
+        @Override
+        public String getOwner() {
+            return owner;
+        }
+
+        public void setOwner(String owner) {
+            this.owner = owner;
+        }
+
+        /* both getters map to "urgent" */
+        public boolean isUrgent() {
+            return urgent;
+        }
+
+        public boolean getUrgent() {
+            return urgent;
+        }
+
+        public void setUrgent(boolean urgent) {
+            this.urgent = urgent;
+        }
+    }
+
+    @BeanRefModel
+    public static class Ticket {
+        private String title;
+        private int priority;
+        private final List<String> labels = new ArrayList<>();
+
+        public String getTitle() {
+            return title;
+        }
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+        public int getPriority() {
+            return priority;
+        }
+
+        public void setPriority(int priority) {
+            this.priority = priority;
+        }
+
+        public List<String> getLabels() {
+            return labels;
+        }
+    }
+
+    @Test
+    public void testPreload() throws Exception {
+        final URL beansLocation = Address.class.getProtectionDomain().getCodeSource().getLocation();
+        BeanPreloader.preload(Address.class, Ticket.class);
+        assertSame(DynamicBeanPropertyResolver.resolveBeanMetadata(Address.class), $(Address.class).metadata());
+
+        // manifests list classes to preload, missing ones are skipped
+        final Path manifestRoot = Files.createTempDirectory("beanref");
+        final Path manifest = manifestRoot.resolve(BeanPreloader.PRELOAD_MANIFEST);
+        Files.createDirectories(manifest.getParent());
+        Files.write(manifest, Arrays.asList("# beans", Address.class.getName(), "", Person.class.getName() + "  # root",
+                "com.example.Missing"), StandardCharsets.UTF_8);
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] {manifestRoot.toUri().toURL(), beansLocation}, null)) {
+            assertEquals(Integer.valueOf(2), BeanPreloader.preloadManifestAsync(classLoader).get());
+        }
+        BeanPreloader.preloadAsync(Arrays.asList(Contact.class, Phone.class)).get();
+    }
+
+    @Test
+    public void testClassLoaderEviction() throws Exception {
+        final URL beansLocation = Address.class.getProtectionDomain().getCodeSource().getLocation();
+        URLClassLoader classLoader = new URLClassLoader(new URL[] {beansLocation}, null);
+        Class<?> addressClass = classLoader.loadClass(Address.class.getName());
+        assertNotSame(Address.class, addressClass);
+
+        BeanPath<?, ?> cityPath = $(addressClass, "city");
+        assertSame(cityPath, $(addressClass, "city"));
+        BeanRef.evict(classLoader);
+        assertNotSame(cityPath, $(addressClass, "city"));
+
+        // cached properties do not pin the class loader
+        final WeakReference<ClassLoader> classLoaderRef = new WeakReference<>(classLoader);
+        classLoader.close();
+        classLoader = null;
+        addressClass = null;
+        cityPath = null;
+        for (int i = 0; i < 50 && classLoaderRef.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(classLoaderRef.get());
+    }
+
+    @Test
+    public void testBoundedCache() {
+        final BoundedCache<String, String> cache = new BoundedCache<>(2);
+        assertEquals("a", cache.putIfAbsent("a", "a"));
+        assertEquals("a", cache.putIfAbsent("a", "b"));
+        cache.putIfAbsent("b", "b");
+        // existing keys do not evict live entries
+        assertEquals("a", cache.putIfAbsent("a", "c"));
+        assertEquals("a", cache.get("a"));
+        assertEquals("b", cache.get("b"));
+        cache.putIfAbsent("c", "c");
+        assertEquals(2, cache.size());
+        assertEquals("c", cache.get("c"));
+
+        final BoundedCache<String, String> disabled = new BoundedCache<>(0);
+        assertEquals("a", disabled.putIfAbsent("a", "a"));
+        assertEquals(0, disabled.size());
+    }
+
+    @Test
+    public void testDeepAll() {
+        final BeanSchema<Person> schema = $(Person.class).deepAll(3);
+        final List<String> paths = new ArrayList<>();
+        for (BeanPath<Person, ?> path : schema.getPaths())
+            paths.add(path.getPath());
+        assertEquals(Arrays.asList("age", "contact.address.address", "contact.address.city", "contact.address.state",
+                "contact.address.zipCode", "contact.email", "contact.phoneList", "id", "name", "permissions", "status"),
+                paths);
+        assertSame(schema, $(Person.class).deepAll(3));
+        assertEquals(4, schema.indexOf("contact.address.zipCode"));
+        assertEquals(-1, schema.indexOf("contact.address"));
+        assertEquals(Person.class, schema.getRootClass());
+
+        final Person person = buildSamplePerson();
+        assertEquals(12345, schema.getPath(4).get(person));
+
+        // nested beans are listed as leaves when max depth is reached
+        assertEquals(1, $(Person.class).deepAll(2).indexOf("contact.address"));
+        assertEquals($(Person.class).all().size(), $(Person.class).deepAll(1).size());
+
+        final BeanSchema<Person> contactSchema = $(Person::getContact).deepAll(2);
+        assertEquals("contact.address.address", contactSchema.getPath(0).getPath());
+        assertEquals("Noville", contactSchema.getPath(contactSchema.indexOf("contact.address.city")).get(person));
+        assertSame(contactSchema, $(Person::getContact).deepAll(2));
+        assertNotSame(contactSchema, $(Person::getContact).deepAll(3));
+
+        // cycles are not expanded
+        final BeanSchema<Node> nodeSchema = $(Node.class).deepAll(10);
+        assertEquals(Arrays.asList("next", "value"), Arrays.asList(nodeSchema.getPath(0).getPath(),
+                nodeSchema.getPath(1).getPath()));
+    }
+
+    public static class Node {
+        private Node next;
+        private String value;
+
+        public Node getNext() {
+            return next;
+        }
+
+        public void setNext(Node next) {
+            this.next = next;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public void setValue(String value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.github.throwable.beanref;
+
+import com.github.throwable.beanref.beans.*;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.github.throwable.beanref.BeanRef.$;
+import static com.github.throwable.beanref.BeanRefTest.buildSamplePerson;
+import static org.junit.Assert.*;
+
+public class BeanProjectionTest {
+    @Test
+    public void testBeanProjection() {
+        final BeanPath<Person, Address> addressPath = $(Person::getContact).$(Contact::getAddress);
+        final List<BeanPath<Person, ?>> paths = Arrays.asList(
+                addressPath.$(Address::getCity),
+                $(Person::getName),
+                addressPath,
+                $(Person::getContact).$(Contact::getEmail),
+                addressPath.$(Address::getZipCode),
+                addressPath.$(Address::getCity));
+        final BeanProjection<Person> projection = BeanProjection.of(paths);
+        assertEquals(paths, projection.getPaths());
+
+        final Person person = buildSamplePerson();
+        final Object[] row = projection.get(person);
+        assertEquals(6, row.length);
+        for (int i = 0; i < paths.size(); i++)
+            assertEquals(paths.get(i).get(person), row[i]);
+
+        // row buffer is overwritten
+        person.getContact().setAddress(null);
+        assertSame(row, projection.get(person, row));
+        assertArrayEquals(new Object[] {null, "Antón", null, "abc@mycompany.com", null, null}, row);
+        assertArrayEquals(new Object[6], projection.get(null, row));
+
+        final BeanProjection<Person> allProjection = BeanProjection.of($(Person.class).all());
+        final Object[] allRow = allProjection.get(person);
+        int i = 0;
+        for (BeanPath<Person, ?> path : allProjection.getPaths())
+            assertEquals(path.get(person), allRow[i++]);
+    }
+
+    @Test
+    public void testNestedProjection() {
+        // an accessor evaluating the same projection gets its own frame
+        Folder.projection = BeanProjection.of($(Folder::getPathName), $(Folder::getParent).$(Folder::getName));
+        final Folder folder = new Folder("c", new Folder("b", new Folder("a", null)));
+        final Object[] row = Folder.projection.newRow();
+        assertArrayEquals(new Object[] {"a", null}, Folder.projection.get(folder.getParent().getParent(), row));
+        assertArrayEquals(new Object[] {"a/b/c", "b"}, Folder.projection.get(folder, row));
+        assertArrayEquals(new Object[] {"a/b/c", "b"}, Folder.projection.get(folder, row));
+    }
+
+    public static class Folder {
+        static BeanProjection<Folder> projection;
+        private String name;
+        private Folder parent;
+
+        public Folder() {
+        }
+
+        public Folder(String name, Folder parent) {
+            this.name = name;
+            this.parent = parent;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Folder getParent() {
+            return parent;
+        }
+
+        public void setParent(Folder parent) {
+            this.parent = parent;
+        }
+
+        public String getPathName() {
+            return parent != null ? projection.get(parent)[0] + "/" + name : name;
+        }
+    }
+}
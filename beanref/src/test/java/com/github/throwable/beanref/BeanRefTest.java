@@ -3,8 +3,10 @@ package com.github.throwable.beanref;
 import com.github.throwable.beanref.beans.*;
 import org.junit.Test;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
@@ -34,7 +36,6 @@ public class BeanRefTest {
         assertEquals(30, person.getAge());
     }
 
-
     @Test(expected = ReadOnlyPropertyException.class)
     public void testReadOnly() {
         final Person person = buildSamplePerson();
@@ -43,14 +44,12 @@ public class BeanRefTest {
         personNameProperty.set(person, "Peter");
     }
 
-
     @Test(expected = IllegalArgumentException.class)
     public void testIllegalReference() {
         // Not implemented yet
         $((Person o) -> o.getContact().getEmail());
     }
 
-
     @Test
     public void testBeanPath() {
         final Person person = buildSamplePerson();
@@ -69,6 +68,25 @@ public class BeanRefTest {
         assertEquals("married", personStatusName.get(person));
         assertTrue(personStatusName.isComplete(person));
 
+        assertEquals("person.contact.address.city", personCity.getPath("person."));
+        assertEquals("contact.address.city", personCity.getPath(""));
+        assertEquals("contact.address.city", personCity.toString());
+        assertArrayEquals("contact.address.city".getBytes(StandardCharsets.UTF_8), personCity.getPathBytes());
+        assertSame(personCity.getPathBytes(), personCity.getPathBytes());
+        assertArrayEquals("name".getBytes(StandardCharsets.UTF_8), $(Person::getName).getPathBytes());
+
+        // paths are immutable values
+        assertEquals(personCity, $(Person::getContact).$(Contact::getAddress).$(Address::getCity));
+        assertEquals(personCity.hashCode(), $(Person.class, "contact.address.city").hashCode());
+        assertNotEquals(personCity, $(Person::getContact).$(Contact::getAddress));
+        assertNotEquals(personCity, $(Person::getContact).$(Contact::getAddress).$(Address::getState));
+        try {
+            final Iterator<BeanProperty<?, ?>> it = personCity.iterator();
+            it.next();
+            it.remove();
+            fail("Path must be immutable");
+        } catch (UnsupportedOperationException e) {/*ignore*/}
+
         // setter
         personCity.set(person, "Smallville");
         assertEquals("Smallville", person.getContact().getAddress().getCity());
@@ -85,7 +103,6 @@ public class BeanRefTest {
         } catch (IncompletePathException e) {/*ignore*/}
     }
 
-
     @Test
     public void testCollectionAccess() {
         final Person person = buildSamplePerson();
@@ -141,7 +158,6 @@ public class BeanRefTest {
         assertEquals("12345", personPermissions.get(person));
     }
 
-
     @Test
     public void testBeanPropertyCache() {
         // same reference must be cached
@@ -151,9 +167,16 @@ public class BeanRefTest {
             if (p0 == null) p0 = p;
             else assertSame(p0, p);
         }
+        // same getter referenced from different call sites is resolved once
+        assertSame(p0, $(Person::getName));
+        BeanProperty<?, ?> last = null;
+        for (BeanProperty<?, ?> property : $(Person::getContact).$(Contact::getAddress).$(Address::getCity))
+            last = property;
+        assertSame($(Address::getCity), last);
+        assertSame($$(Contact::getPhoneList), $$(Contact::getPhoneList));
+        assertNotSame($$(Person::getPermissions), $$(Person::getPermissions, HashSet::new));
     }
 
-
     @Test
     public void testDynamicResolve() {
         final Person person = buildSamplePerson();
@@ -171,6 +194,24 @@ public class BeanRefTest {
         assertEquals(path, $(Person::getContact).$("address.city"));
 
         assertEquals("Noville", $(Person.class,"contact.address.city").get(person));
+
+        // parsed paths are cached and shared
+        assertSame($(Person.class, "contact.address.city"), $(Person.class).$("contact.address.city"));
+        assertEquals($(Person.class, "contact"), $(Person::getContact));
+        assertEquals(path, $(Person.class, "contact.address.city", String.class));
+        try {
+            $(Person.class, "contact..city");
+            fail("Empty property name must not be resolved");
+        } catch (IllegalArgumentException e) {/*ignore*/}
+        try {
+            $(Person.class, "contact.address.zipCode", String.class);
+            fail("Wrong property type must not be resolved");
+        } catch (IllegalArgumentException e) {/*ignore*/}
+
+        // getters resolved by name are not invoked reflectively
+        for (BeanProperty<?, ?> property : $(Person.class, "contact.address.city"))
+            assertFalse(property.getReadAccessor() instanceof DynamicBeanPropertyResolver.GetterReadAccessor);
+        assertEquals(Integer.valueOf(22), $(Person.class, "age").get(person));
     }
 
     @Test
@@ -198,7 +239,7 @@ public class BeanRefTest {
     }*/
 
 
-    private Person buildSamplePerson() {
+    static Person buildSamplePerson() {
         final Person person = new Person("123456", "Antón");
         person.setAge(22);
 
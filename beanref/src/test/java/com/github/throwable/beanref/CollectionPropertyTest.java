@@ -0,0 +1,321 @@
+package com.github.throwable.beanref;
+
+import com.github.throwable.beanref.beans.*;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.github.throwable.beanref.BeanRef.$;
+import static com.github.throwable.beanref.BeanRef.$$;
+import static com.github.throwable.beanref.BeanRefTest.buildSamplePerson;
+import static org.junit.Assert.*;
+
+public class CollectionPropertyTest {
+    @Test
+    public void testIndexedAccess() {
+        final Person person = buildSamplePerson();
+
+        final BeanPath<Person, String> firstPhone = $(Person::getContact).$$(Contact::getPhoneList, 0).$(Phone::getPhone);
+        assertEquals("contact.phoneList[0].phone", firstPhone.getPath());
+        assertEquals("555-123-567", firstPhone.get(person));
+        assertEquals("555-000-001", $(Person::getContact).$$(Contact::getPhoneList, 1).$(Phone::getPhone).get(person));
+        // out of range is null-safe
+        final BeanPath<Person, String> thirdPhone = $(Person::getContact).$$(Contact::getPhoneList, 2).$(Phone::getPhone);
+        assertNull(thirdPhone.get(person));
+        assertFalse(thirdPhone.isComplete(person));
+        try {
+            thirdPhone.set(person, "123");
+            fail("List must not grow");
+        } catch (IncompletePathException e) {/*ignore*/}
+        // same index resolves to the same property
+        assertSame($$(Contact::getPhoneList, 1), $$(Contact::getPhoneList, 1));
+
+        firstPhone.set(person, "123");
+        assertEquals("123", person.getContact().getPhoneList().get(0).getPhone());
+        final BeanPath<Person, String> growingPhone =
+                $(Person::getContact).$$(Contact::getPhoneList, 3, true).$(Phone::getPhone);
+        growingPhone.set(person, "456");
+        assertEquals(4, person.getContact().getPhoneList().size());
+        assertNull(person.getContact().getPhoneList().get(2));
+        assertEquals("456", growingPhone.get(person));
+
+        final Order order = new Order();
+        final BeanProperty<Order, String> firstTag = $$(Order::getTags, 0);
+        final BeanProperty<Order, String> secondTag = $$(Order::getTags, 1, true);
+        assertEquals(String.class, firstTag.getType());
+        assertNull(firstTag.get(order));
+        try {
+            firstTag.set(order, "a");
+            fail("Array must not grow");
+        } catch (IncompletePathException e) {/*ignore*/}
+        secondTag.set(order, "b");
+        assertArrayEquals(new String[] {null, "b"}, order.getTags());
+        firstTag.set(order, "a");
+        assertArrayEquals(new String[] {"a", "b"}, order.getTags());
+
+        final BeanProperty<Order, String> colorAttribute = $$(Order::getAttributes, "color");
+        assertEquals("attributes[color]", colorAttribute.getPath());
+        assertNull(colorAttribute.get(order));
+        colorAttribute.set(order, "red");
+        assertEquals("red", order.getAttributes().get("color"));
+        assertEquals("red", colorAttribute.get(order));
+        colorAttribute.set(order, null);
+        assertTrue(order.getAttributes().isEmpty());
+
+        try {
+            $$(Order::getTags, -1);
+            fail("Negative index must be rejected");
+        } catch (IllegalArgumentException e) {/*ignore*/}
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testArrayAndMapProperties() {
+        final Order order = new Order();
+
+        // array hop works like a collection: last element, appends on write, null clears
+        final BeanProperty<Order, String> tag = $$(Order::getTags);
+        assertEquals("tags", tag.getPath());
+        assertEquals(String.class, tag.getType());
+        assertNull(tag.get(order));
+        tag.set(order, "a");
+        tag.set(order, "b");
+        assertArrayEquals(new String[] {"a", "b"}, order.getTags());
+        assertEquals("b", tag.get(order));
+        assertEquals(Arrays.asList("a", "b"), tag.each().stream(order).collect(Collectors.toList()));
+        tag.set(order, null);
+        assertEquals(0, order.getTags().length);
+
+        // map hop reads values and is read-only
+        final BeanProperty<Order, String> attribute = $$(Order::getAttributes);
+        assertTrue(attribute.isReadOnly());
+        assertNull(attribute.get(order));
+        $$(Order::getAttributes, "color").set(order, "red");
+        $$(Order::getAttributes, "size").set(order, "XL");
+        assertEquals("XL", attribute.get(order));
+        assertEquals(Arrays.asList("red", "XL"), attribute.each().stream(order).collect(Collectors.toList()));
+
+        // primitive arrays are accessed by index without boxing
+        order.setScores(new int[] {3, 5});
+        final IntBeanProperty<Order> secondScore = $$(Order::getScores, 1);
+        assertEquals(int.class, secondScore.getType());
+        assertEquals("scores[1]", secondScore.getPath());
+        assertEquals(5, secondScore.getInt(order));
+        secondScore.setInt(order, 7);
+        assertEquals(7, order.getScores()[1]);
+        assertEquals(Integer.valueOf(7), secondScore.get(order));
+        assertNull($$(Order::getScores, 2).get(order));
+        try {
+            $$(Order::getScores, 2).setInt(order, 1);
+            fail("Array must not grow");
+        } catch (IncompletePathException e) {/*ignore*/}
+        order.setWeights(new double[] {0.5});
+        assertEquals(0.5, $$(Order::getWeights, 0).getDouble(order), 0);
+        // a missing element reads as default value
+        assertEquals(-1, $$(Order::getScores, 2).getInt(order, -1));
+        assertEquals(7, $$(Order::getScores, 1).getInt(order, -1));
+        assertEquals(-1.0, $$(Order::getWeights, 1).getDouble(order, -1.0), 0);
+        final Order shortOrder = new Order();
+        shortOrder.setScores(new int[] {1});
+        assertArrayEquals(new int[] {7, -1},
+                $$(Order::getScores, 1).getAllInt(new Order[] {order, shortOrder}, new int[2], -1));
+
+        // raw and wildcard types
+        final BeanProperty<Order, Object> rawItem = $$(Order::getRawItems);
+        assertEquals(Object.class, rawItem.getType());
+        rawItem.set(order, "item");
+        assertEquals(Arrays.asList("item"), order.getRawItems());
+        assertEquals(Phone.class, $$(Order::getPhones).getType());
+        assertEquals(Phone.class, $$(Order::getPhones, 0).getType());
+    }
+
+    public static class Order {
+        private String[] tags;
+        private Map<String, String> attributes;
+        private int[] scores;
+        private double[] weights;
+        @SuppressWarnings("rawtypes")
+        private List rawItems;
+        private List<? extends Phone> phones;
+
+        public int[] getScores() {
+            return scores;
+        }
+
+        public void setScores(int[] scores) {
+            this.scores = scores;
+        }
+
+        public double[] getWeights() {
+            return weights;
+        }
+
+        public void setWeights(double[] weights) {
+            this.weights = weights;
+        }
+
+        @SuppressWarnings("rawtypes")
+        public List getRawItems() {
+            return rawItems;
+        }
+
+        @SuppressWarnings("rawtypes")
+        public void setRawItems(List rawItems) {
+            this.rawItems = rawItems;
+        }
+
+        public List<? extends Phone> getPhones() {
+            return phones;
+        }
+
+        public void setPhones(List<? extends Phone> phones) {
+            this.phones = phones;
+        }
+
+        public String[] getTags() {
+            return tags;
+        }
+
+        public void setTags(String[] tags) {
+            this.tags = tags;
+        }
+
+        public Map<String, String> getAttributes() {
+            return attributes;
+        }
+
+        public void setAttributes(Map<String, String> attributes) {
+            this.attributes = attributes;
+        }
+    }
+
+    @Test
+    public void testElementPropertyIdentity() {
+        final Registry registry = new Registry();
+        registry.setEntries(new HashMap<>());
+        registry.getEntries().put(1, "int");
+        registry.getEntries().put("1", "str");
+
+        // keys that print the same are different properties
+        final BeanProperty<Registry, String> intEntry = $$(Registry::getEntries, 1);
+        final BeanProperty<Registry, String> stringEntry = $$(Registry::getEntries, "1");
+        assertEquals(intEntry.getPath(), stringEntry.getPath());
+        assertNotEquals(intEntry, stringEntry);
+        assertEquals(2, new HashSet<>(Arrays.asList(intEntry, stringEntry)).size());
+        assertEquals(intEntry, $$(Registry::getEntries, 1));
+        assertArrayEquals(new Object[] {"int", "str"}, BeanProjection.of(intEntry, stringEntry).get(registry));
+        assertArrayEquals(new Object[] {"int", "str"},
+                BeanProjection.of($(RegistryHolder::getRegistry).$$(Registry::getEntries, 1),
+                        $(RegistryHolder::getRegistry).$$(Registry::getEntries, "1")).get(new RegistryHolder(registry)));
+
+        // growing and non-growing references differ
+        assertNotEquals($$(Registry::getItems, 0), $$(Registry::getItems, 0, true));
+        assertEquals($$(Registry::getItems, 0, true), $$(Registry::getItems, 0, true));
+
+        // a collection hop differs from the plain property of its getter even if both have the same type
+        final BeanPath<Registry, List<List<String>>> rows = $(Registry::getRows);
+        final BeanPath<Registry, List<String>> lastRow = $$(Registry::getRows);
+        assertSame(rows.getType(), lastRow.getType());
+        assertNotEquals(rows, lastRow);
+        assertNotEquals(lastRow, $$(Registry::getRows, 0));
+        registry.setRows(new ArrayList<>(Arrays.asList(Arrays.asList("a"), Arrays.asList("b"))));
+        assertArrayEquals(new Object[] {registry.getRows(), Arrays.asList("b")},
+                BeanProjection.of(rows, lastRow).get(registry));
+        final Registry target = BeanMapper.builder(Registry.class, Registry.class)
+                .map(lastRow, $(Registry::getItems))
+                .map(rows, rows)
+                .build().map(registry, new Registry());
+        assertSame(registry.getRows(), target.getRows());
+        assertEquals(Arrays.asList("b"), target.getItems());
+    }
+
+    public static class Registry {
+        private Map<Object, String> entries;
+        private List<String> items;
+        private List<List<String>> rows;
+
+        public Map<Object, String> getEntries() {
+            return entries;
+        }
+
+        public void setEntries(Map<Object, String> entries) {
+            this.entries = entries;
+        }
+
+        public List<String> getItems() {
+            return items;
+        }
+
+        public void setItems(List<String> items) {
+            this.items = items;
+        }
+
+        public List<List<String>> getRows() {
+            return rows;
+        }
+
+        public void setRows(List<List<String>> rows) {
+            this.rows = rows;
+        }
+    }
+
+    public static class RegistryHolder {
+        private final Registry registry;
+
+        public RegistryHolder(Registry registry) {
+            this.registry = registry;
+        }
+
+        public Registry getRegistry() {
+            return registry;
+        }
+    }
+
+    @Test
+    public void testMultiPath() {
+        final Person first = buildSamplePerson();
+        final Person second = buildSamplePerson();
+        second.getContact().getPhoneList().get(0).setPhone("555-222-000");
+        second.getContact().getPhoneList().add(new Phone());    // null phone is skipped
+        final Person third = new Person("3", "Nobody");         // null contact is skipped
+        final Team team = new Team();
+        team.getMembers().addAll(Arrays.asList(first, third, second));
+
+        final BeanMultiPath<Team, String> phones = $$(Team::getMembers).$(Person::getContact)
+                .$$(Contact::getPhoneList).$(Phone::getPhone).each();
+        assertEquals("members.contact.phoneList.phone", phones.getPath());
+        final List<String> expected = Arrays.asList("555-123-567", "555-000-001", "555-222-000", "555-000-001");
+        final List<String> visited = new ArrayList<>();
+        phones.forEach(team, visited::add);
+        assertEquals(expected, visited);
+        assertEquals(expected, phones.stream(team).collect(Collectors.toList()));
+        // lazy: iterated element by element
+        final Iterator<String> it = phones.stream(team).iterator();
+        assertEquals("555-123-567", it.next());
+        assertEquals("555-000-001", it.next());
+        assertEquals(Arrays.asList("555-222-000"), phones.stream(team).skip(2).limit(1).collect(Collectors.toList()));
+        assertEquals(0, phones.stream(new Team()).count());
+        assertEquals(0, phones.stream(null).count());
+
+        // single-valued path is a single-valued stream
+        assertEquals(Arrays.asList("Antón"), $(Person::getName).each().stream(first).collect(Collectors.toList()));
+        assertEquals(Arrays.asList(first, third, second), $$(Team::getMembers).each().stream(team).collect(Collectors.toList()));
+    }
+
+    public static class Team {
+        private final Set<Person> members = new LinkedHashSet<>();
+
+        public Set<Person> getMembers() {
+            return members;
+        }
+    }
+}
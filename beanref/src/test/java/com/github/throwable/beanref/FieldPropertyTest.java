@@ -0,0 +1,111 @@
+package com.github.throwable.beanref;
+
+import com.github.throwable.beanref.beans.*;
+import org.junit.Test;
+
+import static com.github.throwable.beanref.BeanRef.$;
+import static org.junit.Assert.*;
+
+public class FieldPropertyTest {
+    @Test
+    public void testFieldProperties() {
+        final Event event = new Event(7);
+        event.header = new EventHeader();
+
+        final BeanPath<Event, String> traceIdPath = $(Event.class).field("header", EventHeader.class).field("traceId", String.class);
+        assertEquals("header.traceId", traceIdPath.getPath());
+        assertNull(traceIdPath.get(event));
+        traceIdPath.set(event, "abc");
+        assertEquals("abc", event.header.traceId);
+        assertEquals("abc", traceIdPath.get(event));
+
+        // field hops mix with getter hops
+        final BeanPath<Event, Integer> retriesPath = $(Event.class).field("header", EventHeader.class).$(EventHeader::getRetries);
+        retriesPath.set(event, 3);
+        assertEquals(Integer.valueOf(3), retriesPath.get(event));
+        final BeanPath<Event, Long> sequencePath = $(Event.class).field("header").field("sequence", Long.class);
+        sequencePath.set(event, 42L);
+        assertEquals(Long.valueOf(42), sequencePath.get(event));
+
+        // intermediate beans are created on write
+        final Event empty = new Event(8);
+        traceIdPath.set(empty, "def");
+        assertEquals("def", empty.header.traceId);
+
+        // private fields are accessed directly, final ones are read-only
+        assertFalse(traceIdPath.isReadOnly());
+        final BeanProperty<Event, Integer> idProperty = $(Event.class).field("id", Integer.class);
+        assertEquals(int.class, idProperty.getType());
+        assertEquals(Integer.valueOf(7), idProperty.get(event));
+        assertTrue(idProperty.isReadOnly());
+
+        // public fields resolve in string paths when there is no getter
+        assertEquals("abc", $(Event.class).$("header.traceId").get(event));
+        try {
+            $(Event.class).$("id");
+            fail("Private field must not be resolved as property");
+        } catch (IllegalArgumentException e) {/*ignore*/}
+        try {
+            $(Event.class).field("missing");
+            fail("Field does not exist");
+        } catch (IllegalArgumentException e) {/*ignore*/}
+
+        // type variables of fields are resolved
+        assertEquals(Phone.class, $(Page.class).of(Phone.class).field("content").getType());
+        assertEquals(Phone.class, $(PhonePage.class).field("content").getType());
+        final PhonePage phonePage = new PhonePage();
+        $(PhonePage.class).field("content", Phone.class).field("phone", String.class).set(phonePage, "555-000-000");
+        assertEquals("555-000-000", phonePage.getContent().getPhone());
+
+        // primitive fields are accessed without boxing
+        final EventHeader header = event.header;
+        final LongBeanProperty<EventHeader> sequenceProperty =
+                (LongBeanProperty<EventHeader>) $(EventHeader.class).field("sequence", Long.class);
+        sequenceProperty.setLong(header, 1L << 40);
+        assertEquals(1L << 40, sequenceProperty.getLong(header));
+        assertEquals(1L << 40, $(Event.class).field("header", EventHeader.class).field("sequence", Long.class)
+                .getLong(event, -1));
+        final IntBeanProperty<EventHeader> retriesProperty =
+                (IntBeanProperty<EventHeader>) $(EventHeader.class).field("retries", Integer.class);
+        retriesProperty.setInt(header, 5);
+        assertEquals(5, header.getRetries());
+        final DoubleBeanProperty<EventHeader> weightProperty =
+                (DoubleBeanProperty<EventHeader>) $(EventHeader.class).field("weight", Double.class);
+        weightProperty.setDouble(header, 0.5);
+        assertEquals(0.5, weightProperty.getDouble(header), 0);
+        final BooleanBeanProperty<EventHeader> urgentProperty =
+                (BooleanBeanProperty<EventHeader>) $(EventHeader.class).field("urgent", Boolean.class);
+        urgentProperty.setBoolean(header, true);
+        assertTrue(header.urgent);
+        assertTrue(((IntBeanProperty<Event>) idProperty).getIntReadAccessor() instanceof AccessorFactory.MethodHandleIntReadAccessor);
+        try {
+            ((IntBeanProperty<Event>) idProperty).setInt(event, 1);
+            fail("Final field is read-only");
+        } catch (ReadOnlyPropertyException e) {/*ignore*/}
+    }
+
+    public static class Event {
+        private final int id;
+        public EventHeader header;
+
+        public Event(int id) {
+            this.id = id;
+        }
+    }
+
+    public static class EventHeader {
+        public String traceId;
+        volatile long sequence;
+        private int retries;
+        double weight;
+        boolean urgent;
+
+        public int getRetries() {
+            return retries;
+        }
+
+        public void setRetries(int retries) {
+            this.retries = retries;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.throwable.beanref;
+
+import com.github.throwable.beanref.beans.*;
+import org.junit.Test;
+
+import java.util.List;
+
+import static com.github.throwable.beanref.BeanRef.$;
+import static com.github.throwable.beanref.BeanRef.$$;
+import static org.junit.Assert.*;
+
+public class GenericBeanTest {
+    @Test
+    @SuppressWarnings("rawtypes")
+    public void testGenericBeans() {
+        // raw type: type variables are erased
+        assertEquals(Object.class, $(Page.class).$("content").getType());
+
+        final BeanRoot<Page> phonePage = $(Page.class).of(Phone.class);
+        final BeanPath<Page, ?> contentPhone = phonePage.$("content.phone");
+        assertEquals(String.class, contentPhone.getType());
+        assertSame(contentPhone, phonePage.$("content.phone"));
+        assertEquals(Phone.class, phonePage.$("content").getGenericType());
+        assertEquals(Phone.class, phonePage.metadata().getProperty("content").getType());
+        assertEquals(GenericTypes.parameterize(List.class, Phone.class),
+                phonePage.metadata().getProperty("items").getGenericType());
+        final Page<Phone> page = new Page<>();
+        phonePage.$("content.phone", String.class).set(page, "555-000-000");     // instantiates Phone
+        assertEquals("555-000-000", page.getContent().getPhone());
+
+        // type arguments of typed paths are taken from getter's signatures
+        final BeanPath<Catalog, Phone> content = $(Catalog::getPage).$(Page::getContent);
+        assertEquals(Phone.class, content.getType());
+        assertEquals(Phone.class, $(Catalog::getPage).$$(Page<Phone>::getItems).getType());
+        final BeanPath<Catalog, Phone> firstItem = $(Catalog::getPage).$$(Page<Phone>::getItems, 0);
+        assertEquals(Phone.class, firstItem.getType());
+        assertEquals(firstItem, $(Catalog::getPage).$$(Page<Phone>::getItems, 0));
+        assertNotEquals(firstItem, $(Catalog::getPage).$$(Page<Phone>::getItems, 1));
+        // specialized elements are cached within bounds, evicted ones are resolved again
+        for (int i = 0; i < 3000; i++)
+            assertEquals(Phone.class, $(Catalog::getPage).$$(Page<Phone>::getItems, i).getType());
+        assertEquals(firstItem, $(Catalog::getPage).$$(Page<Phone>::getItems, 0));
+        assertEquals(String.class, $(Catalog.class).$("page.content.phone").getType());
+        assertEquals(String.class, $(Catalog::getPage).$("content.phone").getType());
+        final Catalog catalog = new Catalog();
+        content.$(Phone::getPhone).set(catalog, "555-111-111");
+        assertEquals("555-111-111", catalog.getPage().getContent().getPhone());
+
+        // subclass binds type variables
+        assertEquals(Phone.class, $(PhonePage.class).$("content").getType());
+        assertEquals(Phone.class, $(PhonePage.class).$$(PhonePage::getItems).getType());
+
+        try {
+            $(Page.class).of(Phone.class, Phone.class);
+            fail("Wrong number of type arguments");
+        } catch (IllegalArgumentException e) {/*ignore*/}
+    }
+
+    public static class Catalog {
+        private Page<Phone> page;
+
+        public Page<Phone> getPage() {
+            return page;
+        }
+
+        public void setPage(Page<Phone> page) {
+            this.page = page;
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.github.throwable.beanref;
+
+import com.github.throwable.beanref.beans.*;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static com.github.throwable.beanref.BeanRef.$;
+import static com.github.throwable.beanref.BeanRefTest.buildSamplePerson;
+import static org.junit.Assert.*;
+
+public class PropertyAccessTest {
+    @Test
+    public void testGeneratedWriteAccessor() {
+        final Person person = buildSamplePerson();
+
+        final BeanProperty<Person, Integer> personAgeProperty = $(Person::getAge);
+        assertFalse(personAgeProperty.getWriteAccessor() instanceof BeanPropertyResolver.SetterWriteAccessor);
+        personAgeProperty.getWriteAccessor().accept(person, 45);
+        assertEquals(45, person.getAge());
+
+        final BeanProperty<Address, ?> cityProperty = DynamicBeanPropertyResolver.resolveBeanProperty(Address.class, "city");
+        assertFalse(cityProperty.getWriteAccessor() instanceof BeanPropertyResolver.SetterWriteAccessor);
+
+        // not accessible from beanref: falls back to method handle
+        final HiddenBean hiddenBean = new HiddenBean();
+        $(HiddenBean::getValue).set(hiddenBean, "hidden");
+        assertEquals("hidden", hiddenBean.getValue());
+    }
+
+    private static class HiddenBean {
+        private String value;
+
+        public String getValue() {
+            return value;
+        }
+
+        public void setValue(String value) {
+            this.value = value;
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testPrimitiveProperties() {
+        final Person person = buildSamplePerson();
+
+        assertTrue($(Person::getAge) instanceof IntBeanProperty);
+        final IntBeanProperty<Person> ageProperty = (IntBeanProperty<Person>) $(Person::getAge);
+        assertEquals(ageProperty, $(Person.class, "age"));
+        assertTrue($(Person.class, "age") instanceof IntBeanProperty);
+        ageProperty.setInt(person, 33);
+        assertEquals(33, ageProperty.getInt(person));
+        assertEquals(33, ageProperty.getInt(person, -1));
+        assertEquals(Integer.valueOf(33), ageProperty.get(person));
+
+        final BeanPath<Person, Integer> zipCodePath = $(Person::getContact).$(Contact::getAddress).$(Address::getZipCode);
+        assertEquals(-1, zipCodePath.getInt(new Person(), -1));
+        final Person newPerson = new Person();
+        zipCodePath.setInt(newPerson, 12345);
+        assertEquals(12345, newPerson.getContact().getAddress().getZipCode());
+        assertEquals(12345, zipCodePath.compile().getInt(newPerson, -1));
+
+        // boxed properties are unboxed
+        assertEquals(7, $(PrimitiveBean.class, "boxed", Integer.class).getInt(new PrimitiveBean(), 7));
+
+        // not accessible from beanref: falls back to method handles invoked without boxing
+        final PrimitiveBean bean = new PrimitiveBean();
+        final LongBeanProperty<PrimitiveBean> longProperty = (LongBeanProperty<PrimitiveBean>) $(PrimitiveBean::getLongValue);
+        final DoubleBeanProperty<PrimitiveBean> doubleProperty = (DoubleBeanProperty<PrimitiveBean>) $(PrimitiveBean::getDoubleValue);
+        final BooleanBeanProperty<PrimitiveBean> booleanProperty = (BooleanBeanProperty<PrimitiveBean>) $(PrimitiveBean::isActive);
+        longProperty.setLong(bean, 1L << 40);
+        doubleProperty.setDouble(bean, 2.5);
+        booleanProperty.setBoolean(bean, true);
+        assertEquals(1L << 40, longProperty.getLong(bean));
+        assertEquals(2.5, doubleProperty.getDouble(bean), 0.0);
+        assertTrue(booleanProperty.getBoolean(bean));
+        assertEquals(Boolean.TRUE, booleanProperty.get(bean));
+        assertTrue(longProperty.getLongReadAccessor() instanceof AccessorFactory.MethodHandleLongReadAccessor);
+        assertTrue(longProperty.getLongWriteAccessor() instanceof AccessorFactory.MethodHandleLongWriteAccessor);
+        assertTrue(doubleProperty.getDoubleReadAccessor() instanceof AccessorFactory.MethodHandleDoubleReadAccessor);
+        assertTrue(booleanProperty.getBooleanWriteAccessor() instanceof AccessorFactory.MethodHandleBooleanWriteAccessor);
+        $(PrimitiveBean.class, "boxed", Integer.class).setInt(bean, 5);
+        assertEquals(Integer.valueOf(5), bean.getBoxed());
+    }
+
+    private static class PrimitiveBean {
+        private long longValue;
+        private double doubleValue;
+        private boolean active;
+        private Integer boxed;
+
+        public long getLongValue() {
+            return longValue;
+        }
+
+        public void setLongValue(long longValue) {
+            this.longValue = longValue;
+        }
+
+        public double getDoubleValue() {
+            return doubleValue;
+        }
+
+        public void setDoubleValue(double doubleValue) {
+            this.doubleValue = doubleValue;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+
+        public Integer getBoxed() {
+            return boxed;
+        }
+
+        public void setBoxed(Integer boxed) {
+            this.boxed = boxed;
+        }
+    }
+
+    @Test
+    public void testCompiledBeanPath() {
+        final Person person = buildSamplePerson();
+        final BeanPath<Person, String> personCity = $(Person::getContact).$(Contact::getAddress).$(Address::getCity);
+        final BeanPath<Person, String> compiledPersonCity = personCity.compile();
+        assertEquals(personCity, compiledPersonCity);
+        assertEquals(personCity.hashCode(), compiledPersonCity.hashCode());
+        assertEquals("contact.address.city", compiledPersonCity.getPath());
+        assertSame(compiledPersonCity, compiledPersonCity.compile());
+        assertEquals("Noville", compiledPersonCity.get(person));
+        assertNull(compiledPersonCity.get(null));
+
+        compiledPersonCity.set(person, "Smallville");
+        assertEquals("Smallville", person.getContact().getAddress().getCity());
+
+        // intermediate beans are instantiated
+        person.setContact(null);
+        assertNull(compiledPersonCity.get(person));
+        compiledPersonCity.set(person, "Madrid");
+        assertEquals("Madrid", person.getContact().getAddress().getCity());
+
+        final BeanPath<Person, String> personStatusName =
+                $(Person::getStatus).$(AtomicReference::get).$(Status::getName).compile();
+        person.getStatus().set(null);
+        try {
+            personStatusName.set(person, "divorced");
+            fail("Inaccessible path must throw InaccessiblePathException");
+        } catch (IncompletePathException e) {/*ignore*/}
+
+        try {
+            $(Person::getStatus).$(AtomicReference::get).$(Status::getName).$(String::length).compile()
+                    .set(buildSamplePerson(), 1);
+            fail("Read-only property must throw ReadOnlyPropertyException");
+        } catch (ReadOnlyPropertyException e) {/*ignore*/}
+    }
+
+    @Test
+    public void testBatchAccess() {
+        final Person[] persons = new Person[600];
+        for (int i = 0; i < persons.length; i++) {
+            if (i % 3 == 0) {
+                persons[i] = buildSamplePerson();
+                persons[i].getContact().getAddress().setZipCode(i);
+                persons[i].setAge(i);
+            } else if (i % 3 == 1) {
+                persons[i] = new Person();
+            }
+        }
+        final BeanPath<Person, String> cityPath = $(Person::getContact).$(Contact::getAddress).$(Address::getCity);
+        final BeanPath<Person, Integer> zipCodePath = $(Person::getContact).$(Contact::getAddress).$(Address::getZipCode);
+
+        final String[] cities = cityPath.getAll(persons, new String[persons.length]);
+        final int[] zipCodes = zipCodePath.getAllInt(persons, new int[persons.length], -1);
+        final int[] ages = $(Person::getAge).getAllInt(persons, new int[persons.length], -1);
+        final List<String> cityList = cityPath.getAll(Arrays.asList(persons));
+        for (int i = 0; i < persons.length; i++) {
+            assertEquals(cityPath.get(persons[i]), cities[i]);
+            assertEquals(cityPath.get(persons[i]), cityList.get(i));
+            assertEquals(i % 3 == 0 ? i : -1, zipCodes[i]);
+            assertEquals(i % 3 == 0 ? i : i % 3 == 1 ? 0 : -1, ages[i]);
+        }
+        assertArrayEquals(new long[] {0L, 0L}, $(Person::getAge).getAllLong(new Person[] {null, null}, new long[2]));
+
+        final List<String> streamed = Arrays.stream(persons).parallel().map(cityPath).collect(Collectors.toList());
+        assertEquals(cityList, streamed);
+
+        try {
+            cityPath.getAll(persons, new String[1]);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // out is too short
+        }
+    }
+
+    @Test
+    public void testCopyOnWrite() {
+        final Customer customer = new Customer("ACME");
+        final Invoice invoice = new Invoice("INV-1", new Money(100, "EUR"), customer);
+
+        final BeanPath<Invoice, Long> amountPath = $(Invoice::getTotal).$(Money::getAmount);
+        assertTrue(amountPath.isReadOnly());
+        final Invoice updated = amountPath.with(invoice, 250L);
+        assertNotSame(invoice, updated);
+        assertEquals(Long.valueOf(250), amountPath.get(updated));
+        // the original is untouched, untouched subtrees are shared
+        assertEquals(Long.valueOf(100), amountPath.get(invoice));
+        assertSame(invoice.getCustomer(), updated.getCustomer());
+        assertSame(invoice.getNumber(), updated.getNumber());
+        assertSame(invoice.getTotal().getCurrency(), updated.getTotal().getCurrency());
+
+        // mutable holders are updated in place
+        final Ledger ledger = new Ledger();
+        ledger.setInvoice(invoice);
+        final BeanPath<Ledger, String> currencyPath = $(Ledger::getInvoice).$(Invoice::getTotal).$(Money::getCurrency);
+        assertSame(ledger, currencyPath.with(ledger, "USD"));
+        assertEquals("USD", ledger.getInvoice().getTotal().getCurrency());
+        assertNotSame(invoice, ledger.getInvoice());
+        assertEquals("EUR", invoice.getTotal().getCurrency());
+
+        try {
+            $(Invoice::getCustomer).$(Customer::getName).with(invoice, "Other");
+            fail("Customer has no wither");
+        } catch (ReadOnlyPropertyException e) {/*ignore*/}
+        try {
+            amountPath.with(new Invoice("INV-2", null, customer), 1L);
+            fail("Path is incomplete");
+        } catch (IncompletePathException e) {/*ignore*/}
+    }
+
+    public static class Money {
+        private final long amount;
+        private final String currency;
+
+        @java.beans.ConstructorProperties({"amount", "currency"})
+        public Money(long amount, String currency) {
+            this.amount = amount;
+            this.currency = currency;
+        }
+
+        public long getAmount() {
+            return amount;
+        }
+
+        public String getCurrency() {
+            return currency;
+        }
+    }
+
+    public static class Invoice {
+        private final String number;
+        private final Money total;
+        private final Customer customer;
+
+        public Invoice(String number, Money total, Customer customer) {
+            this.number = number;
+            this.total = total;
+            this.customer = customer;
+        }
+
+        public String getNumber() {
+            return number;
+        }
+
+        public Money getTotal() {
+            return total;
+        }
+
+        public Invoice withTotal(Money total) {
+            return new Invoice(number, total, customer);
+        }
+
+        public Customer getCustomer() {
+            return customer;
+        }
+    }
+
+    public static class Customer {
+        private final String name;
+
+        public Customer(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    public static class Ledger {
+        private Invoice invoice;
+
+        public Invoice getInvoice() {
+            return invoice;
+        }
+
+        public void setInvoice(Invoice invoice) {
+            this.invoice = invoice;
+        }
+    }
+}
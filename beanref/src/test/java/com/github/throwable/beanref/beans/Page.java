@@ -0,0 +1,24 @@
+package com.github.throwable.beanref.beans;
+
+import java.util.List;
+
+public class Page<T> {
+    private T content;
+    private List<T> items;
+
+    public T getContent() {
+        return content;
+    }
+
+    public void setContent(T content) {
+        this.content = content;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+}
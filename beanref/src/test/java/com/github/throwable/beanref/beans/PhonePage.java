@@ -0,0 +1,4 @@
+package com.github.throwable.beanref.beans;
+
+public class PhonePage extends Page<Phone> {
+}